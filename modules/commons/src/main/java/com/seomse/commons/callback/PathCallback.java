@@ -0,0 +1,13 @@
+package com.seomse.commons.callback;
+
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+
+/**
+ * 경로 callback
+ * 경로를 탐색할 때 읽은 속성을 같이 전달
+ * @author macle
+ */
+public interface PathCallback {
+    void callback(Path path, BasicFileAttributes attributes);
+}
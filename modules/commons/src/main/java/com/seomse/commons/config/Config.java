@@ -26,14 +26,18 @@ import org.slf4j.LoggerFactory;
 import java.io.File;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 /**
  * 설정
  * 여러 설정의 우선순위를 사용하여 설정을 얻을 수 있음
  * 시스템 프로퍼티
  * xml파일
  * database에 저장된 설정정보등 설정정보에 대한 우선순위를 활용할때 유용함
+ * 우선순위가 반영된 스냅샷을 사용하여 조회 (변경시 재생성)
  * @author macle
  */
 @Slf4j
@@ -217,6 +221,15 @@ public class Config {
         instance.addConfig(configData);
     }
 
+	/**
+	 * 설정 스냅샷 재생성
+	 * ConfigData 의 setConfig 를 거치지 않고 값이 변경된 경우 호출 (파일 직접 수정 등)
+	 * 시스템 프로퍼티는 스냅샷에 포함하지 않으므로 System.setProperty 는 바로 반영됨
+	 */
+	public static void refresh(){
+		instance.makeSnapshot();
+	}
+
 	/**
 	 * 옵져버 추가 ( 설정정보 업데이트 내역 )
 	 * @param configObserver ConfigObserver
@@ -277,6 +290,10 @@ public class Config {
 
 	private ConfigData [] configDataArray;
 
+	//우선순위가 반영된 설정 (읽기 전용)
+	//키 목록을 제공하지 않는 ConfigData 는 해당 우선순위 위치에서 직접 조회
+	private volatile SnapshotLayer [] snapshot = new SnapshotLayer[0];
+
 
 	private final Comparator<ConfigData> sort = Comparator.comparingInt(ConfigData::getPriority);
 
@@ -308,6 +325,9 @@ public class Config {
 				log.debug("config path: " + file.getAbsolutePath());
 				fileConfigData = new XmlFileConfigData(file);
 				configDataList.add(fileConfigData);
+				if(ConfigSet.IS_CONFIG_FILE_WATCH){
+					fileConfigData.watch();
+				}
 			} catch (Exception e) {
 				log.error(ExceptionUtil.getStackTrace(e));
 
@@ -322,6 +342,7 @@ public class Config {
         if(configDataArray.length > 1){
 			Arrays.sort(configDataArray, sort);
 		}
+		makeSnapshot();
     }
 
 
@@ -336,8 +357,76 @@ public class Config {
 			Arrays.sort(newDataArray, sort);
 			this.configDataArray = newDataArray;
 		}
+		makeSnapshot();
     }
 
+	/**
+	 * 우선순위가 반영된 설정 스냅샷 생성
+	 * 키 목록을 제공하는 연속된 ConfigData 는 하나의 읽기 전용 map 으로 합치고
+	 * 키 목록을 제공하지 않는 ConfigData (시스템 프로퍼티 등) 는 우선순위 위치에서 직접 조회 함
+	 * 설정 변경시마다 새로 만들어서 교체 하므로 읽기는 lock 을 사용하지 않음
+	 */
+	private void makeSnapshot(){
+		synchronized (addLock) {
+			ConfigData[] configDataArray = this.configDataArray;
+			List<SnapshotLayer> layerList = new ArrayList<>();
+			List<Map<String, String>> mergeList = new ArrayList<>();
+			for (ConfigData configData : configDataArray) {
+				Map<String, String> configMap = configData.getConfigMap();
+				if (configMap != null) {
+					mergeList.add(configMap);
+					continue;
+				}
+				addMergeLayer(layerList, mergeList);
+				layerList.add(new SnapshotLayer(null, configData));
+			}
+			addMergeLayer(layerList, mergeList);
+			snapshot = layerList.toArray(new SnapshotLayer[0]);
+		}
+	}
+
+	/**
+	 * 우선순위 순서로 모인 map 을 하나로 합쳐서 추가
+	 * 우선순위가 낮은 설정부터 덮어씀
+	 */
+	private static void addMergeLayer(List<SnapshotLayer> layerList, List<Map<String, String>> mergeList){
+		if(mergeList.isEmpty()){
+			return;
+		}
+		Map<String, String> map;
+		if(mergeList.size() == 1){
+			map = mergeList.get(0);
+		}else {
+			map = new HashMap<>();
+			for (int i = mergeList.size() - 1; i >= 0; i--) {
+				map.putAll(mergeList.get(i));
+			}
+		}
+		layerList.add(new SnapshotLayer(Collections.unmodifiableMap(map), null));
+		mergeList.clear();
+	}
+
+	/**
+	 * 스냅샷 조회 단위
+	 * 합쳐진 map 이거나 직접 조회하는 ConfigData
+	 */
+	private static class SnapshotLayer {
+		private final Map<String, String> map;
+		private final ConfigData configData;
+
+		SnapshotLayer(Map<String, String> map, ConfigData configData){
+			this.map = map;
+			this.configData = configData;
+		}
+
+		String get(String key){
+			if(map != null){
+				return map.get(key);
+			}
+			return configData.getConfig(key);
+		}
+	}
+
 
 	/**
 	 * 설정값 얻기
@@ -356,21 +445,16 @@ public class Config {
 	 * @return String config value
 	 */
 	private String getConfigValue(String key, String defaultValue){
-        ConfigData [] configDataArray = this.configDataArray;
-        //순서정보를 명확히 하기위해 사용
-        String value = null;
-        //noinspection ForLoopReplaceableByForEach
-        for (int i = 0; i <configDataArray.length ; i++) {
-            value = configDataArray[i].getConfig(key);
-
-            if(value != null){
-                break;
-            }
-        }
-		if(value == null){
-			return defaultValue;
+		SnapshotLayer [] snapshot = this.snapshot;
+		//순서정보를 명확히 하기위해 사용
+		//noinspection ForLoopReplaceableByForEach
+		for (int i = 0; i < snapshot.length ; i++) {
+			String value = snapshot[i].get(key);
+			if(value != null){
+				return value;
+			}
 		}
-		return value;
+		return defaultValue;
 	}
 
 	/**
@@ -387,6 +471,7 @@ public class Config {
 					PropertiesConfigData configDataImpl = new PropertiesConfigData();
 					newDataArray [0] =  configDataImpl;
 					this.configDataArray = newDataArray ;
+					makeSnapshot();
 				}
 			}
 		}
@@ -397,6 +482,8 @@ public class Config {
         if(configInfos == null || configInfos.length ==0){
             return;
         }
+		//옵져버가 변경된 값을 조회할 수 있도록 알림 전에 스냅샷 교체
+		instance.makeSnapshot();
         ConfigData firstData = instance.configDataArray[0];
 		ConfigData [] configDataArray = instance.configDataArray;
 		if(firstData == configData) {
@@ -17,6 +17,7 @@ package com.seomse.commons.config;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 
 /**
  * 설정 데이터 추상체
@@ -56,6 +57,16 @@ public abstract class ConfigData {
      */
     public abstract String remove(String key);
 
+    /**
+     * 전체 설정 정보 (Config 스냅샷 생성용)
+     * 키 목록을 제공할 수 없는 구현체는 null 을 반환하고
+     * 이 경우 Config 는 해당 우선순위 위치에서 getConfig 로 직접 조회 함 (값이 수시로 바뀌는 설정 등)
+     * @return Map 설정 키, 값 (복사본)
+     */
+    public Map<String, String> getConfigMap(){
+        return null;
+    }
+
     /**
      * 초기 설정이 끝나고 업데이트 될경우
      * 설정하기
@@ -104,6 +115,8 @@ public abstract class ConfigData {
             return false;
         }
 
+        put(configInfo.key, configInfo.value);
+
         ConfigInfo [] configInfos = new ConfigInfo[1];
         configInfos[0] = configInfo;
         Config.notify(this, configInfos);
@@ -132,6 +145,7 @@ public abstract class ConfigData {
                     changeList = new ArrayList<>();
                 }
                 changeList.add(configInfo);
+                continue;
             }
 
             String lastValue = getConfig(configInfo.key);
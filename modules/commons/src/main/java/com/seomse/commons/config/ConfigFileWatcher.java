@@ -0,0 +1,157 @@
+package com.seomse.commons.config;
+
+import com.seomse.commons.service.Service;
+import com.seomse.commons.utils.ExceptionUtil;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.nio.file.FileSystems;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 설정 파일 변경 감시
+ * WatchService 이벤트를 받거나 확인 주기가 되면 등록된 파일의 변경여부를 확인하여 다시 읽음
+ * WatchService 를 사용할 수 없는 환경 (일부 네트워크 파일 시스템 등) 에서는 주기 확인만 사용
+ * @author macle
+ */
+@Slf4j
+public class ConfigFileWatcher extends Service {
+
+    private static class Singleton {
+        private static final ConfigFileWatcher instance = new ConfigFileWatcher();
+    }
+
+    public static ConfigFileWatcher getInstance(){
+        return Singleton.instance;
+    }
+
+    //이벤트 직후 파일 기록이 끝나기를 기다리는 시간
+    private static final long EVENT_WAIT_TIME = 100L;
+
+    private final Object lock = new Object();
+
+    private FileConfigData [] dataArray = new FileConfigData[0];
+
+    private final Set<Path> dirSet = new HashSet<>();
+
+    private WatchService watchService;
+
+    private boolean isStart = false;
+
+    private ConfigFileWatcher(){
+        setState(State.START);
+        setDaemon(true);
+        try {
+            watchService = FileSystems.getDefault().newWatchService();
+        }catch (IOException | UnsupportedOperationException e){
+            log.error("watch service create fail, polling only: " + ExceptionUtil.getStackTrace(e));
+            watchService = null;
+        }
+    }
+
+    /**
+     * 감시 대상 추가
+     * @param fileConfigData FileConfigData
+     */
+    public void add(FileConfigData fileConfigData){
+        synchronized (lock) {
+            for(FileConfigData data : dataArray){
+                if(data == fileConfigData){
+                    return;
+                }
+            }
+
+            FileConfigData [] newArray = new FileConfigData[dataArray.length + 1];
+            System.arraycopy(dataArray, 0, newArray, 0, dataArray.length);
+            newArray[dataArray.length] = fileConfigData;
+            dataArray = newArray;
+
+            if(watchService != null){
+                Path dirPath = fileConfigData.getFile().getAbsoluteFile().toPath().getParent();
+                if(dirPath != null && !dirSet.contains(dirPath)){
+                    try{
+                        dirPath.register(watchService, StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY, StandardWatchEventKinds.ENTRY_DELETE);
+                        dirSet.add(dirPath);
+                    }catch (Exception e){
+                        //주기 확인으로 변경을 감지함
+                        log.error("watch register fail, polling: " + dirPath + "\n" + ExceptionUtil.getStackTrace(e));
+                    }
+                }
+            }
+
+            if(!isStart){
+                isStart = true;
+                start();
+            }
+        }
+    }
+
+    /**
+     * 감시 대상 제거
+     * @param fileConfigData FileConfigData
+     */
+    public void remove(FileConfigData fileConfigData){
+        synchronized (lock) {
+            int index = -1;
+            for (int i = 0; i < dataArray.length ; i++) {
+                if(dataArray[i] == fileConfigData){
+                    index = i;
+                    break;
+                }
+            }
+
+            if(index == -1){
+                return;
+            }
+
+            FileConfigData [] newArray = new FileConfigData[dataArray.length - 1];
+            System.arraycopy(dataArray, 0, newArray, 0, index);
+            System.arraycopy(dataArray, index + 1, newArray, index, dataArray.length - index - 1);
+            dataArray = newArray;
+        }
+    }
+
+    @Override
+    public void work() {
+        try {
+            if (watchService == null) {
+                //noinspection BusyWait
+                Thread.sleep(ConfigSet.CONFIG_FILE_POLLING_TIME);
+            } else {
+                WatchKey watchKey = watchService.poll(ConfigSet.CONFIG_FILE_POLLING_TIME, TimeUnit.MILLISECONDS);
+                if (watchKey != null) {
+                    //변경 파일은 수정시간, 크기로 판단 하므로 이벤트 내용은 비우기만 함
+                    Thread.sleep(EVENT_WAIT_TIME);
+                    do {
+                        watchKey.pollEvents();
+                        watchKey.reset();
+                    } while ((watchKey = watchService.poll()) != null);
+                }
+            }
+        }catch (InterruptedException e){
+            return;
+        }
+
+        FileConfigData [] dataArray = this.dataArray;
+        for(FileConfigData data : dataArray){
+            if(!data.isModified()){
+                continue;
+            }
+
+            try{
+                if(data.reload()){
+                    log.info("config file reload: " + data.getFile().getAbsolutePath());
+                }
+            }catch (Exception e){
+                //읽기에 실패하면 기존 설정을 유지하고 다음 변경에서 다시 시도
+                log.error("config file reload fail: " + data.getFile().getAbsolutePath() + "\n" + ExceptionUtil.getStackTrace(e));
+            }
+        }
+    }
+}
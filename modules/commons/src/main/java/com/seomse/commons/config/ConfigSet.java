@@ -40,4 +40,9 @@ public class ConfigSet {
     //기본은 제일 나중에 호출
     public static int SYSTEM_PROPERTIES_PRIORITY = Integer.MAX_VALUE;
 
+    //설정 파일 변경 감시 여부 (변경되면 재시작 없이 반영)
+    public static boolean IS_CONFIG_FILE_WATCH = false;
+    //설정 파일 변경 확인 주기 (WatchService 를 사용할 수 없거나 이벤트가 누락된 경우 대비)
+    public static long CONFIG_FILE_POLLING_TIME = 5000L;
+
 }
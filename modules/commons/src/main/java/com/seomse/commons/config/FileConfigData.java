@@ -0,0 +1,183 @@
+package com.seomse.commons.config;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+
+/**
+ * 파일로 읽어 오는 설정 정보
+ * 파일이 변경되면 다시 읽어서 변경된 항목만 반영 (reload)
+ * watch 를 호출하면 ConfigFileWatcher 가 변경을 감시함
+ * @author macle
+ */
+public abstract class FileConfigData extends ConfigData{
+
+    protected final File file;
+
+    protected final Properties props = new Properties();
+
+    private final Object reloadLock = new Object();
+
+    private long lastModified = 0L;
+    private long length = -1L;
+
+    /**
+     * 생성자
+     * 하위 클래스 생성자에서 초기화가 끝난 후 loadFile 을 호출 할 것
+     * @param file 설정파일
+     */
+    protected FileConfigData(File file) {
+        this.file = file;
+    }
+
+    /**
+     * 최초 파일 읽기
+     * @throws IOException exception
+     */
+    protected void loadFile() throws IOException {
+        if(file.exists()) {
+            lastModified = file.lastModified();
+            length = file.length();
+            try(InputStream in = Files.newInputStream(file.toPath())){
+                load(in, props);
+            }
+        }
+    }
+
+    /**
+     * 파일 내용을 설정정보로 읽기
+     * @param in InputStream 파일 스트림
+     * @param properties Properties 읽은 내용을 담을 객체
+     * @throws IOException exception
+     */
+    protected abstract void load(InputStream in, Properties properties) throws IOException;
+
+    /**
+     * 설정 파일
+     * @return File
+     */
+    public File getFile() {
+        return file;
+    }
+
+    /**
+     * 마지막으로 읽은 이후 파일이 변경 되었는지 여부
+     * @return boolean
+     */
+    public boolean isModified(){
+        if(!file.exists()){
+            return length != -1L;
+        }
+        return file.lastModified() != lastModified || file.length() != length;
+    }
+
+    /**
+     * 파일을 다시 읽어서 변경된 항목만 반영
+     * 변경 내역은 Config 에 알려지고 ConfigObserver 에 전달 됨
+     * 파일을 읽는 중 오류가 발생하면 기존 설정을 유지
+     * @return boolean 변경 항목 존재 여부
+     * @throws IOException exception
+     */
+    public boolean reload() throws IOException {
+        synchronized (reloadLock) {
+            long modified;
+            long fileLength;
+            Properties newProps = new Properties();
+
+            if(file.exists()){
+                modified = file.lastModified();
+                fileLength = file.length();
+                try (InputStream in = Files.newInputStream(file.toPath())) {
+                    load(in, newProps);
+                }
+            }else{
+                modified = 0L;
+                fileLength = -1L;
+            }
+
+            List<ConfigInfo> changeList = new ArrayList<>();
+            for(String key : newProps.stringPropertyNames()){
+                String value = newProps.getProperty(key);
+                if(!value.equals(props.getProperty(key))){
+                    changeList.add(new ConfigInfo(key, value));
+                }
+            }
+
+            for(String key : props.stringPropertyNames()){
+                if(!newProps.containsKey(key)){
+                    ConfigInfo configInfo = new ConfigInfo(key, null);
+                    configInfo.setDelete();
+                    changeList.add(configInfo);
+                }
+            }
+
+            lastModified = modified;
+            length = fileLength;
+
+            if(changeList.isEmpty()){
+                return false;
+            }
+
+            setConfig(changeList.toArray(new ConfigInfo[0]));
+            return true;
+        }
+    }
+
+    /**
+     * 파일 변경 감시 시작
+     */
+    public void watch(){
+        ConfigFileWatcher.getInstance().add(this);
+    }
+
+    /**
+     * 파일 변경 감시 종료
+     */
+    public void unwatch(){
+        ConfigFileWatcher.getInstance().remove(this);
+    }
+
+    @Override
+    public String getConfig(String key) {
+        return props.getProperty(key);
+    }
+
+    @Override
+    public boolean containsKey(String key) {
+        return props.containsKey(key);
+    }
+
+    @Override
+    public void put(String key, String value) {
+        props.put(key, value);
+    }
+
+    @Override
+    public String remove(String key) {
+        Object obj =props.remove(key);
+
+        if(obj == null){
+            return null;
+        }
+        if(obj.getClass() == String.class){
+            return (String) obj;
+        }
+
+        return obj.toString();
+    }
+
+    @Override
+    public Map<String, String> getConfigMap() {
+        Map<String, String> map = new HashMap<>();
+        for(String key : props.stringPropertyNames()){
+            map.put(key, props.getProperty(key));
+        }
+        return map;
+    }
+}
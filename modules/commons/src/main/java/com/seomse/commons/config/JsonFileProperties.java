@@ -3,15 +3,25 @@ package com.seomse.commons.config;
 import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
 import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonNull;
 import com.google.gson.JsonObject;
+import com.google.gson.JsonPrimitive;
+import com.seomse.commons.service.Service;
 import com.seomse.commons.utils.ExceptionUtil;
 import com.seomse.commons.utils.FileUtil;
 import lombok.extern.slf4j.Slf4j;
 
 import java.io.File;
 import java.math.BigDecimal;
+import java.util.Map;
 
 /**
+ * json 파일 기반 설정
+ * 변경시 객체를 복사하여 교체 하므로 조회는 lock 을 사용하지 않음
+ * 기본은 변경시마다 파일에 바로 기록함
+ * setWriteBehind 를 설정하면 변경 내역을 모아서 주기적으로 기록 (기록은 lock 을 사용하지 않음)
+ * setAtomicWrite 를 설정하면 파일은 임시파일에 기록한 후 이름 변경으로 교체
  * @author macle
  */
 @Slf4j
@@ -19,12 +29,24 @@ public class JsonFileProperties {
 
     private final String filePath;
 
-    private final JsonObject jsonObject;
+    private volatile JsonObject jsonObject;
 
     private final Gson gson =  new GsonBuilder().setPrettyPrinting().create();
 
     private final Object lock = new Object();
 
+    private final Object flushLock = new Object();
+
+    //변경 횟수, 파일에 기록된 변경 횟수
+    private long version = 0L;
+    private volatile long flushVersion = 0L;
+
+    private volatile boolean isWriteBehind = false;
+    private volatile int flushCount = 0;
+    private FlushService flushService = null;
+    private boolean isShutdownHook = false;
+
+    private volatile boolean isAtomicWrite = false;
 
     public JsonFileProperties(String filePath) {
 
@@ -40,411 +62,488 @@ public class JsonFileProperties {
                 jsonObj = new JsonObject();
                 log.error(ExceptionUtil.getStackTrace(e));
             }
+            if(jsonObj == null){
+                jsonObj = new JsonObject();
+            }
         }else{
             jsonObj = new JsonObject();
         }
         this.jsonObject = jsonObj;
     }
 
-    public void set(String key, JsonObject value){
-        synchronized (lock) {
-            jsonObject.add(key, value);
-            String jsonValue = gson.toJson(jsonObject);
-            FileUtil.fileOutput(jsonValue, filePath, false);
+    /**
+     * 원자적 기록 설정
+     * 임시파일에 기록한 후 이름 변경으로 교체 하므로 기록 중 종료 되어도 파일이 깨지지 않음
+     * @param isAtomicWrite boolean 원자적 기록 여부 (기본 false)
+     */
+    public void setAtomicWrite(boolean isAtomicWrite) {
+        this.isAtomicWrite = isAtomicWrite;
+    }
+
+    /**
+     * 지연 기록 설정
+     * 변경 내역은 메모리에 반영되고 파일은 주기적으로 기록됨
+     * 종료시에는 close 를 호출 할 것 (호출하지 않으면 shutdown hook 에서 기록)
+     * @param flushTime long 기록 주기 (milliseconds)
+     * @param flushCount int 기록 되지 않은 변경 횟수가 이 값 이상이면 바로 기록 (1 미만이면 주기로만 기록)
+     */
+    public void setWriteBehind(long flushTime, int flushCount){
+        synchronized (flushLock) {
+            this.flushCount = flushCount;
+
+            if(flushService != null){
+                flushService.setSleepTime(flushTime);
+                return;
+            }
+
+            flushService = new FlushService();
+            flushService.setSleepTime(flushTime);
+            flushService.start();
+            if(!isShutdownHook){
+                //close 후 다시 설정해도 hook 은 한번만 등록
+                Runtime.getRuntime().addShutdownHook(new Thread(this::flush));
+                isShutdownHook = true;
+            }
+            synchronized (lock) {
+                isWriteBehind = true;
+            }
         }
     }
 
-    public void set(String key, JsonArray value){
-        synchronized (lock) {
-            jsonObject.add(key, value);
-            String jsonValue = gson.toJson(jsonObject);
-            FileUtil.fileOutput(jsonValue, filePath, false);
+    /**
+     * 기록 되지 않은 변경 내역을 파일에 기록
+     */
+    public void flush(){
+        synchronized (flushLock) {
+            JsonObject jsonObject;
+            long version;
+            synchronized (lock) {
+                if(!isWriteBehind){
+                    //바로 기록 모드는 변경 순서대로 기록 되도록 lock 안에서 기록
+                    writeLocked();
+                    return;
+                }
+                jsonObject = this.jsonObject;
+                version = this.version;
+            }
+
+            if(version == flushVersion){
+                return;
+            }
+            write(gson.toJson(jsonObject), version);
         }
     }
 
-    public void set(String key, String value){
-        synchronized (lock) {
-            jsonObject.addProperty(key, value);
-            String jsonValue = gson.toJson(jsonObject);
-            FileUtil.fileOutput(jsonValue, filePath, false);
+    /**
+     * lock 을 잡은 상태에서 기록 되지 않은 변경 내역 기록
+     */
+    private void writeLocked(){
+        if(version == flushVersion){
+            return;
         }
+        write(gson.toJson(jsonObject), version);
     }
 
-
-    public void set(String key, Number value){
-        synchronized (lock) {
-            jsonObject.addProperty(key, value);
-
-            String jsonValue = gson.toJson(jsonObject);
-            FileUtil.fileOutput(jsonValue, filePath, false);
+    private void write(String jsonValue, long version){
+        try {
+            if(isAtomicWrite){
+                FileUtil.fileOutputAtomic(jsonValue, "UTF-8", filePath);
+            }else{
+                FileUtil.fileOutput(jsonValue, filePath, false);
+            }
+            flushVersion = version;
+        }catch (Exception e){
+            log.error(ExceptionUtil.getStackTrace(e));
+        }
+    }
+
+    /**
+     * 지연 기록 종료
+     * 남은 변경 내역을 기록하고 이후 변경은 바로 기록함
+     */
+    public void close(){
+        synchronized (flushLock) {
+            if (flushService != null) {
+                //대기중 인터럽트로 인한 에러로그를 남기지 않기 위해 상태만 변경
+                flushService.setState(Service.State.STOP);
+                flushService = null;
+            }
+            flush();
+            synchronized (lock) {
+                isWriteBehind = false;
+                writeLocked();
+            }
         }
     }
 
-    public void set(String key, char value){
+    private void change(String key, JsonElement value){
+        long changeCount;
         synchronized (lock) {
-            jsonObject.addProperty(key, value);
+            JsonObject newObject = copy(jsonObject);
+            newObject.add(key, value);
+            jsonObject = newObject;
+            version++;
 
-            String jsonValue = gson.toJson(jsonObject);
-            FileUtil.fileOutput(jsonValue, filePath, false);
+            if(!isWriteBehind){
+                writeLocked();
+                return;
+            }
+            changeCount = version - flushVersion;
         }
+
+        flushIfOver(changeCount);
     }
 
-    public void set(String key, long value){
-        synchronized (lock) {
-            jsonObject.addProperty(key, value);
-            String jsonValue = gson.toJson(jsonObject);
-            FileUtil.fileOutput(jsonValue, filePath, false);
+    /**
+     * 기록 되지 않은 변경 횟수가 flushCount 이상이면 기록
+     */
+    private void flushIfOver(long changeCount){
+        if(flushCount > 0 && changeCount >= flushCount){
+            flush();
         }
     }
 
-    public void set(String key, int value){
-        synchronized (lock) {
-            jsonObject.addProperty(key, value);
-            String jsonValue = gson.toJson(jsonObject);
-            FileUtil.fileOutput(jsonValue, filePath, false);
+    private JsonObject copy(JsonObject jsonObject){
+        //변경은 항상 새 객체로 교체 되므로 하위 항목은 공유해도 됨
+        JsonObject newObject = new JsonObject();
+        for(Map.Entry<String, JsonElement> entry : jsonObject.entrySet()){
+            newObject.add(entry.getKey(), entry.getValue());
         }
+        return newObject;
     }
 
-    public void set(String key, double value){
-        synchronized (lock) {
-            jsonObject.addProperty(key, value);
-            String jsonValue = gson.toJson(jsonObject);
-            FileUtil.fileOutput(jsonValue, filePath, false);
-        }
+    public void set(String key, JsonObject value){
+        change(key, value);
     }
 
-    public void set(String key, String [] array){
-        synchronized (lock) {
+    public void set(String key, JsonArray value){
+        change(key, value);
+    }
 
-            JsonArray jsonArray = new JsonArray();
-            for(String value : array){
-                jsonArray.add(value);
-            }
+    public void set(String key, String value){
+        change(key, value == null ? JsonNull.INSTANCE : new JsonPrimitive(value));
+    }
 
-            jsonObject.add(key, jsonArray);
 
-            String jsonValue = gson.toJson(jsonObject);
-            FileUtil.fileOutput(jsonValue, filePath, false);
-        }
+    public void set(String key, Number value){
+        change(key, value == null ? JsonNull.INSTANCE : new JsonPrimitive(value));
     }
 
-    public void set(String key, int [] array){
-        synchronized (lock) {
-
-            JsonArray jsonArray = new JsonArray();
-            for(int value : array){
-                jsonArray.add(value);
-            }
+    public void set(String key, char value){
+        change(key, new JsonPrimitive(value));
+    }
 
-            jsonObject.add(key, jsonArray);
+    public void set(String key, long value){
+        change(key, new JsonPrimitive(value));
+    }
 
-            String jsonValue = gson.toJson(jsonObject);
-            FileUtil.fileOutput(jsonValue, filePath, false);
-        }
+    public void set(String key, int value){
+        change(key, new JsonPrimitive(value));
     }
 
+    public void set(String key, double value){
+        change(key, new JsonPrimitive(value));
+    }
 
-    public void set(String key, long [] array){
-        synchronized (lock) {
+    public void set(String key, String [] array){
+        JsonArray jsonArray = new JsonArray();
+        for(String value : array){
+            jsonArray.add(value);
+        }
+        change(key, jsonArray);
+    }
 
-            JsonArray jsonArray = new JsonArray();
-            for(long value : array){
-                jsonArray.add(value);
-            }
+    public void set(String key, int [] array){
+        JsonArray jsonArray = new JsonArray();
+        for(int value : array){
+            jsonArray.add(value);
+        }
+        change(key, jsonArray);
+    }
 
-            jsonObject.add(key, jsonArray);
 
-            String jsonValue = gson.toJson(jsonObject);
-            FileUtil.fileOutput(jsonValue, filePath, false);
+    public void set(String key, long [] array){
+        JsonArray jsonArray = new JsonArray();
+        for(long value : array){
+            jsonArray.add(value);
         }
+        change(key, jsonArray);
     }
 
     public void set(String key, double [] array){
-        synchronized (lock) {
-
-            JsonArray jsonArray = new JsonArray();
-            for(double value : array){
-                jsonArray.add(value);
-            }
-
-            jsonObject.add(key, jsonArray);
-
-            String jsonValue = gson.toJson(jsonObject);
-            FileUtil.fileOutput(jsonValue, filePath, false);
+        JsonArray jsonArray = new JsonArray();
+        for(double value : array){
+            jsonArray.add(value);
         }
+        change(key, jsonArray);
     }
 
 
     public void set(String key, Number [] array){
-        synchronized (lock) {
-
-            JsonArray jsonArray = new JsonArray();
-            for(Number value : array){
-                jsonArray.add(value);
-            }
-
-            jsonObject.add(key, jsonArray);
-
-            String jsonValue = gson.toJson(jsonObject);
-            FileUtil.fileOutput(jsonValue, filePath, false);
+        JsonArray jsonArray = new JsonArray();
+        for(Number value : array){
+            jsonArray.add(value);
         }
+        change(key, jsonArray);
     }
 
 
     public void remove(String key){
+        long changeCount;
         synchronized (lock) {
             if(!jsonObject.has(key)){
                 return;
             }
 
-            jsonObject.remove(key);
-            String jsonValue = gson.toJson(jsonObject);
-            FileUtil.fileOutput(jsonValue, filePath, false);
+            JsonObject newObject = copy(jsonObject);
+            newObject.remove(key);
+            jsonObject = newObject;
+            version++;
+
+            if(!isWriteBehind){
+                writeLocked();
+                return;
+            }
+            changeCount = version - flushVersion;
         }
+
+        flushIfOver(changeCount);
     }
 
 
     public String getString(String key){
-        synchronized (lock) {
-            if(!jsonObject.has(key)){
-                return null;
-            }
-
-           return jsonObject.get(key).getAsString();
+        JsonObject jsonObject = this.jsonObject;
+        if(!jsonObject.has(key)){
+            return null;
         }
+
+        return jsonObject.get(key).getAsString();
     }
 
     public String getString(String key, String defaultValue){
-        synchronized (lock) {
-            if(!jsonObject.has(key)){
-                return defaultValue;
-            }
-
-            return jsonObject.get(key).getAsString();
+        JsonObject jsonObject = this.jsonObject;
+        if(!jsonObject.has(key)){
+            return defaultValue;
         }
+
+        return jsonObject.get(key).getAsString();
     }
 
     public BigDecimal getBigDecimal(String key){
-        synchronized (lock) {
-            if(!jsonObject.has(key)){
-                return null;
-            }
-
-            return jsonObject.get(key).getAsBigDecimal();
+        JsonObject jsonObject = this.jsonObject;
+        if(!jsonObject.has(key)){
+            return null;
         }
+
+        return jsonObject.get(key).getAsBigDecimal();
     }
 
     public BigDecimal getBigDecimal(String key, BigDecimal defaultValue){
-        synchronized (lock) {
-            if(!jsonObject.has(key)){
-                return defaultValue;
-            }
-
-            return jsonObject.get(key).getAsBigDecimal();
+        JsonObject jsonObject = this.jsonObject;
+        if(!jsonObject.has(key)){
+            return defaultValue;
         }
+
+        return jsonObject.get(key).getAsBigDecimal();
     }
 
     public Number getNumber(String key){
-        synchronized (lock) {
-            if(!jsonObject.has(key)){
-                return null;
-            }
-
-            return jsonObject.get(key).getAsNumber();
+        JsonObject jsonObject = this.jsonObject;
+        if(!jsonObject.has(key)){
+            return null;
         }
+
+        return jsonObject.get(key).getAsNumber();
     }
 
     public Number getNumber(String key, Number defaultValue){
-        synchronized (lock) {
-            if(!jsonObject.has(key)){
-                return defaultValue;
-            }
-
-            return jsonObject.get(key).getAsNumber();
+        JsonObject jsonObject = this.jsonObject;
+        if(!jsonObject.has(key)){
+            return defaultValue;
         }
+
+        return jsonObject.get(key).getAsNumber();
     }
 
     public int getInt(String key){
-        synchronized (lock) {
-            return jsonObject.get(key).getAsInt();
-        }
+        JsonObject jsonObject = this.jsonObject;
+        return jsonObject.get(key).getAsInt();
     }
 
     public int getInt(String key, int defaultValue){
-        synchronized (lock) {
-            if(!jsonObject.has(key)){
-                return defaultValue;
-            }
-            return jsonObject.get(key).getAsInt();
+        JsonObject jsonObject = this.jsonObject;
+        if(!jsonObject.has(key)){
+            return defaultValue;
         }
+        return jsonObject.get(key).getAsInt();
     }
     public long getLong(String key){
-        synchronized (lock) {
-            return jsonObject.get(key).getAsLong();
-        }
+        JsonObject jsonObject = this.jsonObject;
+        return jsonObject.get(key).getAsLong();
     }
 
     public long getLong(String key, long defaultValue){
-        synchronized (lock) {
-            if(!jsonObject.has(key)){
-                return defaultValue;
-            }
-
-            return jsonObject.get(key).getAsLong();
+        JsonObject jsonObject = this.jsonObject;
+        if(!jsonObject.has(key)){
+            return defaultValue;
         }
+
+        return jsonObject.get(key).getAsLong();
     }
 
     public double getDouble(String key){
-        synchronized (lock) {
-            return jsonObject.get(key).getAsDouble();
-        }
+        JsonObject jsonObject = this.jsonObject;
+        return jsonObject.get(key).getAsDouble();
     }
 
 
     public double getDouble(String key, double  defaultValue){
-        synchronized (lock) {
-            if(!jsonObject.has(key)){
-                return defaultValue;
-            }
-            return jsonObject.get(key).getAsDouble();
+        JsonObject jsonObject = this.jsonObject;
+        if(!jsonObject.has(key)){
+            return defaultValue;
         }
+        return jsonObject.get(key).getAsDouble();
     }
 
     public JsonObject getJsonObject(String key){
-        synchronized (lock) {
-            if(!jsonObject.has(key)){
-                return null;
-            }
-
-            return jsonObject.get(key).getAsJsonObject();
+        JsonObject jsonObject = this.jsonObject;
+        if(!jsonObject.has(key)){
+            return null;
         }
+
+        return jsonObject.get(key).getAsJsonObject();
     }
 
     public JsonArray getJsonArray(String key){
-        synchronized (lock) {
-            if(!jsonObject.has(key)){
-                return null;
-            }
-
-            return jsonObject.get(key).getAsJsonArray();
+        JsonObject jsonObject = this.jsonObject;
+        if(!jsonObject.has(key)){
+            return null;
         }
+
+        return jsonObject.get(key).getAsJsonArray();
     }
 
 
     public String [] getStrings(String key){
-        synchronized (lock) {
+        JsonObject jsonObject = this.jsonObject;
 
-            if(!jsonObject.has(key)){
-                return null;
-            }
+        if(!jsonObject.has(key)){
+            return null;
+        }
 
-            JsonArray jsonArray = jsonObject.get(key).getAsJsonArray();
-            String [] array = new String[jsonArray.size()];
+        JsonArray jsonArray = jsonObject.get(key).getAsJsonArray();
+        String [] array = new String[jsonArray.size()];
 
-            for (int i = 0; i <array.length ; i++) {
-                array[i] = jsonArray.get(i).getAsString();
-            }
-            
-            return array;
+        for (int i = 0; i <array.length ; i++) {
+            array[i] = jsonArray.get(i).getAsString();
         }
+        
+        return array;
     }
 
 
     public int [] getInts(String key){
-        synchronized (lock) {
-            if(!jsonObject.has(key)){
-                return null;
-            }
-
-            JsonArray jsonArray = jsonObject.get(key).getAsJsonArray();
+        JsonObject jsonObject = this.jsonObject;
+        if(!jsonObject.has(key)){
+            return null;
+        }
 
-            int [] array = new int[jsonArray.size()];
-            for (int i = 0; i <array.length ; i++) {
-                array[i] = jsonArray.get(i).getAsInt();
-            }
+        JsonArray jsonArray = jsonObject.get(key).getAsJsonArray();
 
-            return array;
+        int [] array = new int[jsonArray.size()];
+        for (int i = 0; i <array.length ; i++) {
+            array[i] = jsonArray.get(i).getAsInt();
         }
+
+        return array;
     }
 
     public long [] getLongs(String key){
-        synchronized (lock) {
-            if(!jsonObject.has(key)){
-                return null;
-            }
-
-            JsonArray jsonArray = jsonObject.get(key).getAsJsonArray();
+        JsonObject jsonObject = this.jsonObject;
+        if(!jsonObject.has(key)){
+            return null;
+        }
 
-            long [] array = new long[jsonArray.size()];
-            for (int i = 0; i <array.length ; i++) {
-                array[i] = jsonArray.get(i).getAsLong();
-            }
+        JsonArray jsonArray = jsonObject.get(key).getAsJsonArray();
 
-            return array;
+        long [] array = new long[jsonArray.size()];
+        for (int i = 0; i <array.length ; i++) {
+            array[i] = jsonArray.get(i).getAsLong();
         }
+
+        return array;
     }
 
     public double [] getDoubles(String key){
-        synchronized (lock) {
-            if(!jsonObject.has(key)){
-                return null;
-            }
-
-            JsonArray jsonArray = jsonObject.get(key).getAsJsonArray();
+        JsonObject jsonObject = this.jsonObject;
+        if(!jsonObject.has(key)){
+            return null;
+        }
 
-            double [] array = new double[jsonArray.size()];
-            for (int i = 0; i <array.length ; i++) {
-                array[i] = jsonArray.get(i).getAsDouble();
-            }
+        JsonArray jsonArray = jsonObject.get(key).getAsJsonArray();
 
-            return array;
+        double [] array = new double[jsonArray.size()];
+        for (int i = 0; i <array.length ; i++) {
+            array[i] = jsonArray.get(i).getAsDouble();
         }
+
+        return array;
     }
 
     public Number [] getNumbers(String key){
-        synchronized (lock) {
-            if(!jsonObject.has(key)){
-                return null;
-            }
-
-            JsonArray jsonArray = jsonObject.get(key).getAsJsonArray();
+        JsonObject jsonObject = this.jsonObject;
+        if(!jsonObject.has(key)){
+            return null;
+        }
 
-            Number [] array = new Number[jsonArray.size()];
-            for (int i = 0; i <array.length ; i++) {
-                array[i] = jsonArray.get(i).getAsNumber();
-            }
+        JsonArray jsonArray = jsonObject.get(key).getAsJsonArray();
 
-            return array;
+        Number [] array = new Number[jsonArray.size()];
+        for (int i = 0; i <array.length ; i++) {
+            array[i] = jsonArray.get(i).getAsNumber();
         }
+
+        return array;
     }
 
 
     public BigDecimal [] getBigDecimals(String key){
-        synchronized (lock) {
-            if(!jsonObject.has(key)){
-                return null;
-            }
-
-            JsonArray jsonArray = jsonObject.get(key).getAsJsonArray();
+        JsonObject jsonObject = this.jsonObject;
+        if(!jsonObject.has(key)){
+            return null;
+        }
 
-            BigDecimal [] array = new BigDecimal[jsonArray.size()];
-            for (int i = 0; i <array.length ; i++) {
-                array[i] = jsonArray.get(i).getAsBigDecimal();
-            }
+        JsonArray jsonArray = jsonObject.get(key).getAsJsonArray();
 
-            return array;
+        BigDecimal [] array = new BigDecimal[jsonArray.size()];
+        for (int i = 0; i <array.length ; i++) {
+            array[i] = jsonArray.get(i).getAsBigDecimal();
         }
+
+        return array;
     }
 
     public String getJsonValue(){
-        synchronized (lock) {
-            return gson.toJson(jsonObject);
-        }
+        return gson.toJson(jsonObject);
     }
 
     public boolean has(String key){
-        synchronized (lock) {
-            return jsonObject.has(key);
+        return jsonObject.has(key);
+    }
+
+    /**
+     * 지연 기록 서비스
+     */
+    private class FlushService extends Service {
+
+        FlushService(){
+            setState(State.START);
+            setDaemon(true);
+        }
+
+        @Override
+        public void work() {
+            flush();
         }
     }
 
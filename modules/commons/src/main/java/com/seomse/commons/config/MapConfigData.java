@@ -1,5 +1,6 @@
 package com.seomse.commons.config;
 
+import java.util.HashMap;
 import java.util.Map;
 
 /**
@@ -42,4 +43,9 @@ public class MapConfigData extends ConfigData{
     public String remove(String key) {
         return map.remove(key);
     }
+
+    @Override
+    public Map<String, String> getConfigMap() {
+        return new HashMap<>(map);
+    }
 }
@@ -16,6 +16,8 @@
 
 package com.seomse.commons.config;
 
+import java.util.HashMap;
+import java.util.Map;
 import java.util.Properties;
 
 /**
@@ -67,4 +69,13 @@ public class PropertiesConfigData extends ConfigData{
 
         return obj.toString();
     }
+
+    @Override
+    public Map<String, String> getConfigMap() {
+        Map<String, String> map = new HashMap<>();
+        for(String key : properties.stringPropertyNames()){
+            map.put(key, properties.getProperty(key));
+        }
+        return map;
+    }
 }
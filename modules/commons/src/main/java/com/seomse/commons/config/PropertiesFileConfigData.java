@@ -0,0 +1,56 @@
+package com.seomse.commons.config;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.Properties;
+
+/**
+ * properties 파일로 읽어 오는 설정 정보
+ * 기본 케릭터셋 utf-8
+ * @author macle
+ */
+public class PropertiesFileConfigData extends FileConfigData{
+
+    private final Charset charset;
+
+    private int priority = ConfigSet.XML_FILE_PRIORITY+1;
+
+    /**
+     * 생성자
+     * @param file 설정파일
+     * @throws IOException exception
+     */
+    public PropertiesFileConfigData(File file) throws IOException {
+        this(file, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * 생성자
+     * @param file 설정파일
+     * @param charset Charset 파일 케릭터셋
+     * @throws IOException exception
+     */
+    public PropertiesFileConfigData(File file, Charset charset) throws IOException {
+        super(file);
+        this.charset = charset;
+        loadFile();
+    }
+
+    public void setPriority(int priority) {
+        this.priority = priority;
+    }
+
+    @Override
+    protected void load(InputStream in, Properties properties) throws IOException {
+        properties.load(new InputStreamReader(in, charset));
+    }
+
+    @Override
+    public int getPriority() {
+        return priority;
+    }
+}
@@ -17,6 +17,7 @@ package com.seomse.commons.config;
 
 /**
  * 시스템 설정 정보
+ * System.setProperty 로 언제든 바뀔 수 있으므로 getConfigMap 을 제공하지 않음 (Config 스냅샷에 고정하지 않고 직접 조회)
  * @author macle
  */
 public class SystemPropertiesData extends ConfigData{
@@ -16,7 +16,6 @@
 package com.seomse.commons.config;
 
 import java.io.File;
-import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.util.Properties;
@@ -25,9 +24,7 @@ import java.util.Properties;
  * xml로 읽어 오는 설정 정보
  * @author macle
  */
-public class XmlFileConfigData extends ConfigData{
-
-    private final Properties props;
+public class XmlFileConfigData extends FileConfigData{
 
     /**
      * 생성자
@@ -35,61 +32,18 @@ public class XmlFileConfigData extends ConfigData{
      * @throws IOException exception
      */
     XmlFileConfigData(File file) throws IOException {
-        props = new Properties();
-        if(file.exists()) {
-
-            InputStream configInputStream = null;
-            //noinspection TryFinallyCanBeTryWithResources,CaughtExceptionImmediatelyRethrown
-            try {
-                configInputStream = new FileInputStream(file);
-                props.loadFromXML(configInputStream);
-            } catch (IOException e) {
-
-                throw e;
-            } finally {
-                if (configInputStream != null) {
-                    configInputStream.close();
-                }
-            }
-        }
+        super(file);
+        loadFile();
     }
 
-
     @Override
-    public String getConfig(String key) {
-        return props.getProperty(key);
+    protected void load(InputStream in, Properties properties) throws IOException {
+        properties.loadFromXML(in);
     }
 
-    @Override
-    public boolean containsKey(String key) {
-        return props.containsKey(key);
-    }
-
-
-
     @Override
     public int getPriority() {
         return ConfigSet.XML_FILE_PRIORITY;
     }
 
-    @Override
-    public void put(String key, String value) {
-        props.put(key, value);
-    }
-
-    @Override
-    public String remove(String key) {
-        Object obj =props.remove(key);
-
-        if(obj == null){
-            return null;
-        }
-        if(obj.getClass() == String.class){
-            return (String) obj;
-        }
-
-        return obj.toString();
-    }
-
-
 }
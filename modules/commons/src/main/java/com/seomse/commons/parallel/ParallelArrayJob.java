@@ -1,7 +1,6 @@
 package com.seomse.commons.parallel;
 
 import com.seomse.commons.callback.Callback;
-import com.seomse.commons.utils.time.Times;
 
 
 /**
@@ -52,24 +51,19 @@ public class ParallelArrayJob <T>{
 
     private ParallelArrayWorker<T>[] workers;
 
-    private Thread currentThread = null;
-
-
     //동기실행
     public void runSync(){
-        currentThread = Thread.currentThread();
         runAsync();
-        //noinspection ConditionalBreakInInfiniteLoop
-        for(;;){
-
-            if(isEnd){
-                break;
+        synchronized (endLock){
+            while (!isEnd){
+                try{
+                    endLock.wait();
+                }catch (InterruptedException e){
+                    Thread.currentThread().interrupt();
+                    break;
+                }
             }
-            try{
-                Thread.sleep(Times.DAY_1);
-            }catch (Exception ignore){}
         }
-
     }
 
     public void runAsync(){
@@ -83,7 +77,7 @@ public class ParallelArrayJob <T>{
 
     private int endCount = 0;
 
-    boolean isEnd = false;
+    volatile boolean isEnd = false;
 
     void endJob(){
         synchronized (endLock){
@@ -91,12 +85,7 @@ public class ParallelArrayJob <T>{
             if(endCount >= workers.length){
 
                 isEnd = true;
-
-                if(currentThread != null){
-                    try {
-                        currentThread.interrupt();
-                    }catch (Exception ignore){}
-                }
+                endLock.notifyAll();
 
                 if(callback != null){
                     callback.callback();
@@ -1,12 +1,22 @@
 package com.seomse.commons.utils;
 
+import com.seomse.commons.exception.IORuntimeException;
+import com.seomse.commons.parallel.ParallelArrayJob;
+import com.seomse.commons.utils.file.BytePatternMatcher;
+
 import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
 import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
 import java.util.*;
 
 /**
- * 예외처리 관련 유틸
+ * 파일 내용 검색
+ * 검색어 전체를 한번에 찾는 방식(Aho-Corasick)으로 파일을 한번만 읽으며, 파일별로 병렬 처리
+ * 파일 내용을 메모리에 올리지 않고 byte 단위로 읽으면서 검색 (검색어는 케릭터셋으로 변환하여 비교)
+ * byte 비교는 문자 중간에서 검색어가 시작될 수 없는 케릭터셋 (utf-8, us-ascii, iso-8859-1) 만 사용
+ * 그 외 케릭터셋 (euc-kr, ms949, utf-16 등) 은 파일 내용을 읽어서 검색
  * @author macle
  */
 public class FileSearch {
@@ -59,12 +69,211 @@ public class FileSearch {
     }
 
 
+    private int threadCount = ParallelArrayJob.getDefaultThreadCount();
+
+    /**
+     * 동시에 검색할 파일 수 (쓰레드 수)
+     * @param threadCount int
+     */
+    public void setThreadCount(int threadCount) {
+        this.threadCount = threadCount;
+    }
+
+    private boolean isFirstMatchOnly = false;
+
+    /**
+     * 파일별로 처음 찾은 결과만 얻을지 여부 (찾으면 해당 파일은 더 읽지 않음)
+     * searchMatches 에 적용
+     * @param firstMatchOnly boolean
+     */
+    public void setFirstMatchOnly(boolean firstMatchOnly) {
+        isFirstMatchOnly = firstMatchOnly;
+    }
+
+    private static final int BUFFER_SIZE = 65536;
+
     public List<File> search(String path, String[] inTextArray){
-        List<File> allFiles = FileUtil.getFileList(path);
+        File [] files = getTargetFiles(path);
+
+        if(!isByteSearch(charset)){
+            return searchContents(files, inTextArray);
+        }
+
+        String [] outTexts = outTextSet == null ? new String[0] : outTextSet.toArray(new String[0]);
+
+        //빈 문자열은 모든 파일에 포함된 것으로 봄 (String.contains 와 같음)
+        //빈 제외 텍스트는 모든 파일 제외, 빈 포함 텍스트는 모든 파일 포함
+        for(String outText : outTexts){
+            if(outText.isEmpty()){
+                return new ArrayList<>();
+            }
+        }
+
+        String [] inTexts = removeEmpty(inTextArray);
+        boolean isAllIn = inTexts.length < inTextArray.length;
+
+        if(isAllIn && outTexts.length == 0){
+            return new ArrayList<>(Arrays.asList(files));
+        }
+
+        if(inTexts.length == 0 && !isAllIn){
+            return new ArrayList<>();
+        }
+
+        String [] texts = new String[inTexts.length + outTexts.length];
+        System.arraycopy(inTexts, 0, texts, 0, inTexts.length);
+        System.arraycopy(outTexts, 0, texts, inTexts.length, outTexts.length);
+
+        BytePatternMatcher matcher = newMatcher(texts);
+        int inCount = inTexts.length;
+
+        FileTask [] tasks = run(files, task -> {
+            boolean isIn = isAllIn;
+            boolean isOut = false;
+
+            try(FileInputStream in = new FileInputStream(task.file)){
+                byte [] buffer = new byte[BUFFER_SIZE];
+                int state = 0;
+                int n;
+                outer:
+                while ((n = in.read(buffer)) > 0) {
+                    for (int i = 0; i < n; i++) {
+                        state = matcher.next(state, buffer[i]);
+                        int [] outputs = matcher.getOutputs(state);
+                        if(outputs == null){
+                            continue;
+                        }
+                        for(int index : outputs){
+                            if(index < inCount){
+                                isIn = true;
+                            }else{
+                                isOut = true;
+                            }
+                        }
+                        if(isOut || (isIn && outTexts.length == 0)){
+                            break outer;
+                        }
+                    }
+                }
+            }catch (IOException e){
+                throw new IORuntimeException(e);
+            }
+
+            task.isMatch = isIn && !isOut;
+        });
 
         List<File> searchList = new ArrayList<>();
+        for(FileTask task : tasks){
+            if(task.isMatch){
+                searchList.add(task.file);
+            }
+        }
+        return searchList;
+    }
 
-        outer:
+    /**
+     * 검색어 위치 찾기
+     * 모든 검색어를 파일을 한번 읽으면서 찾고 파일, 라인, 위치 정보를 반환
+     * removeName 은 적용되고 outText 는 적용되지 않음
+     * 빈 검색어는 위치가 없으므로 결과에 포함되지 않음
+     * byte 위치로 찾으므로 utf-8, us-ascii, iso-8859-1 케릭터셋만 지원
+     * @param path String 경로
+     * @param searchTexts String [] 검색어 목록
+     * @return List 찾은 결과 (파일 순서, 파일 내 위치 순서)
+     */
+    public List<FileSearchMatch> searchMatches(String path, String[] searchTexts){
+        if(!isByteSearch(charset)){
+            throw new IllegalArgumentException("unsupported charset: " + charset.name());
+        }
+
+        String [] texts = removeEmpty(searchTexts);
+        if(texts.length == 0){
+            return new ArrayList<>();
+        }
+
+        File [] files = getTargetFiles(path);
+
+        BytePatternMatcher matcher = newMatcher(texts);
+
+        //검색어 내 줄바꿈 수 (시작 라인 계산용, 마지막 byte 제외)
+        int [] newLineCounts = new int[texts.length];
+        for (int i = 0; i < texts.length ; i++) {
+            byte [] pattern = matcher.getPattern(i);
+            for (int j = 0; j < pattern.length - 1 ; j++) {
+                if(pattern[j] == '\n'){
+                    newLineCounts[i]++;
+                }
+            }
+        }
+
+        boolean isFirstMatchOnly = this.isFirstMatchOnly;
+
+        FileTask [] tasks = run(files, task -> {
+            List<FileSearchMatch> matchList = null;
+
+            try(FileInputStream in = new FileInputStream(task.file)){
+                byte [] buffer = new byte[BUFFER_SIZE];
+                int state = 0;
+                long position = 0;
+                long line = 0;
+                int n;
+                outer:
+                while ((n = in.read(buffer)) > 0) {
+                    for (int i = 0; i < n; i++) {
+                        byte b = buffer[i];
+                        state = matcher.next(state, b);
+                        int [] outputs = matcher.getOutputs(state);
+                        if(outputs != null){
+                            if(matchList == null){
+                                matchList = new ArrayList<>();
+                            }
+                            long end = position + i + 1;
+                            for(int index : outputs){
+                                matchList.add(new FileSearchMatch(task.file, texts[index], line - newLineCounts[index], end - matcher.getPattern(index).length));
+                                if(isFirstMatchOnly){
+                                    break outer;
+                                }
+                            }
+                        }
+
+                        if(b == '\n'){
+                            line++;
+                        }
+                    }
+                    position += n;
+                }
+            }catch (IOException e){
+                throw new IORuntimeException(e);
+            }
+
+            if(matchList != null){
+                //같은 위치에서 끝나는 결과는 긴 검색어가 먼저 이므로 시작 위치로 정렬
+                matchList.sort(Comparator.comparingLong(FileSearchMatch::getOffset));
+                task.matchList = matchList;
+            }
+        });
+
+        List<FileSearchMatch> resultList = new ArrayList<>();
+        for(FileTask task : tasks){
+            if(task.matchList != null){
+                resultList.addAll(task.matchList);
+            }
+        }
+        return resultList;
+    }
+
+    /**
+     * byte 단위 검색 지원 여부
+     * euc-kr, ms949 등은 줄바꿈이 1byte 여도 2byte 문자의 두번째 byte 가 다른 문자의 첫 byte 와 같을 수 있어
+     * 문자 중간에서 시작하는 잘못된 결과가 나올 수 있으므로 제외
+     */
+    private static boolean isByteSearch(Charset charset){
+        return charset.equals(StandardCharsets.UTF_8) || charset.equals(StandardCharsets.US_ASCII) || charset.equals(StandardCharsets.ISO_8859_1);
+    }
+
+    private File [] getTargetFiles(String path){
+        List<File> allFiles = FileUtil.getFileList(path);
+        List<File> fileList = new ArrayList<>();
         for(File file: allFiles){
             if(!file.isFile()){
                 continue;
@@ -73,7 +282,94 @@ public class FileSearch {
             if(removeNameSet != null && removeNameSet.contains(file.getName())){
                 continue;
             }
+            fileList.add(file);
+        }
+        return fileList.toArray(new File[0]);
+    }
+
+    private static String [] removeEmpty(String [] texts){
+        List<String> textList = new ArrayList<>(texts.length);
+        for(String text : texts){
+            if(!text.isEmpty()){
+                textList.add(text);
+            }
+        }
+        if(textList.size() == texts.length){
+            return texts;
+        }
+        return textList.toArray(new String[0]);
+    }
+
+    private BytePatternMatcher newMatcher(String [] texts){
+        byte [][] patterns = new byte[texts.length][];
+        for (int i = 0; i < texts.length ; i++) {
+            patterns[i] = texts[i].getBytes(charset);
+        }
+        return new BytePatternMatcher(patterns);
+    }
 
+    /**
+     * 파일별 작업 병렬 실행
+     * 작업중 예외가 발생하면 전체 작업이 끝난 후 전달
+     */
+    private FileTask [] run(File [] files, FileWork work){
+        FileTask [] tasks = new FileTask[files.length];
+        for (int i = 0; i < files.length ; i++) {
+            tasks[i] = new FileTask(files[i]);
+        }
+
+        if(tasks.length == 0){
+            return tasks;
+        }
+
+        ParallelArrayJob<FileTask> job = new ParallelArrayJob<>(tasks, task -> {
+            try{
+                work.work(task);
+            }catch (RuntimeException e){
+                task.exception = e;
+            }
+            task.isEnd = true;
+        });
+        job.setThreadCount(Math.min(threadCount, tasks.length));
+        job.runSync();
+
+        for(FileTask task : tasks){
+            if(task.exception != null){
+                throw task.exception;
+            }
+            if(!task.isEnd){
+                throw new IORuntimeException("file search fail: " + task.file.getAbsolutePath());
+            }
+        }
+
+        return tasks;
+    }
+
+    private interface FileWork {
+        void work(FileTask task);
+    }
+
+    private static class FileTask {
+        final File file;
+        boolean isMatch = false;
+        List<FileSearchMatch> matchList = null;
+        RuntimeException exception = null;
+        boolean isEnd = false;
+
+        FileTask(File file){
+            this.file = file;
+        }
+    }
+
+    /**
+     * 파일 내용을 읽어서 검색
+     * byte 단위 검색을 지원하지 않는 케릭터셋 용
+     */
+    private List<File> searchContents(File [] files, String[] inTextArray){
+        List<File> searchList = new ArrayList<>();
+
+        outer:
+        for(File file: files){
             String fileText = FileUtil.getFileContents(file, charset);
 
             if(outTextSet != null){
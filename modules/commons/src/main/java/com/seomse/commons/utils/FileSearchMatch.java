@@ -0,0 +1,50 @@
+package com.seomse.commons.utils;
+
+import java.io.File;
+
+/**
+ * 파일 내용 검색 결과
+ * @author macle
+ */
+public class FileSearchMatch {
+
+    private final File file;
+    private final String text;
+    private final long line;
+    private final long offset;
+
+    /**
+     * 생성자
+     * @param file File 파일
+     * @param text String 찾은 문자열
+     * @param line long 라인 번호 (0부터)
+     * @param offset long 파일 내 시작 byte 위치
+     */
+    public FileSearchMatch(File file, String text, long line, long offset){
+        this.file = file;
+        this.text = text;
+        this.line = line;
+        this.offset = offset;
+    }
+
+    public File getFile() {
+        return file;
+    }
+
+    public String getText() {
+        return text;
+    }
+
+    public long getLine() {
+        return line;
+    }
+
+    public long getOffset() {
+        return offset;
+    }
+
+    @Override
+    public String toString() {
+        return file.getAbsolutePath() + ":" + line + ":" + offset + " " + text;
+    }
+}
@@ -15,24 +15,36 @@
  */
 package com.seomse.commons.utils;
 
+import com.seomse.commons.callback.PathCallback;
+import com.seomse.commons.callback.StrCallback;
 import com.seomse.commons.exception.IORuntimeException;
+import com.seomse.commons.utils.file.FileByteCounter;
+import com.seomse.commons.utils.file.FileCopy;
+import com.seomse.commons.utils.file.FileLineIterator;
+import com.seomse.commons.utils.file.FileSplitter;
+import com.seomse.commons.utils.file.FileTailer;
+import com.seomse.commons.utils.file.FileTransform;
+import com.seomse.commons.utils.file.FileWalker;
+import com.seomse.commons.utils.file.FileZip;
+import com.seomse.commons.utils.file.ReverseLineReader;
 import com.seomse.commons.utils.string.Check;
 import com.seomse.commons.validation.FileValidation;
+import com.seomse.commons.validation.TextValidation;
 import lombok.extern.slf4j.Slf4j;
 
 import java.io.*;
 import java.nio.channels.FileChannel;
 import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
 import java.util.*;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 import java.util.stream.Stream;
-import java.util.zip.ZipEntry;
-import java.util.zip.ZipInputStream;
 
 /**
  * 파일처리 관련 유틸성 클래스
@@ -258,42 +270,25 @@ public class FileUtil {
 			return new String[0];
 		}
 
-		List<List<String>> contentsList = new LinkedList<>();
+		//뒤의 파일부터 필요한 라인 수 만큼만 파일 끝에서 읽음
+		LinkedList<String[]> contentsList = new LinkedList<>();
 
 		int sizeSum = 0;
 
 		for (int i = files.length-1; i > -1 ; i--) {
-			List<String> lineList = getLineList(files[i], charset);
-			sizeSum += lineList.size();
-			contentsList.add(0, lineList);
+			String [] fileLines = getLastLines(files[i], charset, limit - sizeSum);
+			sizeSum += fileLines.length;
+			contentsList.addFirst(fileLines);
 			if(sizeSum >= limit){
 				break;
 			}
 		}
 
-		int firstLineIndex;
-		int length;
-
-		if(limit >= sizeSum){
-			firstLineIndex = 0;
-			length = sizeSum;
-		}else{
-			firstLineIndex = sizeSum - limit;
-			length = limit;
-		}
-
-		String [] lines = new String[length];
+		String [] lines = new String[sizeSum];
 		int index = 0;
-		List<String> lineList = contentsList.get(0);
-
-		for (int i = firstLineIndex; i <lineList.size() ; i++) {
-			lines[index++] = lineList.get(i);
-		}
-		for (int i = 1; i <contentsList.size() ; i++) {
-			lineList = contentsList.get(i);
-			for (String s : lineList) {
-				lines[index++] = s;
-			}
+		for(String [] fileLines : contentsList){
+			System.arraycopy(fileLines, 0, lines, index, fileLines.length);
+			index += fileLines.length;
 		}
 
 		return lines;
@@ -323,6 +318,65 @@ public class FileUtil {
 		return array;
 	}
 
+	/**
+	 * 파일 라인 순차 읽기
+	 * 사용 후 close 할 것
+	 * @param file File
+	 * @param charset Charset
+	 * @return FileLineIterator
+	 */
+	public static FileLineIterator getLineIterator(File file, Charset charset){
+		return new FileLineIterator(file, charset);
+	}
+
+	/**
+	 * 폴더 내 파일들을 정렬 순서대로 이어서 라인 순차 읽기 (rolling 된 파일 등)
+	 * 하위 디렉토리 제외
+	 * 사용 후 close 할 것
+	 * @param dir File 폴더
+	 * @param charset Charset
+	 * @param validation FileValidation 파일 조건
+	 * @param sort Comparator 파일 정렬
+	 * @return FileLineIterator
+	 */
+	public static FileLineIterator getLineIterator(File dir, Charset charset, FileValidation validation, Comparator<File> sort){
+		return new FileLineIterator(getInFiles(dir, validation, sort), charset);
+	}
+
+	/**
+	 * 파일 라인 Stream
+	 * try-with-resources 로 사용 할 것
+	 * @param file File
+	 * @param charset Charset
+	 * @return Stream
+	 */
+	public static Stream<String> lines(File file, Charset charset){
+		return new FileLineIterator(file, charset).stream();
+	}
+
+	/**
+	 * 조건에 맞는 라인 목록 얻기
+	 * 파일 전체를 메모리에 올리지 않고 필요한 만큼만 읽음
+	 * @param file File
+	 * @param charset Charset
+	 * @param validation TextValidation 라인 조건 (null 이면 전체)
+	 * @param skip long 조건에 맞는 라인 중 건너뛸 수
+	 * @param limit int 최대 라인 수 (1 미만이면 제한 없음)
+	 * @return List lines
+	 */
+	public static List<String> getLineList(File file, Charset charset, TextValidation validation, long skip, int limit){
+		List<String> list = new ArrayList<>();
+		try(FileLineIterator iterator = new FileLineIterator(file, charset)){
+			iterator.setValidation(validation);
+			iterator.setSkip(skip);
+			iterator.setLimit(limit);
+			while (iterator.hasNext()){
+				list.add(iterator.next());
+			}
+		}
+		return list;
+	}
+
 	public static List<String> getLineTrimNotEmptyList(File file, Charset charset){
 		List<String> list = new ArrayList<>();
 		try (BufferedReader br = new BufferedReader(new InputStreamReader(Files.newInputStream(file.toPath()), charset))) {
@@ -393,6 +447,21 @@ public class FileUtil {
 		return resultFileList;
 	}
 
+	/**
+	 * 하위 디렉토리를 포함한 경로내 파일 탐색
+	 * 전체 목록을 만들지 않고 찾은 파일을 바로 전달, 세부 조건은 FileWalker 를 직접 사용
+	 * @param path String 폴더경로 또는 파일경로
+	 * @param glob String 파일명 glob ex: *.log (null 이면 전체)
+	 * @param callback PathCallback 파일 경로와 속성 전달
+	 */
+	public static void walk(String path, String glob, PathCallback callback){
+		FileWalker walker = new FileWalker(path);
+		if(glob != null){
+			walker.setGlob(glob);
+		}
+		walker.walk(callback);
+	}
+
 	public static List<File> getDirList(String path){
 		return getDirList(new File(path));
 	}
@@ -488,8 +557,58 @@ public class FileUtil {
 		}
 	}
 
+	/**
+	 * 파일에 내용을 기입한다. (원자적 교체)
+	 * 같은 경로에 임시파일을 만들어 기록한 후 이름 변경으로 교체하므로
+	 * 기록 도중 장애가 발생해도 기존 파일이 깨지지 않음
+	 * @param outValue String 내용
+	 * @param charSet String 케릭터셋
+	 * @param filePath String 파일명
+	 */
+	public static void fileOutputAtomic(String outValue, String charSet, String filePath){
+		File file = new File(filePath).getAbsoluteFile();
+		mkdirsParent(file);
+
+		Path tempPath = null;
+		try{
+			tempPath = Files.createTempFile(file.getParentFile().toPath(), file.getName(), ".tmp");
+			try(FileOutputStream out = new FileOutputStream(tempPath.toFile())){
+				out.write(outValue.getBytes(charSet));
+				out.flush();
+				out.getFD().sync();
+			}
+			replaceAtomic(tempPath, file.toPath());
+			tempPath = null;
+		}catch(IOException e){
+			throw new IORuntimeException(e);
+		}finally {
+			if(tempPath != null){
+				try{Files.deleteIfExists(tempPath);}catch (Exception ignore){}
+			}
+		}
+	}
+
+	/**
+	 * 파일 교체
+	 * 원자적 이동을 지원하지 않는 파일 시스템에서는 일반 이동으로 교체
+	 * @param source Path 교체할 파일 (임시파일)
+	 * @param target Path 대상 파일
+	 */
+	public static void replaceAtomic(Path source, Path target){
+		try{
+			try{
+				Files.move(source, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+			}catch(AtomicMoveNotSupportedException e){
+				Files.move(source, target, StandardCopyOption.REPLACE_EXISTING);
+			}
+		}catch(IOException e){
+			throw new IORuntimeException(e);
+		}
+	}
+
 	/**
 	 * 경로 전체 복사
+	 * 디렉토리는 하위 파일들을 동시에 복사, 세부 설정(검증, 변경되지 않은 파일 건너뛰기)은 FileCopy 를 직접 사용
 	 * @param inPath String 입력경로
 	 * @param outPath String 출력경로
 	 * @return boolean success, fail flag
@@ -501,36 +620,17 @@ public class FileUtil {
 			return false;
 		}
 
-		String filePath = file.getAbsolutePath();
-
-		if(file.isDirectory()){
-			//하위까지 전체복사
-			List<File> fileList = getFileList(inPath);
-			for(File subFile : fileList){
-				String subPath = subFile.getAbsolutePath();
-				String newPath = subPath.substring(filePath.length());
-				newPath = outPath + "/" + newPath;
-
-
-				File newFile = new File(newPath);
-				//noinspection ResultOfMethodCallIgnored
-				newFile.getParentFile().mkdirs();
-				if(subFile.isDirectory())//noinspection SingleStatementInBlock
-				{
-					//noinspection ResultOfMethodCallIgnored
-					newFile.mkdir();
-				}else{
-					fileCopy(subPath, newPath);
-				}
-
-			}
-			fileList.clear();
-
-		}else{
+		if(!file.isDirectory()){
 			return fileCopy(inPath, outPath);
 		}
 
-		return true;
+		try{
+			new FileCopy().copy(file, new File(outPath));
+			return true;
+		}catch (Exception e){
+			log.error(ExceptionUtil.getStackTrace(e));
+			return false;
+		}
 	}
 
 
@@ -543,23 +643,9 @@ public class FileUtil {
 	@SuppressWarnings("WeakerAccess")
 	public static boolean fileCopy(String inFileName, String outFileName) {
 		try {
-			FileInputStream fis = new FileInputStream(inFileName);
-			FileOutputStream fos = new FileOutputStream(outFileName);
-
-			FileChannel fcin =  fis.getChannel();
-			FileChannel fcout = fos.getChannel();
-
-			long size = fcin.size();
-			fcin.transferTo(0, size, fcout);
-
-			fcin.close();
-			fcout.close();
-
-			fis.close();
-			fos.close();
+			FileCopy.copyFile(Paths.get(inFileName), Paths.get(outFileName));
 			return true;
 		} catch (Exception e) {
-			//io, nio 패키지를 같이쓰면 잘 되도 에러나는 경우가 있으므로 로그처리
 			log.error(ExceptionUtil.getStackTrace(e));
 			return false;
 		}
@@ -751,6 +837,34 @@ public class FileUtil {
 		}
 	}
 
+	/**
+	 * 파일 언어셋 변경
+	 * 파일 전체를 메모리에 올리지 않고 구간 단위로 변환 후 원자적으로 교체 (줄바꿈 문자 유지)
+	 * @param file File 파일
+	 * @param charset Charset 변경전 언어셋
+	 * @param newCharset Charset 변경할 언어셋
+	 */
+	public static void charSetChange(File file, Charset charset, Charset newCharset){
+		FileTransform.transcode(file, charset, newCharset);
+	}
+
+	/**
+	 * 파일 내용 변경
+	 * 파일 전체를 메모리에 올리지 않고 구간 단위로 치환 후 원자적으로 교체 (줄바꿈 문자 유지)
+	 * @param file File 파일
+	 * @param charset Charset 언어셋
+	 * @param value String 찾을 문자열 또는 정규식
+	 * @param newValue String 바꿀 문자열
+	 * @param isRegex boolean 정규식 여부
+	 * @return long 치환 건수
+	 */
+	public static long fileContentsChange(File file, Charset charset, String value, String newValue, boolean isRegex){
+		if(isRegex){
+			return FileTransform.replaceRegex(file, charset, value, newValue);
+		}
+		return FileTransform.replace(file, charset, value, newValue);
+	}
+
 	/**
 	 * 파일이 읽을 있는 상태 여부
 	 * @param filePath String 파일경로
@@ -997,6 +1111,24 @@ public class FileUtil {
 		}
 	}
 
+	/**
+	 * 라인 수, 크기 기준으로 파일쪼개기
+	 * 문자 변환 없이 byte 단위로 라인 경계에서 나누고 구간 파일들을 동시에 기록 (원본 줄바꿈 유지)
+	 * 파일명은 확장자없는 숫자
+	 * 생긴 숫자형 파일이 덮어쓰일 수 있으므로 숫자이름의 파일이 없는 폴더로 실행할 것
+	 * @param file File 나눌 파일
+	 * @param outDirPath String 나눈 파일을 기록할 디렉토리
+	 * @param lineCount long 파일 당 최대 라인 수 (1 미만 이면 사용하지 않음)
+	 * @param maxSize long 파일 당 최대 크기 byte (1 미만 이면 사용하지 않음)
+	 * @return File [] 나눈 파일 (순서대로)
+	 */
+	public static File [] split(File file, String outDirPath, long lineCount, long maxSize){
+		FileSplitter splitter = new FileSplitter();
+		splitter.setLineCount(lineCount);
+		splitter.setMaxSize(maxSize);
+		return splitter.split(file, new File(outDirPath));
+	}
+
 	/**
 	 * 앞에 문자를 지정하여 파일명 변경
 	 * 하위폴더에 있는 모든 파일이 대상임
@@ -1184,35 +1316,147 @@ public class FileUtil {
 		}
 	}
 
+	/**
+	 * 파일 라인 수 얻기 (병렬)
+	 * 파일을 구간별로 memory map 하여 여러 쓰레드에서 동시에 셈
+	 * 큰 파일 (수백 MB 이상) 에서 사용
+	 * @param file file
+	 * @return long
+	 */
+	public static long getLineCountParallel(File file){
+		return FileByteCounter.getLineCount(file);
+	}
+
 	public static String getLastTextLine(String path){
 		File file = new File(path);
 
 		return getLastTextLine(file);
 	}
 
+	/**
+	 * 공백이 아닌 마지막 라인 얻기
+	 * 파일 끝에서 부터 역순으로 읽으며 라인 끝의 '\r' 은 제거됨
+	 * 모든 라인이 공백이면 마지막 라인 (마지막 줄바꿈 뒤의 값) 을 돌려줌
+	 * @param file File
+	 * @return String 라인, 파일이 없거나 비어있으면 ""
+	 */
 	public static String getLastTextLine(File file){
 		if(!file.isFile()){
 			return "";
 		}
 
-		int lastIndex = (int)getLineCount(file)-1;
+		String line = getLastLine(file, StandardCharsets.UTF_8, text -> !"".equals(text.trim()));
+		if(line != null){
+			return line;
+		}
 
+		int lastIndex = (int)getLineCount(file)-1;
 		if(lastIndex < 0){
 			return "";
 		}
+		return getLine(file, StandardCharsets.UTF_8, lastIndex);
+	}
 
-		if(lastIndex == 0){
-			return getLine(file, StandardCharsets.UTF_8, 0);
+	/**
+	 * 파일의 마지막 라인들 얻기
+	 * 파일 끝에서 부터 역순으로 읽으므로 큰 파일 에서도 빠름
+	 * @param file File
+	 * @param charset Charset
+	 * @param count int 라인 수
+	 * @return String [] 파일 순서의 라인 배열 (최대 count 개)
+	 */
+	public static String [] getLastLines(File file, Charset charset, int count){
+		if(count < 1 || !file.isFile()){
+			return new String[0];
 		}
 
-		for (int i = lastIndex; i > -1 ; i--) {
-			String line = getLine(file, StandardCharsets.UTF_8, i);
-			if(!"".equals(line.trim())){
-				return line;
+		if(!ReverseLineReader.isSupported(charset)){
+			//역순 읽기를 지원하지 않는 케릭터셋은 순차적으로 읽으면서 마지막 라인들만 유지
+			//count 는 최대값 이므로 미리 할당하지 않고 읽은 라인 수 만큼 늘림
+			ArrayDeque<String> deque = new ArrayDeque<>();
+			try (BufferedReader br = new BufferedReader(new InputStreamReader(Files.newInputStream(file.toPath()), charset))) {
+				String line;
+				while ((line = br.readLine()) != null) {
+					if(deque.size() == count){
+						deque.pollFirst();
+					}
+					deque.addLast(line);
+				}
+			} catch (IOException e) {
+				throw new IORuntimeException(e);
 			}
+			return deque.toArray(new String[0]);
 		}
 
-		return getLine(file, StandardCharsets.UTF_8, lastIndex);
+		List<String> lineList = new ArrayList<>();
+		try(ReverseLineReader reader = new ReverseLineReader(file, charset)){
+			String line;
+			while (lineList.size() < count && (line = reader.readLine()) != null){
+				lineList.add(line);
+			}
+		}
+
+		int size = lineList.size();
+		String [] lines = new String[size];
+		for (int i = 0; i < size ; i++) {
+			lines[size - 1 - i] = lineList.get(i);
+		}
+		return lines;
+	}
+
+	/**
+	 * 파일 추적 시작 (tail -F)
+	 * 파일에 추가되는 라인을 callback 으로 전달, 사용이 끝나면 close 할 것
+	 * @param file File
+	 * @param charset Charset
+	 * @param offset long 처음 읽을 byte 위치 (-1 이면 파일의 끝 부터, 저장해둔 FileTailer.getOffset 값으로 이어서 읽기)
+	 * @param callback StrCallback 라인 전달
+	 * @return FileTailer 시작된 추적 객체
+	 */
+	public static FileTailer tail(File file, Charset charset, long offset, StrCallback callback){
+		FileTailer tailer = new FileTailer(file, charset, callback);
+		tailer.setOffset(offset);
+		tailer.start();
+		return tailer;
+	}
+
+	/**
+	 * 조건에 맞는 마지막 라인 얻기
+	 * 파일 끝에서 부터 역순으로 읽으므로 큰 파일 에서도 빠름
+	 * @param file File
+	 * @param charset Charset
+	 * @param validation TextValidation 라인 조건
+	 * @return String 조건에 맞는 마지막 라인, 없으면 null
+	 */
+	public static String getLastLine(File file, Charset charset, TextValidation validation){
+		if(!file.isFile()){
+			return null;
+		}
+
+		if(!ReverseLineReader.isSupported(charset)){
+			String lastLine = null;
+			try (BufferedReader br = new BufferedReader(new InputStreamReader(Files.newInputStream(file.toPath()), charset))) {
+				String line;
+				while ((line = br.readLine()) != null) {
+					if(validation.isValid(line)){
+						lastLine = line;
+					}
+				}
+			} catch (IOException e) {
+				throw new IORuntimeException(e);
+			}
+			return lastLine;
+		}
+
+		try(ReverseLineReader reader = new ReverseLineReader(file, charset)){
+			String line;
+			while ((line = reader.readLine()) != null){
+				if(validation.isValid(line)){
+					return line;
+				}
+			}
+		}
+		return null;
 	}
 
 
@@ -1277,50 +1521,27 @@ public class FileUtil {
 		return unZip(new File(filepath));
 	}
 
+	/**
+	 * zip 파일이 있는 디렉토리에 압축 해제
+	 * 항목들을 동시에 해제, 해제한 파일은 기존과 같이 디스크 동기화 (fsync), 세부 설정은 FileZip 을 직접 사용
+	 * @param zipFile File zip 파일
+	 * @return File [] 압축 해제한 파일 (디렉토리 제외)
+	 */
 	public static File [] unZip(File zipFile){
-		String dirPath = zipFile.getParentFile().getAbsolutePath();
-
-		BufferedInputStream in = null;
-		FileOutputStream out = null;
-		ZipInputStream zipInputStream = null;
-
-		List<File> list = new ArrayList<>();
-
-		try{
-			in = new BufferedInputStream(Files.newInputStream(zipFile.toPath()));
-			zipInputStream = new ZipInputStream(in);
-			ZipEntry zipEntry;
-			while((zipEntry = zipInputStream.getNextEntry()) != null){
-				int length ;
-
-				File unZipFile = new File(dirPath + zipEntry.getName());
-
-				out = new FileOutputStream(unZipFile);
-				while((length = zipInputStream.read()) != -1){
-					out.write(length);
-				}
-
-				out.getFD().sync();
-				out.close();
-				zipInputStream.closeEntry();
-
-				list.add(unZipFile);
-			}
-		}catch (IOException e){
-			throw new IORuntimeException(e);
-		}finally {
-			if(in != null){
-				try{in.close();}catch (Exception ignore){}
-			}
-			if(out != null){
-				try{out.close();}catch (Exception ignore){}
-			}
-			if(zipInputStream != null){
-				try{zipInputStream.close();}catch (Exception ignore){}
-			}
+		FileZip fileZip = new FileZip();
+		fileZip.setSync(true);
+		return fileZip.unzip(zipFile, zipFile.getAbsoluteFile().getParentFile());
+	}
 
-		}
-		return list.toArray(new File[0]);
+	/**
+	 * zip 압축
+	 * 디렉토리는 하위 전체를 디렉토리 기준 상대경로로 압축, 세부 설정(압축 레벨, 저장만 할 확장자)은 FileZip 을 직접 사용
+	 * @param sourcePath String 압축할 파일 또는 디렉토리
+	 * @param zipPath String 생성할 zip 파일
+	 * @return int 압축한 파일 수
+	 */
+	public static int zip(String sourcePath, String zipPath){
+		return new FileZip().zip(new File(sourcePath), new File(zipPath));
 	}
 
 	public static String getExtension(File file) {
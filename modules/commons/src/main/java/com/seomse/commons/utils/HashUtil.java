@@ -16,14 +16,55 @@
 
 package com.seomse.commons.utils;
 
+import com.seomse.commons.exception.IORuntimeException;
+import com.seomse.commons.parallel.ParallelArrayJob;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.Charset;
+import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
+import java.util.HashMap;
+import java.util.Map;
 
 /**
  * Hash 관련 유틸
  * @author macle
  */
 public class HashUtil {
-	
+
+	private static final char [] HEX = {'0','1','2','3','4','5','6','7','8','9','a','b','c','d','e','f'};
+
+	//stream 읽기 버퍼 크기
+	private static final int BUFFER_SIZE = 256 * 1024;
+
+	//쓰레드별 알고리즘별 MessageDigest 재사용
+	private static final ThreadLocal<Map<String, MessageDigest>> DIGEST_MAP = ThreadLocal.withInitial(HashMap::new);
+
+	//쓰레드별 stream 읽기 버퍼 (사용 중에는 null 로 비워두고 끝나면 돌려 놓음)
+	private static final ThreadLocal<byte []> BUFFER = ThreadLocal.withInitial(() -> new byte[BUFFER_SIZE]);
+
+	/**
+	 * 현재 쓰레드에서 재사용하는 MessageDigest 얻기
+	 * 초기화된 상태로 돌려줌
+	 * 다른 코드가 끼어들 수 없는 한번의 digest 호출 에서만 사용 (stream 처럼 읽는 중 다른 코드가 실행되는 경우는 새로 생성)
+	 * @param hash String "MD5","SHA1","SHA-256","SHA-384","SHA-512"
+	 * @return MessageDigest
+	 * @throws NoSuchAlgorithmException NoSuchAlgorithmException
+	 */
+	private static MessageDigest getMessageDigest(String hash) throws NoSuchAlgorithmException{
+		Map<String, MessageDigest> digestMap = DIGEST_MAP.get();
+		MessageDigest messageDigest = digestMap.get(hash);
+		if(messageDigest == null){
+			messageDigest = MessageDigest.getInstance(hash);
+			digestMap.put(hash, messageDigest);
+		}else{
+			messageDigest.reset();
+		}
+		return messageDigest;
+	}
 
 	/**
 	 * 특정해쉬알고리즘의 문자열 값 얻기
@@ -33,9 +74,32 @@ public class HashUtil {
 	 * @throws NoSuchAlgorithmException NoSuchAlgorithmException
 	 */
 	public static String getHash(String hash, String value) throws NoSuchAlgorithmException{
-		return  getHash(java.security.MessageDigest.getInstance(hash), value);
+		return  getHash(getMessageDigest(hash), value);
 	}
-	
+
+	/**
+	 * 특정해쉬알고리즘의 문자열 값 얻기
+	 * @param hash String "MD5","SHA1","SHA-256","SHA-384","SHA-512"
+	 * @param value String hash target value
+	 * @param charset Charset 문자열 변환 charset
+	 * @return String hash
+	 * @throws NoSuchAlgorithmException NoSuchAlgorithmException
+	 */
+	public static String getHash(String hash, String value, Charset charset) throws NoSuchAlgorithmException{
+		return toHex(getMessageDigest(hash).digest(value.getBytes(charset)));
+	}
+
+	/**
+	 * 특정해쉬알고리즘의 문자열 값 얻기
+	 * @param hash String "MD5","SHA1","SHA-256","SHA-384","SHA-512"
+	 * @param data byte [] hash target
+	 * @return String hash
+	 * @throws NoSuchAlgorithmException NoSuchAlgorithmException
+	 */
+	public static String getHash(String hash, byte [] data) throws NoSuchAlgorithmException{
+		return toHex(getMessageDigest(hash).digest(data));
+	}
+
 	/**
 	 * 특정해쉬알고리즘의 문자열 값 얻기
 	 * @param messageDigest MessageDigest 알고리즘
@@ -44,13 +108,147 @@ public class HashUtil {
 	 */
 	public static String getHash(java.security.MessageDigest messageDigest, String value){
 		messageDigest.update(value.getBytes());
-		byte[] byteData = messageDigest.digest();
-		StringBuilder sb = new StringBuilder();
-		//noinspection ForLoopReplaceableByForEach
-		for(int i = 0 ; i < byteData.length ; i++){
-			sb.append(Integer.toString((byteData[i]&0xff) + 0x100, 16).substring(1));
+		return toHex(messageDigest.digest());
+	}
+
+	/**
+	 * stream 해쉬 (끝까지 읽음, stream 은 닫지 않음)
+	 * stream 읽기 중에 HashUtil 이 다시 호출 되어도 섞이지 않도록 MessageDigest 는 호출 마다 생성하고
+	 * 쓰레드 버퍼는 이 호출 동안만 빌려 씀 (중첩 호출은 새 버퍼 사용)
+	 * @param hash String "MD5","SHA1","SHA-256","SHA-384","SHA-512"
+	 * @param in InputStream hash target
+	 * @return String hash
+	 * @throws NoSuchAlgorithmException NoSuchAlgorithmException
+	 */
+	public static String getHash(String hash, InputStream in) throws NoSuchAlgorithmException{
+		MessageDigest messageDigest = MessageDigest.getInstance(hash);
+
+		byte [] buffer = BUFFER.get();
+		if(buffer == null){
+			buffer = new byte[BUFFER_SIZE];
+		}
+		BUFFER.set(null);
+		try {
+			int length;
+			while ((length = in.read(buffer)) != -1) {
+				messageDigest.update(buffer, 0, length);
+			}
+		}catch (IOException e){
+			throw new IORuntimeException(e);
+		}finally {
+			BUFFER.set(buffer);
 		}
+		return toHex(messageDigest.digest());
+	}
+
+	/**
+	 * 파일 해쉬
+	 * 파일 전체를 메모리에 올리지 않고 버퍼 단위로 읽음
+	 * @param hash String "MD5","SHA1","SHA-256","SHA-384","SHA-512"
+	 * @param file File hash target
+	 * @return String hash
+	 * @throws NoSuchAlgorithmException NoSuchAlgorithmException
+	 */
+	public static String getFileHash(String hash, File file) throws NoSuchAlgorithmException{
+		try(InputStream in = new FileInputStream(file)){
+			return getHash(hash, in);
+		}catch (IOException e){
+			throw new IORuntimeException(e);
+		}
+	}
+
+	/**
+	 * 여러 파일 해쉬
+	 * @param hash String "MD5","SHA1","SHA-256","SHA-384","SHA-512"
+	 * @param files File [] hash target
+	 * @return String [] 같은 위치의 hash
+	 * @throws NoSuchAlgorithmException NoSuchAlgorithmException
+	 */
+	public static String [] getFileHashes(String hash, File [] files) throws NoSuchAlgorithmException{
+		return getFileHashes(hash, files, ParallelArrayJob.getDefaultThreadCount());
+	}
+
+	/**
+	 * 여러 파일 해쉬
+	 * threadCount 개의 쓰레드가 파일을 나누어 처리함
+	 * 실패한 파일이 있으면 모든 파일 처리 후 첫번째 예외를 던짐
+	 * @param hash String "MD5","SHA1","SHA-256","SHA-384","SHA-512"
+	 * @param files File [] hash target
+	 * @param threadCount int 동시에 처리할 쓰레드 수
+	 * @return String [] 같은 위치의 hash
+	 * @throws NoSuchAlgorithmException NoSuchAlgorithmException
+	 */
+	public static String [] getFileHashes(String hash, File [] files, int threadCount) throws NoSuchAlgorithmException{
+		//알고리즘 확인
+		getMessageDigest(hash);
 
-		return sb.toString();
+		FileHash [] fileHashes = new FileHash[files.length];
+		for (int i = 0; i < files.length ; i++) {
+			fileHashes[i] = new FileHash(hash, files[i]);
+		}
+
+		if(files.length < 2 || threadCount < 2){
+			for(FileHash fileHash : fileHashes){
+				fileHash.hash();
+			}
+		}else{
+			ParallelArrayJob<FileHash> job = new ParallelArrayJob<>(fileHashes, FileHash::hash);
+			job.setThreadCount(Math.min(threadCount, files.length));
+			job.runSync();
+		}
+
+		String [] results = new String[files.length];
+		for (int i = 0; i < fileHashes.length ; i++) {
+			FileHash fileHash = fileHashes[i];
+			if(fileHash.exception != null){
+				throw fileHash.exception;
+			}
+			if(fileHash.result == null){
+				throw new IORuntimeException("file hash fail: " + fileHash.file.getAbsolutePath());
+			}
+			results[i] = fileHash.result;
+		}
+		return results;
+	}
+
+	/**
+	 * 파일별 해쉬 작업
+	 */
+	private static class FileHash {
+		private final String hash;
+		private final File file;
+
+		private String result = null;
+		private RuntimeException exception = null;
+
+		FileHash(String hash, File file){
+			this.hash = hash;
+			this.file = file;
+		}
+
+		void hash(){
+			try{
+				result = getFileHash(hash, file);
+			}catch (NoSuchAlgorithmException e){
+				exception = new IllegalArgumentException(e);
+			}catch (RuntimeException e){
+				exception = e;
+			}
+		}
+	}
+
+	/**
+	 * 16진수 문자열 (소문자)
+	 * @param bytes byte []
+	 * @return String hex
+	 */
+	public static String toHex(byte [] bytes){
+		char [] chars = new char[bytes.length * 2];
+		for (int i = 0; i < bytes.length ; i++) {
+			int b = bytes[i] & 0xff;
+			chars[i * 2] = HEX[b >>> 4];
+			chars[i * 2 + 1] = HEX[b & 0x0f];
+		}
+		return new String(chars);
 	}
 }
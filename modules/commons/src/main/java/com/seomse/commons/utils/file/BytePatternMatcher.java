@@ -0,0 +1,139 @@
+package com.seomse.commons.utils.file;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+
+/**
+ * 여러 byte 패턴 동시 찾기 (Aho-Corasick)
+ * 패턴 수와 상관 없이 입력을 한번만 읽으면서 모든 패턴을 찾음
+ * 상태 전이를 256 크기의 배열로 미리 만들어 두므로 byte 당 배열 조회 한번으로 처리
+ * 생성후에는 변경되지 않으므로 여러 쓰레드에서 같이 사용 가능
+ * @author macle
+ */
+public class BytePatternMatcher {
+
+    private final byte [][] patterns;
+
+    //state * 256 + (byte & 0xff) -> next state
+    private final int [] transitions;
+
+    //상태에서 끝나는 패턴 index 목록 (실패 링크로 연결된 패턴 포함), 없으면 null
+    private final int [][] outputs;
+
+    /**
+     * 생성자
+     * @param patterns byte [][] 찾을 패턴 목록 (빈 패턴 불가)
+     */
+    public BytePatternMatcher(byte [][] patterns){
+        this.patterns = patterns;
+
+        int maxState = 1;
+        for(byte [] pattern : patterns){
+            if(pattern == null || pattern.length == 0){
+                throw new IllegalArgumentException("pattern empty");
+            }
+            maxState += pattern.length;
+        }
+
+        int [] trie = new int[maxState * 256];
+        Arrays.fill(trie, -1);
+        int [][] stateOutputs = new int[maxState][];
+
+        int stateCount = 1;
+        for (int i = 0; i < patterns.length ; i++) {
+            int state = 0;
+            for(byte b : patterns[i]){
+                int index = state * 256 + (b & 0xff);
+                if(trie[index] == -1){
+                    trie[index] = stateCount++;
+                }
+                state = trie[index];
+            }
+            stateOutputs[state] = add(stateOutputs[state], i);
+        }
+
+        int [] fail = new int[stateCount];
+        ArrayDeque<Integer> queue = new ArrayDeque<>();
+
+        for (int c = 0; c < 256 ; c++) {
+            int next = trie[c];
+            if(next == -1){
+                trie[c] = 0;
+            }else{
+                fail[next] = 0;
+                queue.add(next);
+            }
+        }
+
+        //너비 우선으로 실패 링크를 만들면서 전이가 없는 곳은 실패 링크의 전이로 채움
+        while (!queue.isEmpty()){
+            int state = queue.poll();
+            int [] failOutputs = stateOutputs[fail[state]];
+            if(failOutputs != null){
+                for(int output : failOutputs){
+                    stateOutputs[state] = add(stateOutputs[state], output);
+                }
+            }
+
+            for (int c = 0; c < 256 ; c++) {
+                int index = state * 256 + c;
+                int next = trie[index];
+                if(next == -1){
+                    trie[index] = trie[fail[state] * 256 + c];
+                }else{
+                    fail[next] = trie[fail[state] * 256 + c];
+                    queue.add(next);
+                }
+            }
+        }
+
+        this.transitions = Arrays.copyOf(trie, stateCount * 256);
+        this.outputs = Arrays.copyOf(stateOutputs, stateCount);
+    }
+
+    private static int [] add(int [] array, int value){
+        if(array == null){
+            return new int[]{value};
+        }
+        int [] newArray = Arrays.copyOf(array, array.length + 1);
+        newArray[array.length] = value;
+        return newArray;
+    }
+
+    /**
+     * 다음 상태
+     * 시작 상태는 0
+     * @param state int 현재 상태
+     * @param b byte 입력
+     * @return int 다음 상태
+     */
+    public int next(int state, byte b){
+        return transitions[(state << 8) | (b & 0xff)];
+    }
+
+    /**
+     * 상태에서 끝나는 패턴 index 목록
+     * @param state int 상태
+     * @return int [] 패턴 index 목록, 없으면 null
+     */
+    public int [] getOutputs(int state){
+        return outputs[state];
+    }
+
+    /**
+     * 패턴 수
+     * @return int
+     */
+    public int size(){
+        return patterns.length;
+    }
+
+    /**
+     * 패턴
+     * @param index int 패턴 index
+     * @return byte [] 패턴
+     */
+    public byte [] getPattern(int index){
+        return patterns[index];
+    }
+}
@@ -0,0 +1,306 @@
+package com.seomse.commons.utils.file;
+
+import com.seomse.commons.exception.IORuntimeException;
+import com.seomse.commons.service.Service;
+import com.seomse.commons.utils.ExceptionUtil;
+import com.seomse.commons.utils.FileUtil;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * 파일 이어쓰기
+ * 파일을 열어둔 상태로 버퍼에 모아서 기록 하므로 FileUtil.fileOutput(..., true) 를 반복 호출하는 것보다 빠름
+ * 버퍼가 가득 차거나 기록 주기(flushTime)가 되면 파일에 기록하고, sync 설정시 기록할 때 마다 디스크 동기화 (모아서 한번에)
+ * 여러 쓰레드에서 동시에 호출해도 됨
+ * 크기, 날짜 기준으로 파일을 교체(rotation) 할 수 있음 교체된 파일명: [파일명].yyyyMMdd (중복이면 .1 .2 ...)
+ * 설정은 처음 기록 전에 할 것, 사용 후 close 할 것
+ * @author macle
+ */
+@Slf4j
+public class FileAppender implements Closeable {
+
+    private final File file;
+    private final Charset charset;
+
+    private int bufferSize = 65536;
+    private long flushTime = 1000L;
+    private boolean isSync = false;
+    private long maxFileSize = -1L;
+    private boolean isDailyRotation = false;
+
+    private final Object lock = new Object();
+
+    private FileChannel channel = null;
+    private ByteBuffer buffer = null;
+    private long fileSize = 0L;
+
+    private LocalDate fileDate;
+    private long nextDayTime = Long.MAX_VALUE;
+
+    private FlushService flushService = null;
+
+    private boolean isClose = false;
+
+    public FileAppender(String filePath){
+        this(filePath, StandardCharsets.UTF_8);
+    }
+
+    public FileAppender(String filePath, Charset charset){
+        this.file = new File(filePath).getAbsoluteFile();
+        this.charset = charset;
+    }
+
+    /**
+     * 버퍼 크기 (기본 64KB)
+     * @param bufferSize int
+     */
+    public void setBufferSize(int bufferSize) {
+        this.bufferSize = bufferSize;
+    }
+
+    /**
+     * 버퍼에 남은 내용을 기록하는 주기 (기본 1초, 0 이하 이면 버퍼가 가득 차거나 flush 호출 시에만 기록)
+     * @param flushTime long milliseconds
+     */
+    public void setFlushTime(long flushTime) {
+        this.flushTime = flushTime;
+    }
+
+    /**
+     * 기록할 때 디스크 동기화 (fsync) 여부
+     * @param sync boolean
+     */
+    public void setSync(boolean sync) {
+        isSync = sync;
+    }
+
+    /**
+     * 파일 최대 크기 (넘으면 교체, 0 이하 이면 크기로 교체하지 않음)
+     * @param maxFileSize long byte
+     */
+    public void setMaxFileSize(long maxFileSize) {
+        this.maxFileSize = maxFileSize;
+    }
+
+    /**
+     * 날짜가 바뀌면 교체 여부
+     * @param dailyRotation boolean
+     */
+    public void setDailyRotation(boolean dailyRotation) {
+        isDailyRotation = dailyRotation;
+    }
+
+    public File getFile() {
+        return file;
+    }
+
+    /**
+     * 라인 추가 (줄바꿈 포함)
+     * @param line String
+     */
+    public void appendLine(String line){
+        append(line + "\n");
+    }
+
+    /**
+     * 내용 추가
+     * @param text String
+     */
+    public void append(String text){
+        append(text.getBytes(charset));
+    }
+
+    /**
+     * 내용 추가
+     * @param bytes byte []
+     */
+    public void append(byte [] bytes){
+        synchronized (lock){
+            if(isClose){
+                throw new IORuntimeException("appender closed: " + file.getAbsolutePath());
+            }
+
+            try {
+                if(channel == null){
+                    open();
+                }
+
+                if(isDailyRotation && System.currentTimeMillis() >= nextDayTime){
+                    rotate();
+                }
+
+                if(maxFileSize > 0 && fileSize > 0 && fileSize + buffer.position() + bytes.length > maxFileSize){
+                    rotate();
+                }
+
+                if(bytes.length > buffer.remaining()){
+                    writeBuffer();
+                }
+
+                if(bytes.length > buffer.capacity()){
+                    write(ByteBuffer.wrap(bytes));
+                }else{
+                    buffer.put(bytes);
+                }
+            }catch (IOException e){
+                throw new IORuntimeException(e);
+            }
+        }
+    }
+
+    /**
+     * 버퍼에 남은 내용 기록
+     */
+    public void flush(){
+        synchronized (lock){
+            if(channel == null){
+                return;
+            }
+
+            try{
+                writeBuffer();
+                if(isSync){
+                    channel.force(false);
+                }
+            }catch (IOException e){
+                throw new IORuntimeException(e);
+            }
+        }
+    }
+
+    private void open() throws IOException {
+        FileUtil.mkdirsParent(file);
+
+        if(isDailyRotation){
+            LocalDate today = LocalDate.now();
+            if(file.isFile() && file.length() > 0){
+                fileDate = Instant.ofEpochMilli(file.lastModified()).atZone(ZoneId.systemDefault()).toLocalDate();
+                if(fileDate.isBefore(today)){
+                    //이전 날짜에 기록된 파일
+                    FileUtil.move(file.getAbsolutePath(), makeRotateName(fileDate), false);
+                }
+            }
+            fileDate = today;
+            nextDayTime = today.plusDays(1).atStartOfDay(ZoneId.systemDefault()).toInstant().toEpochMilli();
+        }
+
+        channel = FileChannel.open(file.toPath(), StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        fileSize = channel.size();
+
+        if(buffer == null){
+            buffer = ByteBuffer.allocate(bufferSize);
+        }
+
+        if(flushService == null && flushTime > 0){
+            flushService = new FlushService();
+            flushService.setSleepTime(flushTime);
+            flushService.start();
+        }
+    }
+
+    private void rotate() throws IOException {
+        writeBuffer();
+        if(isSync){
+            channel.force(false);
+        }
+        channel.close();
+        channel = null;
+
+        LocalDate date = fileDate == null ? LocalDate.now() : fileDate;
+        if(!FileUtil.move(file.getAbsolutePath(), makeRotateName(date), false)){
+            throw new IORuntimeException("file rotate fail: " + file.getAbsolutePath());
+        }
+        open();
+    }
+
+    private String makeRotateName(LocalDate date){
+        String name = file.getAbsolutePath() + "." + date.format(DateTimeFormatter.BASIC_ISO_DATE);
+        if(!FileUtil.exists(name)){
+            return name;
+        }
+
+        int index = 1;
+        while (FileUtil.exists(name + "." + index)){
+            index++;
+        }
+        return name + "." + index;
+    }
+
+    private void writeBuffer() throws IOException {
+        if(buffer.position() == 0){
+            return;
+        }
+        buffer.flip();
+        write(buffer);
+        buffer.clear();
+    }
+
+    private void write(ByteBuffer byteBuffer) throws IOException {
+        while (byteBuffer.hasRemaining()){
+            fileSize += channel.write(byteBuffer);
+        }
+    }
+
+    @Override
+    public void close() {
+        synchronized (lock){
+            if(isClose){
+                return;
+            }
+            isClose = true;
+
+            if(flushService != null){
+                flushService.setState(Service.State.STOP);
+                flushService = null;
+            }
+
+            if(channel == null){
+                return;
+            }
+
+            try{
+                writeBuffer();
+                if(isSync){
+                    channel.force(false);
+                }
+            }catch (IOException e){
+                throw new IORuntimeException(e);
+            }finally {
+                try{channel.close();}catch (IOException ignore){}
+                channel = null;
+            }
+        }
+    }
+
+    /**
+     * 주기적 기록 서비스
+     */
+    private class FlushService extends Service {
+
+        FlushService(){
+            setState(State.START);
+            setDaemon(true);
+        }
+
+        @Override
+        public void work() {
+            try {
+                flush();
+            }catch (Exception e){
+                log.error(ExceptionUtil.getStackTrace(e));
+            }
+        }
+    }
+}
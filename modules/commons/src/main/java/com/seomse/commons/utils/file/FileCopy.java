@@ -0,0 +1,281 @@
+package com.seomse.commons.utils.file;
+
+import com.seomse.commons.exception.IORuntimeException;
+import com.seomse.commons.parallel.ParallelArrayJob;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.CRC32;
+
+/**
+ * 파일, 디렉토리 복사
+ * FileChannel.transferTo 를 사용하여 사용자 영역 버퍼를 거치지 않고 복사 (OS 가 지원하는 경우)
+ * 디렉토리는 하위 파일들을 동시에 복사 (쓰레드 수 만큼)
+ * 복사한 파일은 원본의 수정시간을 유지하므로 변경되지 않은 파일 건너뛰기(크기, 수정시간 비교)를 사용 할 수 있음
+ * 심볼릭 링크는 따라가서 대상의 내용을 복사함 (File.listFiles 로 탐색하던 기존 복사와 같음)
+ * 링크 대상이 이미 복사 중인 상위 디렉토리면 순환이므로 빈 디렉토리만 만들고 하위는 복사하지 않음
+ * 설정은 복사 전에 할 것
+ * @author macle
+ */
+public class FileCopy {
+
+    private static final int BUFFER_SIZE = 65536;
+
+    private int threadCount = ParallelArrayJob.getDefaultThreadCount();
+
+    private boolean isVerify = false;
+
+    private boolean isSkipUnchanged = false;
+
+    /**
+     * 동시에 복사할 쓰레드 수
+     * @param threadCount int
+     */
+    public void setThreadCount(int threadCount) {
+        this.threadCount = threadCount;
+    }
+
+    /**
+     * 복사 후 checksum(CRC32) 비교 여부
+     * 다르면 IORuntimeException 발생
+     * @param verify boolean
+     */
+    public void setVerify(boolean verify) {
+        isVerify = verify;
+    }
+
+    /**
+     * 대상 파일의 크기, 수정시간이 원본과 같으면 복사하지 않음
+     * @param skipUnchanged boolean
+     */
+    public void setSkipUnchanged(boolean skipUnchanged) {
+        isSkipUnchanged = skipUnchanged;
+    }
+
+    /**
+     * 복사
+     * 원본이 디렉토리면 대상 디렉토리에 하위 전체를 복사 (대상 디렉토리가 없으면 생성)
+     * @param source File 원본 파일 또는 디렉토리
+     * @param target File 대상 파일 또는 디렉토리
+     * @return int 복사한 파일 수 (건너뛴 파일 제외)
+     */
+    public int copy(File source, File target){
+        if(!source.exists()){
+            throw new IORuntimeException("file not found: " + source.getAbsolutePath());
+        }
+
+        Path sourcePath = source.getAbsoluteFile().toPath();
+        Path targetPath = target.getAbsoluteFile().toPath();
+
+        if(!source.isDirectory()){
+            try {
+                Path parent = targetPath.getParent();
+                if(parent != null){
+                    Files.createDirectories(parent);
+                }
+            }catch (IOException e){
+                throw new IORuntimeException(e);
+            }
+            return copy(sourcePath, targetPath, readAttributes(sourcePath)) ? 1 : 0;
+        }
+
+        //디렉토리는 먼저 만들고 파일은 모아서 동시에 복사
+        List<CopyTask> taskList = new ArrayList<>();
+        try {
+            Files.createDirectories(targetPath);
+        }catch (IOException e){
+            throw new IORuntimeException(e);
+        }
+
+        List<Path> ancestorList = new ArrayList<>();
+        ancestorList.add(toRealPath(sourcePath));
+        collect(sourcePath, targetPath, ancestorList, taskList);
+
+        if(taskList.isEmpty()){
+            return 0;
+        }
+
+        CopyTask [] tasks = taskList.toArray(new CopyTask[0]);
+        taskList.clear();
+
+        ParallelArrayJob<CopyTask> job = new ParallelArrayJob<>(tasks, task -> {
+            try{
+                task.isCopy = copy(task.source, task.target, task.attributes);
+            }catch (RuntimeException e){
+                task.exception = e;
+            }
+            task.isEnd = true;
+        });
+        job.setThreadCount(Math.max(1, Math.min(threadCount, tasks.length)));
+        job.runSync();
+
+        int count = 0;
+        for(CopyTask task : tasks){
+            if(task.exception != null){
+                throw task.exception;
+            }
+            if(!task.isEnd){
+                throw new IORuntimeException("file copy fail: " + task.source);
+            }
+            if(task.isCopy){
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * 디렉토리 하위 디렉토리 생성, 복사할 파일 수집
+     * FileWalker 는 심볼릭 링크 디렉토리 하위를 탐색하지 않으므로 순환을 확인한 후 링크 디렉토리를 다시 탐색함
+     * @param sourceDir Path 원본 디렉토리
+     * @param targetDir Path 대상 디렉토리
+     * @param ancestorList List 현재 탐색 경로의 실제 디렉토리 (탐색 시작 디렉토리, 따라간 링크의 위치와 대상)
+     * @param taskList List 복사할 파일
+     */
+    private void collect(Path sourceDir, Path targetDir, List<Path> ancestorList, List<CopyTask> taskList){
+        FileWalker walker = new FileWalker(sourceDir);
+        walker.setIncludeDir(true);
+        walker.walk((path, attributes) -> {
+            Path copyPath = targetDir.resolve(sourceDir.relativize(path).toString());
+            if(!attributes.isDirectory()){
+                taskList.add(new CopyTask(path, copyPath, attributes));
+                return;
+            }
+
+            try {
+                Files.createDirectories(copyPath);
+            }catch (IOException e){
+                throw new IORuntimeException(e);
+            }
+
+            if(!attributes.isSymbolicLink()){
+                return;
+            }
+
+            Path linkTarget = toRealPath(path);
+            Path linkParent = toRealPath(path.getParent());
+            if(linkParent.startsWith(linkTarget)){
+                return;
+            }
+            for(Path ancestor : ancestorList){
+                if(ancestor.startsWith(linkTarget)){
+                    return;
+                }
+            }
+
+            int size = ancestorList.size();
+            ancestorList.add(linkParent);
+            ancestorList.add(linkTarget);
+            collect(path, copyPath, ancestorList, taskList);
+            ancestorList.subList(size, ancestorList.size()).clear();
+        });
+    }
+
+    private static Path toRealPath(Path path){
+        try {
+            return path.toRealPath();
+        }catch (IOException e){
+            throw new IORuntimeException(e);
+        }
+    }
+
+    private boolean copy(Path source, Path target, BasicFileAttributes attributes){
+        try {
+            if(isSkipUnchanged && Files.isRegularFile(target)){
+                BasicFileAttributes targetAttributes = Files.readAttributes(target, BasicFileAttributes.class);
+                if(targetAttributes.size() == attributes.size()
+                        && targetAttributes.lastModifiedTime().toMillis() == attributes.lastModifiedTime().toMillis()){
+                    return false;
+                }
+            }
+
+            copyFile(source, target);
+            Files.setLastModifiedTime(target, attributes.lastModifiedTime());
+
+            if(isVerify && checksum(source) != checksum(target)){
+                throw new IORuntimeException("checksum mismatch: " + source + " -> " + target);
+            }
+            return true;
+        }catch (IOException e){
+            throw new IORuntimeException(e);
+        }
+    }
+
+    private static BasicFileAttributes readAttributes(Path path){
+        try {
+            return Files.readAttributes(path, BasicFileAttributes.class);
+        }catch (IOException e){
+            throw new IORuntimeException(e);
+        }
+    }
+
+    /**
+     * 파일 내용 복사 (대상 파일이 있으면 덮어씀)
+     * transferTo 는 한번에 요청한 크기를 모두 전송하지 않을 수 있으므로 (2GB 제한 등) 끝까지 반복
+     * @param source Path 원본 파일
+     * @param target Path 대상 파일
+     */
+    public static void copyFile(Path source, Path target){
+        try(FileChannel in = FileChannel.open(source, StandardOpenOption.READ);
+            FileChannel out = FileChannel.open(target, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)){
+            long size = in.size();
+            long position = 0;
+            while (position < size){
+                long count = in.transferTo(position, size - position, out);
+                if(count <= 0){
+                    //복사중 원본이 줄어든 경우
+                    if(position >= in.size()){
+                        break;
+                    }
+                    continue;
+                }
+                position += count;
+            }
+        }catch (IOException e){
+            throw new IORuntimeException(e);
+        }
+    }
+
+    /**
+     * 파일 CRC32 checksum
+     * @param path Path 파일
+     * @return long checksum
+     */
+    public static long checksum(Path path){
+        CRC32 crc32 = new CRC32();
+        ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+        try(FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)){
+            while (channel.read(buffer) != -1){
+                buffer.flip();
+                crc32.update(buffer);
+                buffer.clear();
+            }
+        }catch (IOException e){
+            throw new IORuntimeException(e);
+        }
+        return crc32.getValue();
+    }
+
+    private static class CopyTask {
+        final Path source;
+        final Path target;
+        final BasicFileAttributes attributes;
+        boolean isCopy = false;
+        RuntimeException exception = null;
+        boolean isEnd = false;
+
+        CopyTask(Path source, Path target, BasicFileAttributes attributes){
+            this.source = source;
+            this.target = target;
+            this.attributes = attributes;
+        }
+    }
+}
@@ -0,0 +1,186 @@
+package com.seomse.commons.utils.file;
+
+import com.seomse.commons.exception.IORuntimeException;
+import com.seomse.commons.validation.TextValidation;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * 파일 라인 순차 읽기
+ * 파일 전체를 메모리에 올리지 않고 한 라인씩 읽음
+ * 여러 파일을 순서대로 이어서 읽을 수 있음 (rolling 된 로그 파일 등)
+ * 조건(validation), 건너뛰기(skip), 최대 건수(limit) 는 읽기 전에 설정 할 것
+ * skip, limit 은 조건에 맞는 라인 기준
+ * 사용 후 close 할 것 (끝까지 읽으면 자동으로 close 됨)
+ * @author macle
+ */
+public class FileLineIterator implements Iterator<String>, Closeable {
+
+    private static final int BUFFER_SIZE = 65536;
+
+    private final File [] files;
+    private final Charset charset;
+
+    private TextValidation validation = null;
+    private long skip = 0;
+    private long limit = -1;
+
+    private int fileIndex = 0;
+    private BufferedReader reader = null;
+
+    private String nextLine = null;
+    private long count = 0;
+    private boolean isEnd = false;
+
+    public FileLineIterator(File file){
+        this(new File[]{file}, StandardCharsets.UTF_8);
+    }
+
+    public FileLineIterator(File file, Charset charset){
+        this(new File[]{file}, charset);
+    }
+
+    /**
+     * 생성자
+     * @param files File [] 읽을 순서대로 정렬된 파일 배열
+     * @param charset Charset
+     */
+    public FileLineIterator(File [] files, Charset charset){
+        this.files = files;
+        if(charset == null){
+            charset = StandardCharsets.UTF_8;
+        }
+        this.charset = charset;
+    }
+
+    /**
+     * 라인 조건 설정
+     * @param validation TextValidation
+     */
+    public void setValidation(TextValidation validation) {
+        this.validation = validation;
+    }
+
+    /**
+     * 조건에 맞는 라인 중 앞에서 부터 건너뛸 라인 수
+     * @param skip long
+     */
+    public void setSkip(long skip) {
+        this.skip = skip;
+    }
+
+    /**
+     * 최대 라인 수 (1 미만이면 제한 없음)
+     * 최대 라인 수 만큼 읽으면 남은 내용은 읽지 않음
+     * @param limit long
+     */
+    public void setLimit(long limit) {
+        this.limit = limit;
+    }
+
+    @Override
+    public boolean hasNext() {
+        if(nextLine != null){
+            return true;
+        }
+        if(isEnd){
+            return false;
+        }
+
+        if(limit > 0 && count >= limit){
+            close();
+            return false;
+        }
+
+        try {
+            for (; ; ) {
+                String line = readLine();
+                if (line == null) {
+                    close();
+                    return false;
+                }
+
+                if (validation != null && !validation.isValid(line)) {
+                    continue;
+                }
+
+                if (skip > 0) {
+                    skip--;
+                    continue;
+                }
+
+                nextLine = line;
+                count++;
+                return true;
+            }
+        }catch (IOException e){
+            close();
+            throw new IORuntimeException(e);
+        }
+    }
+
+    private String readLine() throws IOException {
+        for(;;){
+            if(reader == null){
+                if(fileIndex >= files.length){
+                    return null;
+                }
+                File file = files[fileIndex++];
+                reader = new BufferedReader(new InputStreamReader(Files.newInputStream(file.toPath()), charset), BUFFER_SIZE);
+            }
+
+            String line = reader.readLine();
+            if(line != null){
+                return line;
+            }
+            reader.close();
+            reader = null;
+        }
+    }
+
+    @Override
+    public String next() {
+        if(!hasNext()){
+            throw new NoSuchElementException();
+        }
+        String line = nextLine;
+        nextLine = null;
+        return line;
+    }
+
+    /**
+     * Stream 으로 변환
+     * Stream 을 close 하면 파일도 close 됨 (try-with-resources 사용 권장)
+     * @return Stream
+     */
+    public Stream<String> stream(){
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(this, Spliterator.ORDERED | Spliterator.NONNULL), false).onClose(this::close);
+    }
+
+    @Override
+    public void close() {
+        isEnd = true;
+        if(reader != null){
+            try{
+                reader.close();
+            }catch (IOException e){
+                throw new IORuntimeException(e);
+            }finally {
+                reader = null;
+            }
+        }
+    }
+}
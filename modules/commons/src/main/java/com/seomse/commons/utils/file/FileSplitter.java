@@ -0,0 +1,319 @@
+package com.seomse.commons.utils.file;
+
+import com.seomse.commons.exception.IORuntimeException;
+import com.seomse.commons.parallel.ParallelArrayJob;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * 파일 나누기
+ * 라인 수, 크기 또는 둘다를 기준으로 라인 단위로 나눔 (둘다 설정하면 먼저 도달한 기준으로 나눔)
+ * 문자 변환 없이 byte 단위로 나눌 위치를 찾고 FileChannel.transferTo 로 구간을 복사 하므로 원본 내용(줄바꿈 포함)이 그대로 유지됨
+ * 나누는 위치를 먼저 찾은 후 구간 파일들을 동시에 기록 (쓰레드 수 만큼)
+ * 크기만 설정하면 구간 끝 근처만 읽어서 나눌 위치를 찾음
+ * 한 라인이 최대 크기보다 크면 그 라인만 하나의 파일이 됨
+ * 줄바꿈이 1byte '\n' 으로 표현되는 케릭터셋 (utf-8, euc-kr, ms949, ascii 등) 만 지원
+ * 파일명은 FileUtil.splitLine 과 같이 확장자없는 숫자 (1부터)
+ * @author macle
+ */
+public class FileSplitter {
+
+    private static final int BUFFER_SIZE = 1024 * 1024;
+
+    private long lineCount = -1L;
+
+    private long maxSize = -1L;
+
+    private int threadCount = ParallelArrayJob.getDefaultThreadCount();
+
+    /**
+     * 파일 당 최대 라인 수 (1 미만 이면 사용하지 않음)
+     * @param lineCount long
+     */
+    public void setLineCount(long lineCount) {
+        this.lineCount = lineCount;
+    }
+
+    /**
+     * 파일 당 최대 크기 byte (1 미만 이면 사용하지 않음)
+     * @param maxSize long
+     */
+    public void setMaxSize(long maxSize) {
+        this.maxSize = maxSize;
+    }
+
+    /**
+     * 동시에 기록할 쓰레드 수
+     * @param threadCount int
+     */
+    public void setThreadCount(int threadCount) {
+        this.threadCount = threadCount;
+    }
+
+    /**
+     * 파일 나누기
+     * 생긴 숫자형 파일이 덮어쓰일 수 있으므로 숫자이름의 파일이 없는 폴더로 실행할 것
+     * @param file File 나눌 파일
+     * @param outDir File 나눈 파일을 기록할 디렉토리 (없으면 생성)
+     * @return File [] 나눈 파일 (순서대로)
+     */
+    public File [] split(File file, File outDir){
+        long [] positions = getSplitPositions(file);
+        int partCount = positions.length - 1;
+
+        File [] files = new File[partCount];
+        if(partCount == 0){
+            return files;
+        }
+
+        try {
+            Files.createDirectories(outDir.toPath());
+        }catch (IOException e){
+            throw new IORuntimeException(e);
+        }
+
+        PartTask [] tasks = new PartTask[partCount];
+        for (int i = 0; i < partCount ; i++) {
+            files[i] = new File(outDir, Integer.toString(i + 1));
+            tasks[i] = new PartTask(files[i], positions[i], positions[i + 1]);
+        }
+
+        try(FileChannel in = FileChannel.open(file.toPath(), StandardOpenOption.READ)){
+            //위치를 지정한 transferTo 는 channel 의 위치를 변경하지 않으므로 같이 사용
+            ParallelArrayJob<PartTask> job = new ParallelArrayJob<>(tasks, task -> {
+                try{
+                    write(in, task);
+                }catch (RuntimeException e){
+                    task.exception = e;
+                }
+                task.isEnd = true;
+            });
+            job.setThreadCount(Math.max(1, Math.min(threadCount, tasks.length)));
+            job.runSync();
+        }catch (IOException e){
+            throw new IORuntimeException(e);
+        }
+
+        for(PartTask task : tasks){
+            if(task.exception != null){
+                throw task.exception;
+            }
+            if(!task.isEnd){
+                throw new IORuntimeException("file split fail: " + task.file.getAbsolutePath());
+            }
+        }
+
+        return files;
+    }
+
+    private static void write(FileChannel in, PartTask task){
+        try(FileChannel out = FileChannel.open(task.file.toPath(), StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)){
+            long position = task.begin;
+            while (position < task.end){
+                long count = in.transferTo(position, task.end - position, out);
+                if(count <= 0){
+                    throw new IORuntimeException("file changed while splitting: " + task.file.getAbsolutePath());
+                }
+                position += count;
+            }
+        }catch (IOException e){
+            throw new IORuntimeException(e);
+        }
+    }
+
+    /**
+     * 나눌 위치 얻기
+     * @param file File
+     * @return long [] 구간 시작 위치들과 파일 크기 (구간 i 는 [positions[i], positions[i+1]) )
+     */
+    public long [] getSplitPositions(File file){
+        if(lineCount < 1 && maxSize < 1){
+            throw new IllegalArgumentException("line count or max size must be set");
+        }
+
+        try(FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)){
+            long size = channel.size();
+            if(size == 0){
+                return new long[]{0};
+            }
+
+            if(lineCount < 1){
+                return getSizePositions(channel, size);
+            }
+            return getLinePositions(channel, size);
+        }catch (IOException e){
+            throw new IORuntimeException(e);
+        }
+    }
+
+    /**
+     * 라인 수 (와 크기) 기준 위치
+     * 전체를 순서대로 읽으면서 줄바꿈을 셈
+     */
+    private long [] getLinePositions(FileChannel channel, long size) throws IOException {
+        LongArray positions = new LongArray();
+        positions.add(0);
+
+        long partBegin = 0;
+        long lastLineEnd = 0;
+        long lines = 0;
+
+        ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+        byte [] array = buffer.array();
+        long position = 0;
+        while (position < size){
+            buffer.clear();
+            int length = channel.read(buffer, position);
+            if(length <= 0){
+                break;
+            }
+
+            for (int i = 0; i < length ; i++) {
+                if(array[i] != '\n'){
+                    continue;
+                }
+
+                long lineEnd = position + i + 1;
+                if(maxSize > 0 && lineEnd - partBegin > maxSize && lastLineEnd > partBegin){
+                    //이번 라인을 포함하면 최대 크기를 넘음
+                    positions.add(lastLineEnd);
+                    partBegin = lastLineEnd;
+                    lines = 0;
+                }
+
+                lines++;
+                lastLineEnd = lineEnd;
+
+                if(lines >= lineCount){
+                    if(lineEnd < size){
+                        positions.add(lineEnd);
+                    }
+                    partBegin = lineEnd;
+                    lines = 0;
+                }
+            }
+            position += length;
+        }
+
+        if(lastLineEnd < size && maxSize > 0 && size - partBegin > maxSize && lastLineEnd > partBegin){
+            //줄바꿈 없이 끝나는 마지막 라인을 포함하면 최대 크기를 넘음
+            positions.add(lastLineEnd);
+        }
+        positions.add(size);
+        return positions.toArray();
+    }
+
+    /**
+     * 크기 기준 위치
+     * 구간 끝에서 앞쪽으로 줄바꿈을 찾고, 없으면 (최대 크기 보다 긴 라인) 뒤쪽으로 찾음
+     */
+    private long [] getSizePositions(FileChannel channel, long size) throws IOException {
+        LongArray positions = new LongArray();
+        positions.add(0);
+
+        ByteBuffer buffer = ByteBuffer.allocate((int)Math.min(BUFFER_SIZE, maxSize));
+        long begin = 0;
+        while (size - begin > maxSize){
+            long limit = begin + maxSize;
+            long end = findLastLineEnd(channel, buffer, begin, limit);
+            if(end == -1){
+                end = findNextLineEnd(channel, buffer, limit, size);
+            }
+            if(end >= size){
+                break;
+            }
+            positions.add(end);
+            begin = end;
+        }
+        positions.add(size);
+        return positions.toArray();
+    }
+
+    /**
+     * [begin, limit) 에서 마지막 줄바꿈의 다음 위치
+     * @return long 없으면 -1
+     */
+    private static long findLastLineEnd(FileChannel channel, ByteBuffer buffer, long begin, long limit) throws IOException {
+        byte [] array = buffer.array();
+        long end = limit;
+        while (end > begin){
+            long start = Math.max(begin, end - array.length);
+            int length = read(channel, buffer, start, (int)(end - start));
+            for (int i = length - 1; i >= 0 ; i--) {
+                if(array[i] == '\n'){
+                    return start + i + 1;
+                }
+            }
+            end = start;
+        }
+        return -1;
+    }
+
+    /**
+     * position 부터 처음 나오는 줄바꿈의 다음 위치
+     * @return long 없으면 파일 크기
+     */
+    private static long findNextLineEnd(FileChannel channel, ByteBuffer buffer, long position, long size) throws IOException {
+        byte [] array = buffer.array();
+        while (position < size){
+            int length = read(channel, buffer, position, (int)Math.min(array.length, size - position));
+            for (int i = 0; i < length ; i++) {
+                if(array[i] == '\n'){
+                    return position + i + 1;
+                }
+            }
+            position += length;
+        }
+        return size;
+    }
+
+    private static int read(FileChannel channel, ByteBuffer buffer, long position, int length) throws IOException {
+        buffer.clear();
+        buffer.limit(length);
+        while (buffer.hasRemaining()){
+            if(channel.read(buffer, position + buffer.position()) < 0){
+                break;
+            }
+        }
+        return buffer.position();
+    }
+
+    /**
+     * 위치 목록
+     */
+    private static class LongArray {
+        long [] array = new long[16];
+        int size = 0;
+
+        void add(long value){
+            if(size == array.length){
+                array = Arrays.copyOf(array, size * 2);
+            }
+            array[size++] = value;
+        }
+
+        long [] toArray(){
+            return Arrays.copyOf(array, size);
+        }
+    }
+
+    private static class PartTask {
+        final File file;
+        final long begin;
+        final long end;
+        RuntimeException exception = null;
+        boolean isEnd = false;
+
+        PartTask(File file, long begin, long end){
+            this.file = file;
+            this.begin = begin;
+            this.end = end;
+        }
+    }
+}
@@ -0,0 +1,372 @@
+package com.seomse.commons.utils.file;
+
+import com.seomse.commons.callback.StrCallback;
+import com.seomse.commons.exception.IORuntimeException;
+import com.seomse.commons.service.Service;
+import com.seomse.commons.utils.ExceptionUtil;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 파일 추적 읽기 (tail -F)
+ * 파일에 새로 추가되는 라인을 callback 으로 전달
+ * 마지막으로 읽은 위치를 기억하고 추가된 부분만 읽으므로 파일 크기와 상관없이 빠름
+ * 파일이 교체(rotation) 되면 기존 파일을 끝까지 읽은 후 새 파일을 처음부터 읽고, 파일이 잘리면(truncate) 처음부터 다시 읽음
+ * 변경이 없으면 대기시간을 최대 대기시간 까지 늘려가며 확인하고, WatchService 이벤트가 오면 바로 확인함
+ * getOffset 으로 얻은 위치를 저장해 두었다가 setOffset 으로 설정하면 이어서 읽을 수 있음
+ * 줄바꿈이 1byte '\n' 으로 표현되는 케릭터셋 (utf-8, euc-kr, ms949, ascii 등) 만 지원
+ * callback 은 추적 쓰레드에서 순서대로 호출되므로 callback 에서 예외를 처리할 것
+ * @author macle
+ */
+@Slf4j
+public class FileTailer extends Service implements Closeable {
+
+    private static final int BUFFER_SIZE = 65536;
+
+    private final File file;
+    private final Path path;
+    private final Charset charset;
+    private final StrCallback callback;
+
+    private long minWaitTime = 100L;
+    private long maxWaitTime = 2000L;
+
+    private final Object lock = new Object();
+
+    //처음 읽을 위치 -1 이면 파일의 끝 부터
+    private long startOffset = -1L;
+
+    private FileChannel channel = null;
+    private Object fileKey = null;
+
+    //파일에서 읽은 위치
+    private long position = 0L;
+
+    //callback 까지 완료된 라인의 다음 위치
+    private volatile long offset = 0L;
+
+    //파일을 열어 offset 이 유효한지 여부
+    private boolean isOpened = false;
+
+    private final ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+
+    //아직 줄바꿈이 나오지 않은 라인
+    private byte [] lineBytes = new byte[256];
+    private int lineLength = 0;
+
+    private WatchService watchService = null;
+
+    private long waitTime;
+
+    private boolean isClose = false;
+
+    /**
+     * 생성자
+     * @param file File 추적할 파일 (없으면 생성될 때 까지 대기)
+     * @param charset Charset
+     * @param callback StrCallback 라인 (줄바꿈 제외) 전달
+     */
+    public FileTailer(File file, Charset charset, StrCallback callback){
+        if(!ReverseLineReader.isSupported(charset)){
+            throw new IllegalArgumentException("unsupported charset: " + charset.name());
+        }
+        this.file = file.getAbsoluteFile();
+        this.path = this.file.toPath();
+        this.charset = charset;
+        this.callback = callback;
+        setState(State.START);
+        setDaemon(true);
+    }
+
+    /**
+     * 처음 읽을 위치 설정 (기본은 파일의 끝)
+     * 0 이면 처음 부터, 파일 크기 보다 크면 파일이 잘린 것으로 보고 처음 부터 읽음
+     * @param offset long byte 위치
+     */
+    public void setOffset(long offset) {
+        this.startOffset = offset;
+    }
+
+    /**
+     * callback 까지 완료된 위치 (재시작 할 때 setOffset 으로 사용)
+     * 파일이 교체된 이후에는 새 파일의 위치
+     * @return long byte 위치
+     */
+    public long getOffset() {
+        return offset;
+    }
+
+    /**
+     * 변경이 없을때 대기시간 설정
+     * 변경이 없으면 최소 대기시간 부터 최대 대기시간 까지 2배씩 늘림
+     * @param minWaitTime long milliseconds
+     * @param maxWaitTime long milliseconds
+     */
+    public void setWaitTime(long minWaitTime, long maxWaitTime) {
+        this.minWaitTime = minWaitTime;
+        this.maxWaitTime = Math.max(minWaitTime, maxWaitTime);
+    }
+
+    public File getFile() {
+        return file;
+    }
+
+    @Override
+    public synchronized void start() {
+        waitTime = minWaitTime;
+        Path dirPath = path.getParent();
+        if(dirPath != null){
+            try {
+                watchService = FileSystems.getDefault().newWatchService();
+                dirPath.register(watchService, StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY);
+            }catch (IOException | UnsupportedOperationException e){
+                log.debug("watch service unavailable, polling only: " + file.getAbsolutePath());
+                closeWatchService();
+            }
+        }
+        super.start();
+    }
+
+    @Override
+    public void work() {
+        try {
+            if(poll() > 0){
+                waitTime = minWaitTime;
+                return;
+            }
+            waitChange(waitTime);
+            waitTime = Math.min(waitTime * 2, maxWaitTime);
+        }catch (ClosedWatchServiceException ignore){
+            //close
+        }catch (InterruptedException e){
+            setState(State.STOP);
+        }catch (Exception e){
+            log.error(ExceptionUtil.getStackTrace(e));
+            try {
+                //noinspection BusyWait
+                Thread.sleep(maxWaitTime);
+            } catch (InterruptedException ie) {
+                setState(State.STOP);
+            }
+        }
+    }
+
+    private void waitChange(long time) throws InterruptedException {
+        WatchService watchService = this.watchService;
+        if(watchService == null){
+            Thread.sleep(time);
+            return;
+        }
+
+        WatchKey key = watchService.poll(time, TimeUnit.MILLISECONDS);
+        if(key != null){
+            key.pollEvents();
+            key.reset();
+        }
+    }
+
+    /**
+     * 추가된 라인 읽기
+     * 쓰레드로 실행(start) 하지 않고 직접 호출하여 사용 할 수 있음
+     * @return int callback 한 라인 수
+     */
+    public int poll(){
+        synchronized (lock){
+            if(isClose){
+                return 0;
+            }
+
+            try {
+                if(channel == null && !open()){
+                    return 0;
+                }
+
+                int count = read();
+                if(count > 0){
+                    return count;
+                }
+
+                long size = channel.size();
+                if(size < position){
+                    //파일이 잘림
+                    position = 0L;
+                    offset = 0L;
+                    lineLength = 0;
+                    return read();
+                }
+
+                if(isRotated()){
+                    //기존 파일은 더 이상 기록되지 않으므로 남은 내용 전달
+                    if(lineLength > 0){
+                        callbackLine(lineBytes, 0, lineLength);
+                        lineLength = 0;
+                        count++;
+                    }
+                    closeChannel();
+                    startOffset = 0L;
+                    if(open()){
+                        count += read();
+                    }
+                }
+                return count;
+            }catch (IOException e){
+                closeChannel();
+                //다시 열때 마지막으로 전달한 라인 다음 부터 읽음
+                keepOffset();
+                throw new IORuntimeException(e);
+            }
+        }
+    }
+
+    private boolean open() throws IOException {
+        BasicFileAttributes attributes;
+        try {
+            channel = FileChannel.open(path, StandardOpenOption.READ);
+            attributes = Files.readAttributes(path, BasicFileAttributes.class);
+        }catch (NoSuchFileException e){
+            closeChannel();
+            //나중에 생성되는 파일은 처음 부터 읽음
+            startOffset = 0L;
+            return false;
+        }
+
+        fileKey = attributes.fileKey();
+        long size = channel.size();
+        if(startOffset < 0){
+            position = size;
+        }else if(startOffset > size){
+            position = 0L;
+        }else{
+            position = startOffset;
+        }
+        offset = position;
+        lineLength = 0;
+        isOpened = true;
+        return true;
+    }
+
+    private boolean isRotated() throws IOException {
+        BasicFileAttributes attributes;
+        try {
+            attributes = Files.readAttributes(path, BasicFileAttributes.class);
+        }catch (NoSuchFileException e){
+            //새 파일이 아직 생성되지 않음
+            return false;
+        }
+
+        Object key = attributes.fileKey();
+        if(key != null && fileKey != null){
+            return !key.equals(fileKey);
+        }
+
+        //fileKey 를 지원하지 않는 환경
+        return attributes.size() < position;
+    }
+
+    private int read() throws IOException {
+        int count = 0;
+        byte [] array = buffer.array();
+        for(;;){
+            buffer.clear();
+            int length = channel.read(buffer, position);
+            if(length <= 0){
+                return count;
+            }
+
+            int lineStart = 0;
+            for (int i = 0; i < length ; i++) {
+                if(array[i] != '\n'){
+                    continue;
+                }
+
+                if(lineLength == 0){
+                    callbackLine(array, lineStart, i - lineStart);
+                }else{
+                    appendLineBytes(array, lineStart, i - lineStart);
+                    callbackLine(lineBytes, 0, lineLength);
+                    lineLength = 0;
+                }
+                count++;
+                lineStart = i + 1;
+                offset = position + lineStart;
+            }
+
+            if(lineStart < length){
+                appendLineBytes(array, lineStart, length - lineStart);
+            }
+            position += length;
+        }
+    }
+
+    private void appendLineBytes(byte [] array, int begin, int length){
+        if(lineLength + length > lineBytes.length){
+            lineBytes = Arrays.copyOf(lineBytes, Math.max(lineBytes.length * 2, lineLength + length));
+        }
+        System.arraycopy(array, begin, lineBytes, lineLength, length);
+        lineLength += length;
+    }
+
+    private void callbackLine(byte [] array, int begin, int length){
+        if(length > 0 && array[begin + length - 1] == '\r'){
+            length--;
+        }
+        callback.callback(new String(array, begin, length, charset));
+    }
+
+    /**
+     * 다시 열때 callback 까지 완료된 위치 부터 읽도록 설정
+     * 파일을 연 적이 없으면 설정한 처음 위치를 유지
+     */
+    private void keepOffset(){
+        if(isOpened){
+            startOffset = offset;
+        }
+    }
+
+    private void closeChannel(){
+        if(channel != null){
+            try{
+                channel.close();
+            }catch (IOException ignore){}
+            channel = null;
+        }
+    }
+
+    private void closeWatchService(){
+        if(watchService != null){
+            try{
+                watchService.close();
+            }catch (IOException ignore){}
+            watchService = null;
+        }
+    }
+
+    @Override
+    public void close() {
+        setState(State.STOP);
+        closeWatchService();
+        synchronized (lock){
+            isClose = true;
+            closeChannel();
+            keepOffset();
+        }
+    }
+}
@@ -0,0 +1,288 @@
+package com.seomse.commons.utils.file;
+
+import com.seomse.commons.exception.IORuntimeException;
+import com.seomse.commons.utils.FileUtil;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * 파일 내용 변환 (케릭터셋 변경, 문자열 치환)
+ * 파일 전체를 메모리에 올리지 않고 구간 단위로 읽으면서 변환 하므로 파일 크기와 상관없이 일정한 메모리만 사용
+ * 구간 경계에 걸친 문자열도 치환 됨
+ * 같은 디렉토리의 임시파일에 기록한 후 이름 변경으로 교체 하므로 변환 도중 장애가 발생해도 기존 파일이 깨지지 않음
+ * FileUtil.charSetChange, fileContentsChange 와 다르게 줄바꿈 문자를 변경하지 않음
+ * @author macle
+ */
+public class FileTransform {
+
+    //한번에 읽는 문자 수
+    private static final int BUFFER_SIZE = 65536;
+
+    //정규식 일치 판단에 사용하는 앞 문맥 크기 (lookbehind, \b, ^ 등)
+    private static final int CONTEXT_SIZE = 256;
+
+    /**
+     * 정규식 치환에서 구간 경계에 걸친 일치를 찾기위해 유지하는 문자 수 (일치 문자열 최대 길이)
+     */
+    public static final int DEFAULT_REGEX_WINDOW = 8192;
+
+    /**
+     * 케릭터셋 변경
+     * @param file File 파일
+     * @param charset Charset 변경전 케릭터셋
+     * @param newCharset Charset 변경할 케릭터셋
+     */
+    public static void transcode(File file, Charset charset, Charset newCharset){
+        transform(file, charset, file, newCharset, null);
+    }
+
+    /**
+     * 케릭터셋을 변경하여 다른 파일로 기록
+     * @param source File 원본 파일
+     * @param charset Charset 원본 케릭터셋
+     * @param target File 대상 파일
+     * @param newCharset Charset 대상 케릭터셋
+     */
+    public static void transcode(File source, Charset charset, File target, Charset newCharset){
+        transform(source, charset, target, newCharset, null);
+    }
+
+    /**
+     * 문자열 치환
+     * 치환된 문자열이 없으면 파일을 변경하지 않음
+     * @param file File 파일
+     * @param charset Charset 케릭터셋
+     * @param value String 찾을 문자열
+     * @param newValue String 바꿀 문자열
+     * @return long 치환 건수
+     */
+    public static long replace(File file, Charset charset, String value, String newValue){
+        if(value.isEmpty()){
+            throw new IllegalArgumentException("value empty");
+        }
+        return transform(file, charset, file, charset, new LiteralReplacer(value, newValue));
+    }
+
+    /**
+     * 정규식 치환
+     * 치환된 문자열이 없으면 파일을 변경하지 않음
+     * @param file File 파일
+     * @param charset Charset 케릭터셋
+     * @param regex String 정규식 (일치 문자열 최대 길이 DEFAULT_REGEX_WINDOW)
+     * @param replacement String 바꿀 문자열 ($1 등 그룹 참조 가능, String.replaceAll 과 같음)
+     * @return long 치환 건수
+     */
+    public static long replaceRegex(File file, Charset charset, String regex, String replacement){
+        return replaceRegex(file, charset, file, charset, Pattern.compile(regex), replacement, DEFAULT_REGEX_WINDOW);
+    }
+
+    /**
+     * 정규식 치환
+     * 원본과 대상이 같은 파일이고 케릭터셋이 같을때 치환된 문자열이 없으면 파일을 변경하지 않음
+     * @param source File 원본 파일
+     * @param charset Charset 원본 케릭터셋
+     * @param target File 대상 파일
+     * @param newCharset Charset 대상 케릭터셋
+     * @param pattern Pattern 정규식
+     * @param replacement String 바꿀 문자열 ($1 등 그룹 참조 가능)
+     * @param window int 일치 문자열 최대 길이 (구간 경계에서 이보다 긴 일치는 찾지 못하거나 나누어 치환 될 수 있음, 다음 구간으로 넘기는 문자 수의 상한)
+     * @return long 치환 건수
+     */
+    public static long replaceRegex(File source, Charset charset, File target, Charset newCharset, Pattern pattern, String replacement, int window){
+        return transform(source, charset, target, newCharset, new RegexReplacer(pattern, replacement, window));
+    }
+
+    private static long transform(File source, Charset charset, File target, Charset newCharset, Replacer replacer){
+        File targetFile = target.getAbsoluteFile();
+        FileUtil.mkdirsParent(targetFile);
+
+        boolean isSameFile = source.getAbsoluteFile().equals(targetFile);
+
+        Path tempPath = null;
+        try{
+            tempPath = Files.createTempFile(targetFile.getParentFile().toPath(), targetFile.getName(), ".tmp");
+
+            long count = 0;
+            try(Reader reader = new InputStreamReader(Files.newInputStream(source.toPath()), charset);
+                FileOutputStream outputStream = new FileOutputStream(tempPath.toFile());
+                Writer writer = new BufferedWriter(new OutputStreamWriter(outputStream, newCharset), BUFFER_SIZE)){
+
+                char [] chars = new char[BUFFER_SIZE];
+                if(replacer == null){
+                    int length;
+                    while ((length = reader.read(chars)) != -1){
+                        writer.write(chars, 0, length);
+                    }
+                }else{
+                    StringBuilder sb = new StringBuilder(BUFFER_SIZE * 2);
+                    int length;
+                    while ((length = reader.read(chars)) != -1){
+                        sb.append(chars, 0, length);
+                        replacer.process(sb, false, writer, chars);
+                    }
+                    replacer.process(sb, true, writer, chars);
+                    count = replacer.count;
+                }
+
+                writer.flush();
+                outputStream.getFD().sync();
+            }
+
+            if(replacer != null && count == 0 && isSameFile && charset.equals(newCharset)){
+                //변경된 내용 없음
+                return 0;
+            }
+
+            FileUtil.replaceAtomic(tempPath, targetFile.toPath());
+            tempPath = null;
+            return count;
+        }catch(IOException e){
+            throw new IORuntimeException(e);
+        }finally {
+            if(tempPath != null){
+                try{Files.deleteIfExists(tempPath);}catch (Exception ignore){}
+            }
+        }
+    }
+
+    /**
+     * 버퍼 내용 기록
+     * Writer.append(CharSequence) 는 부분 문자열을 새로 만들기 때문에 char 배열로 복사하여 기록
+     */
+    private static void write(Writer writer, StringBuilder sb, int begin, int end, char [] chars) throws IOException {
+        while (begin < end){
+            int length = Math.min(end - begin, chars.length);
+            sb.getChars(begin, begin + length, chars, 0);
+            writer.write(chars, 0, length);
+            begin += length;
+        }
+    }
+
+    /**
+     * 구간 단위 치환
+     */
+    private abstract static class Replacer {
+        long count = 0;
+
+        /**
+         * 버퍼에서 확정된 부분을 치환하여 기록하고 버퍼에서 제거
+         * @param sb StringBuilder 읽은 내용
+         * @param isEnd boolean 파일 끝 여부
+         * @param writer Writer
+         * @param chars char [] 기록용 임시 배열
+         */
+        abstract void process(StringBuilder sb, boolean isEnd, Writer writer, char [] chars) throws IOException;
+    }
+
+    /**
+     * 문자열 치환
+     * 버퍼 끝의 (찾을 문자열 길이 - 1) 만큼은 다음 구간과 이어질 수 있으므로 남겨둠
+     */
+    private static class LiteralReplacer extends Replacer {
+        private final String value;
+        private final String newValue;
+
+        LiteralReplacer(String value, String newValue){
+            this.value = value;
+            this.newValue = newValue;
+        }
+
+        @Override
+        void process(StringBuilder sb, boolean isEnd, Writer writer, char [] chars) throws IOException {
+            int from = 0;
+            int index;
+            while ((index = sb.indexOf(value, from)) != -1){
+                write(writer, sb, from, index, chars);
+                writer.write(newValue);
+                count++;
+                from = index + value.length();
+            }
+
+            int keep = isEnd ? sb.length() : Math.max(from, sb.length() - value.length() + 1);
+            write(writer, sb, from, keep, chars);
+            sb.delete(0, keep);
+        }
+    }
+
+    /**
+     * 정규식 치환
+     * 버퍼 앞에 이미 기록한 문맥을 남겨두고 region 으로 나머지에서만 찾음 (transparent bounds)
+     * 더 읽으면 결과가 달라질 수 있는 일치(hitEnd) 와 버퍼 끝의 window 만큼은 다음 구간과 이어서 처리
+     * hitEnd 일치가 window 보다 길어지면 더 기다리지 않고 현재 일치로 치환 (.* 등이 파일 전체를 버퍼에 올리지 않도록)
+     */
+    private static class RegexReplacer extends Replacer {
+        private final Pattern pattern;
+        private final String replacement;
+        private final boolean isGroupReplacement;
+        private final int window;
+
+        //버퍼 앞의 이미 기록한 문맥 길이
+        private int context = 0;
+
+        private final StringBuffer replaceBuffer = new StringBuffer();
+
+        RegexReplacer(Pattern pattern, String replacement, int window){
+            this.pattern = pattern;
+            this.replacement = replacement;
+            this.isGroupReplacement = replacement.indexOf('$') != -1 || replacement.indexOf('\\') != -1;
+            this.window = window;
+        }
+
+        @Override
+        void process(StringBuilder sb, boolean isEnd, Writer writer, char [] chars) throws IOException {
+            int length = sb.length();
+
+            Matcher matcher = pattern.matcher(sb);
+            matcher.useTransparentBounds(true);
+            matcher.useAnchoringBounds(false);
+            matcher.region(context, length);
+
+            int from = context;
+            int keep;
+            int appendPosition = 0;
+            for(;;){
+                if(!matcher.find()){
+                    keep = isEnd ? length : Math.max(from, length - window);
+                    break;
+                }
+
+                if(!isEnd && matcher.hitEnd() && length - matcher.start() <= window){
+                    //더 읽으면 일치 결과가 달라질 수 있음
+                    keep = matcher.start();
+                    break;
+                }
+
+                write(writer, sb, from, matcher.start(), chars);
+                if(isGroupReplacement){
+                    replaceBuffer.setLength(0);
+                    matcher.appendReplacement(replaceBuffer, replacement);
+                    //appendReplacement 는 이전 위치 부터의 내용을 같이 추가 하므로 치환 문자열만 사용
+                    writer.write(replaceBuffer.substring(matcher.start() - appendPosition));
+                    appendPosition = matcher.end();
+                }else{
+                    writer.write(replacement);
+                }
+                count++;
+                from = matcher.end();
+            }
+
+            write(writer, sb, from, keep, chars);
+
+            int newContext = Math.min(keep, CONTEXT_SIZE);
+            sb.delete(0, keep - newContext);
+            context = newContext;
+        }
+    }
+}
@@ -0,0 +1,588 @@
+package com.seomse.commons.utils.file;
+
+import com.seomse.commons.callback.PathCallback;
+import com.seomse.commons.exception.IORuntimeException;
+import com.seomse.commons.validation.PathValidation;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.DirectoryIteratorException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.Path;
+import java.nio.file.PathMatcher;
+import java.nio.file.Paths;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * 디렉토리 탐색
+ * 전체 목록을 만들지 않고 찾은 파일을 바로 callback 으로 전달 하거나 Stream 으로 순차적으로 얻음
+ * 파일 속성은 탐색 할 때 한번만 읽어서 조건 확인과 callback 에 같이 사용
+ * 제외 디렉토리 조건에 맞는 디렉토리는 하위를 탐색하지 않음
+ * 쓰레드 수를 2 이상으로 설정하면 디렉토리 단위로 나누어 동시에 탐색 (callback 이 여러 쓰레드에서 호출 되므로 thread safe 하게 구현할 것)
+ * 심볼릭 링크 디렉토리는 순환을 막기 위해 탐색하지 않음
+ * 설정은 탐색 전에 할 것
+ * @author macle
+ */
+public class FileWalker {
+
+    private final Path root;
+
+    private int maxDepth = Integer.MAX_VALUE;
+
+    private PathMatcher globMatcher = null;
+    private boolean isGlobPath = false;
+
+    private String [] extensions = null;
+
+    private long minSize = -1L;
+    private long maxSize = -1L;
+
+    private PathValidation fileValidation = null;
+
+    private PathMatcher excludeDirMatcher = null;
+    private PathValidation dirValidation = null;
+
+    private boolean isIncludeDir = false;
+
+    private int threadCount = 1;
+
+    public FileWalker(String path){
+        this(Paths.get(path));
+    }
+
+    public FileWalker(File file){
+        this(file.toPath());
+    }
+
+    public FileWalker(Path root){
+        this.root = root;
+    }
+
+    /**
+     * 최대 깊이 (1 이면 지정 디렉토리 내 파일만)
+     * @param maxDepth int
+     */
+    public void setMaxDepth(int maxDepth) {
+        this.maxDepth = maxDepth;
+    }
+
+    /**
+     * 파일 glob 조건 ex: *.log, data_??.csv
+     * '/' 가 포함되면 시작 디렉토리 기준 상대경로, 아니면 파일명에 적용 ex: 2020/**.log
+     * @param glob String
+     */
+    public void setGlob(String glob) {
+        this.isGlobPath = glob.indexOf('/') != -1;
+        this.globMatcher = FileSystems.getDefault().getPathMatcher("glob:" + glob);
+    }
+
+    /**
+     * 확장자 조건 (여러개 설정하면 하나라도 맞으면 유효)
+     * @param extensions String ex: .txt
+     */
+    public void setExtensions(String... extensions) {
+        this.extensions = extensions;
+    }
+
+    /**
+     * 파일 크기 조건
+     * @param minSize long 최소 byte (-1 이면 제한 없음)
+     * @param maxSize long 최대 byte (-1 이면 제한 없음)
+     */
+    public void setSize(long minSize, long maxSize) {
+        this.minSize = minSize;
+        this.maxSize = maxSize;
+    }
+
+    /**
+     * 파일 조건
+     * @param fileValidation PathValidation
+     */
+    public void setFileValidation(PathValidation fileValidation) {
+        this.fileValidation = fileValidation;
+    }
+
+    /**
+     * 제외 디렉토리 glob (디렉토리명에 적용, 맞으면 하위를 탐색하지 않음) ex: .git, tmp*
+     * @param glob String
+     */
+    public void setExcludeDirGlob(String glob) {
+        this.excludeDirMatcher = FileSystems.getDefault().getPathMatcher("glob:" + glob);
+    }
+
+    /**
+     * 디렉토리 조건 (유효하지 않으면 하위를 탐색하지 않음)
+     * @param dirValidation PathValidation
+     */
+    public void setDirValidation(PathValidation dirValidation) {
+        this.dirValidation = dirValidation;
+    }
+
+    /**
+     * 탐색한 디렉토리 포함 여부 (시작 디렉토리 제외)
+     * 디렉토리에는 파일 조건을 적용하지 않음
+     * @param includeDir boolean
+     */
+    public void setIncludeDir(boolean includeDir) {
+        isIncludeDir = includeDir;
+    }
+
+    /**
+     * 탐색 쓰레드 수 (기본 1)
+     * @param threadCount int
+     */
+    public void setThreadCount(int threadCount) {
+        this.threadCount = threadCount;
+    }
+
+    /**
+     * 탐색 하면서 조건에 맞는 경로를 callback 으로 전달
+     * @param callback PathCallback
+     */
+    public void walk(PathCallback callback){
+        BasicFileAttributes attributes = readAttributes(root);
+        if(attributes == null){
+            return;
+        }
+
+        if(!attributes.isDirectory()){
+            if(isFileValid(root, attributes)){
+                callback.callback(root, attributes);
+            }
+            return;
+        }
+
+        if(threadCount > 1){
+            new ParallelWalk(callback).walk();
+        }else{
+            walkDir(root, 0, callback);
+        }
+    }
+
+    private void walkDir(Path dir, int depth, PathCallback callback){
+        list(dir, depth, callback, (childDir, childDepth) -> walkDir(childDir, childDepth, callback));
+    }
+
+    /**
+     * 조건에 맞는 파일 목록
+     * @return List 파일 목록 (쓰레드 수가 1이면 탐색 순서)
+     */
+    public List<File> getFileList(){
+        List<File> fileList = new ArrayList<>();
+        walk((path, attributes) -> {
+            File file = path.toFile();
+            synchronized (fileList){
+                fileList.add(file);
+            }
+        });
+        return fileList;
+    }
+
+    /**
+     * 조건에 맞는 경로 Stream
+     * 다음 경로가 필요할 때 디렉토리를 읽으므로 전체 목록을 만들지 않음 (쓰레드 수 설정은 사용하지 않음)
+     * 다 읽지 않고 멈추는 경우 Stream 을 close 할 것 (try-with-resources 사용 권장)
+     * @return Stream
+     */
+    public Stream<Path> stream(){
+        PathIterator iterator = new PathIterator();
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(iterator, Spliterator.ORDERED | Spliterator.NONNULL | Spliterator.DISTINCT), false).onClose(iterator::close);
+    }
+
+    /**
+     * 하위 디렉토리 전달
+     */
+    private interface DirHandler {
+        void handle(Path dir, int depth);
+    }
+
+    /**
+     * 디렉토리 내 경로 확인
+     * @param dir Path 디렉토리
+     * @param depth int 디렉토리 깊이 (시작 디렉토리 0)
+     * @param callback PathCallback 조건에 맞는 경로 전달
+     * @param dirHandler DirHandler 탐색할 하위 디렉토리 전달
+     */
+    private void list(Path dir, int depth, PathCallback callback, DirHandler dirHandler){
+        if(depth >= maxDepth){
+            return;
+        }
+
+        int childDepth = depth + 1;
+        try(DirectoryStream<Path> stream = Files.newDirectoryStream(dir)){
+            for(Path path : stream){
+                BasicFileAttributes attributes = readAttributes(path);
+                if(attributes == null){
+                    continue;
+                }
+
+                if(attributes.isDirectory()){
+                    if(!isDirValid(path, attributes)){
+                        continue;
+                    }
+                    if(isIncludeDir){
+                        callback.callback(path, attributes);
+                    }
+                    if(dirHandler != null && !attributes.isSymbolicLink()){
+                        dirHandler.handle(path, childDepth);
+                    }
+                }else if(isFileValid(path, attributes)){
+                    callback.callback(path, attributes);
+                }
+            }
+        }catch (IOException | DirectoryIteratorException ignore){
+            //읽을 수 없는 디렉토리는 제외
+        }
+    }
+
+    private boolean isDirValid(Path dir, BasicFileAttributes attributes){
+        if(excludeDirMatcher != null && excludeDirMatcher.matches(dir.getFileName())){
+            return false;
+        }
+        return dirValidation == null || dirValidation.isValid(dir, attributes);
+    }
+
+    private boolean isFileValid(Path path, BasicFileAttributes attributes){
+        if(minSize >= 0 && attributes.size() < minSize){
+            return false;
+        }
+
+        if(maxSize >= 0 && attributes.size() > maxSize){
+            return false;
+        }
+
+        if(extensions != null){
+            String name = path.getFileName().toString();
+            boolean isExtension = false;
+            for(String extension : extensions){
+                if(name.endsWith(extension)){
+                    isExtension = true;
+                    break;
+                }
+            }
+            if(!isExtension){
+                return false;
+            }
+        }
+
+        if(globMatcher != null){
+            Path matchPath = isGlobPath ? root.relativize(path) : path.getFileName();
+            if(!globMatcher.matches(matchPath)){
+                return false;
+            }
+        }
+
+        return fileValidation == null || fileValidation.isValid(path, attributes);
+    }
+
+    /**
+     * 속성 읽기
+     * 심볼릭 링크는 대상의 속성을 읽고, 대상이 디렉토리면 링크 속성을 사용 (하위 탐색 제외용)
+     * @param path Path
+     * @return BasicFileAttributes 없으면 null
+     */
+    private static BasicFileAttributes readAttributes(Path path){
+        try{
+            BasicFileAttributes attributes = Files.readAttributes(path, BasicFileAttributes.class, LinkOption.NOFOLLOW_LINKS);
+            if(!attributes.isSymbolicLink()){
+                return attributes;
+            }
+
+            BasicFileAttributes targetAttributes = Files.readAttributes(path, BasicFileAttributes.class);
+            if(targetAttributes.isDirectory()){
+                return new LinkDirAttributes(targetAttributes);
+            }
+            return targetAttributes;
+        }catch (IOException e){
+            //탐색 중 삭제된 파일 또는 대상이 없는 링크
+            return null;
+        }
+    }
+
+    /**
+     * 심볼릭 링크 디렉토리 속성
+     */
+    private static class LinkDirAttributes implements BasicFileAttributes {
+
+        private final BasicFileAttributes attributes;
+
+        LinkDirAttributes(BasicFileAttributes attributes){
+            this.attributes = attributes;
+        }
+
+        @Override
+        public FileTime lastModifiedTime() {
+            return attributes.lastModifiedTime();
+        }
+
+        @Override
+        public FileTime lastAccessTime() {
+            return attributes.lastAccessTime();
+        }
+
+        @Override
+        public FileTime creationTime() {
+            return attributes.creationTime();
+        }
+
+        @Override
+        public boolean isRegularFile() {
+            return false;
+        }
+
+        @Override
+        public boolean isDirectory() {
+            return true;
+        }
+
+        @Override
+        public boolean isSymbolicLink() {
+            return true;
+        }
+
+        @Override
+        public boolean isOther() {
+            return false;
+        }
+
+        @Override
+        public long size() {
+            return attributes.size();
+        }
+
+        @Override
+        public Object fileKey() {
+            return attributes.fileKey();
+        }
+    }
+
+    /**
+     * 디렉토리 단위 동시 탐색
+     * 작업 쓰레드들이 대기열에서 디렉토리를 꺼내 탐색하고 하위 디렉토리는 대기열에 추가
+     * 대기열이 비어 있고 탐색중인 쓰레드가 없으면 종료
+     */
+    private class ParallelWalk {
+
+        private final PathCallback callback;
+
+        private final ArrayDeque<Object[]> queue = new ArrayDeque<>();
+
+        private int activeCount = 0;
+
+        private RuntimeException exception = null;
+
+        ParallelWalk(PathCallback callback){
+            this.callback = callback;
+        }
+
+        void walk(){
+            queue.add(new Object[]{root, 0});
+
+            DirHandler dirHandler = (dir, depth) -> {
+                synchronized (queue){
+                    queue.add(new Object[]{dir, depth});
+                    queue.notify();
+                }
+            };
+
+            Thread [] threads = new Thread[threadCount];
+            for (int i = 0; i < threads.length ; i++) {
+                threads[i] = new Thread(() -> work(dirHandler));
+                threads[i].setDaemon(true);
+                threads[i].start();
+            }
+
+            try {
+                for (Thread thread : threads) {
+                    thread.join();
+                }
+            }catch (InterruptedException e){
+                synchronized (queue){
+                    exception = new IORuntimeException("walk interrupted: " + root);
+                    queue.notifyAll();
+                }
+                Thread.currentThread().interrupt();
+            }
+
+            if(exception != null){
+                throw exception;
+            }
+        }
+
+        private void work(DirHandler dirHandler){
+            for(;;){
+                Object [] item;
+                synchronized (queue){
+                    while (queue.isEmpty() && activeCount > 0 && exception == null){
+                        try {
+                            queue.wait();
+                        }catch (InterruptedException e){
+                            return;
+                        }
+                    }
+
+                    if(queue.isEmpty() || exception != null){
+                        queue.notifyAll();
+                        return;
+                    }
+                    item = queue.poll();
+                    activeCount++;
+                }
+
+                try{
+                    list((Path)item[0], (Integer)item[1], callback, dirHandler);
+                }catch (RuntimeException e){
+                    synchronized (queue){
+                        if(exception == null){
+                            exception = e;
+                        }
+                    }
+                }finally {
+                    synchronized (queue){
+                        activeCount--;
+                        if(activeCount == 0 && queue.isEmpty()){
+                            queue.notifyAll();
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * 순차 탐색 iterator
+     * 디렉토리 마다 DirectoryStream 을 열어 두고 깊이 우선으로 탐색
+     */
+    private class PathIterator implements Iterator<Path> {
+
+        private final ArrayDeque<DirectoryStream<Path>> streams = new ArrayDeque<>();
+        private final ArrayDeque<Iterator<Path>> iterators = new ArrayDeque<>();
+
+        private Path next = null;
+        private boolean isStart = false;
+        private boolean isEnd = false;
+
+        @Override
+        public boolean hasNext() {
+            if(next != null){
+                return true;
+            }
+            if(isEnd){
+                return false;
+            }
+
+            if(!isStart){
+                isStart = true;
+                BasicFileAttributes attributes = readAttributes(root);
+                if(attributes == null){
+                    close();
+                    return false;
+                }
+
+                if(!attributes.isDirectory()){
+                    close();
+                    if(isFileValid(root, attributes)){
+                        next = root;
+                        return true;
+                    }
+                    return false;
+                }
+                open(root);
+            }
+
+            while (!iterators.isEmpty()){
+                Iterator<Path> iterator = iterators.peekLast();
+                Path path;
+                try {
+                    if (!iterator.hasNext()) {
+                        closeLast();
+                        continue;
+                    }
+                    path = iterator.next();
+                }catch (DirectoryIteratorException e){
+                    //읽는 중 오류가 발생한 디렉토리는 제외
+                    closeLast();
+                    continue;
+                }
+
+                BasicFileAttributes attributes = readAttributes(path);
+                if(attributes == null){
+                    continue;
+                }
+
+                if(attributes.isDirectory()){
+                    if(!isDirValid(path, attributes)){
+                        continue;
+                    }
+                    if(!attributes.isSymbolicLink()){
+                        open(path);
+                    }
+                    if(isIncludeDir){
+                        next = path;
+                        return true;
+                    }
+                }else if(isFileValid(path, attributes)){
+                    next = path;
+                    return true;
+                }
+            }
+
+            close();
+            return false;
+        }
+
+        private void open(Path dir){
+            //열려 있는 DirectoryStream 수가 현재 깊이
+            if(streams.size() >= maxDepth){
+                return;
+            }
+            try {
+                DirectoryStream<Path> stream = Files.newDirectoryStream(dir);
+                streams.addLast(stream);
+                iterators.addLast(stream.iterator());
+            }catch (IOException ignore){
+                //읽을 수 없는 디렉토리는 제외
+            }
+        }
+
+        private void closeLast(){
+            iterators.pollLast();
+            DirectoryStream<Path> stream = streams.pollLast();
+            if(stream != null){
+                try{
+                    stream.close();
+                }catch (IOException ignore){}
+            }
+        }
+
+        @Override
+        public Path next() {
+            if(!hasNext()){
+                throw new NoSuchElementException();
+            }
+            Path path = next;
+            next = null;
+            return path;
+        }
+
+        void close(){
+            isEnd = true;
+            while (!streams.isEmpty()){
+                closeLast();
+            }
+        }
+    }
+}
@@ -0,0 +1,306 @@
+package com.seomse.commons.utils.file;
+
+import com.seomse.commons.exception.IORuntimeException;
+import com.seomse.commons.parallel.ParallelArrayJob;
+
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.Enumeration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.zip.Deflater;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * zip 압축, 압축 해제
+ * 압축 해제는 ZipFile 로 항목을 직접 찾아서 읽으므로 여러 항목을 동시에 해제 (쓰레드 수 만큼)
+ * 압축 해제 경로를 벗어나는 항목(../ 등, zip slip)이 있으면 해제하지 않고 IORuntimeException 발생
+ * 같은 경로의 항목이 여러개면 순서대로 덮어쓰던 것과 같도록 마지막 항목만 해제 (동시에 같은 파일에 쓰지 않음)
+ * 압축은 파일을 순서대로 읽으면서 바로 기록하므로 전체 목록을 메모리에 만들지 않음
+ * 이미 압축된 데이터(jpg, zip 등)는 압축하지 않고 저장(STORED) 하도록 확장자를 지정할 수 있음
+ * 설정은 사용 전에 할 것
+ * @author macle
+ */
+public class FileZip {
+
+    private int threadCount = ParallelArrayJob.getDefaultThreadCount();
+
+    private int bufferSize = 262144;
+
+    private boolean isSync = false;
+
+    private int level = Deflater.DEFAULT_COMPRESSION;
+
+    private boolean isStore = false;
+
+    private String [] storeExtensions = null;
+
+    /**
+     * 압축 해제 쓰레드 수
+     * @param threadCount int
+     */
+    public void setThreadCount(int threadCount) {
+        this.threadCount = threadCount;
+    }
+
+    /**
+     * 읽고 쓸 때 사용하는 버퍼 크기 (기본 256KB)
+     * @param bufferSize int
+     */
+    public void setBufferSize(int bufferSize) {
+        this.bufferSize = bufferSize;
+    }
+
+    /**
+     * 압축 해제한 파일 마다 디스크 동기화 (fsync) 여부
+     * @param sync boolean
+     */
+    public void setSync(boolean sync) {
+        isSync = sync;
+    }
+
+    /**
+     * 압축 레벨 (0 ~ 9, 기본 -1: Deflater.DEFAULT_COMPRESSION)
+     * @param level int
+     */
+    public void setLevel(int level) {
+        this.level = level;
+    }
+
+    /**
+     * 모든 파일을 압축하지 않고 저장 (STORED)
+     * @param store boolean
+     */
+    public void setStore(boolean store) {
+        isStore = store;
+    }
+
+    /**
+     * 압축하지 않고 저장 (STORED) 할 확장자 ex: .jpg, .zip, .gz
+     * @param storeExtensions String
+     */
+    public void setStoreExtensions(String... storeExtensions) {
+        this.storeExtensions = storeExtensions;
+    }
+
+    /**
+     * 압축 해제
+     * @param zipFile File zip 파일
+     * @param outDir File 압축 해제 디렉토리 (없으면 생성)
+     * @return File [] 압축 해제한 파일 (zip 항목 순서, 디렉토리, 중복 경로 제외)
+     */
+    public File [] unzip(File zipFile, File outDir){
+        Path outPath = outDir.getAbsoluteFile().toPath().normalize();
+
+        try(ZipFile zip = new ZipFile(zipFile)){
+            Files.createDirectories(outPath);
+
+            //경로 확인, 디렉토리 생성은 먼저 하고 파일은 모아서 동시에 해제
+            Map<Path, EntryTask> taskMap = new LinkedHashMap<>();
+            Enumeration<? extends ZipEntry> entries = zip.entries();
+            while (entries.hasMoreElements()){
+                ZipEntry entry = entries.nextElement();
+                Path path = outPath.resolve(entry.getName()).normalize();
+                if(!path.startsWith(outPath) || path.equals(outPath)){
+                    throw new IORuntimeException("invalid zip entry: " + entry.getName());
+                }
+
+                if(entry.isDirectory()){
+                    taskMap.remove(path);
+                    Files.createDirectories(path);
+                    continue;
+                }
+
+                Path parent = path.getParent();
+                if(parent != null){
+                    Files.createDirectories(parent);
+                }
+                //같은 경로는 마지막 항목으로 교체 (순서는 처음 위치)
+                taskMap.put(path, new EntryTask(entry, path.toFile()));
+            }
+
+            EntryTask [] tasks = taskMap.values().toArray(new EntryTask[0]);
+            taskMap.clear();
+
+            File [] files = new File[tasks.length];
+            for (int i = 0; i < tasks.length ; i++) {
+                files[i] = tasks[i].file;
+            }
+
+            if(tasks.length == 0){
+                return files;
+            }
+
+            ParallelArrayJob<EntryTask> job = new ParallelArrayJob<>(tasks, task -> {
+                try{
+                    unzip(zip, task.entry, task.file);
+                }catch (RuntimeException e){
+                    task.exception = e;
+                }
+                task.isEnd = true;
+            });
+            job.setThreadCount(Math.max(1, Math.min(threadCount, tasks.length)));
+            job.runSync();
+
+            for(EntryTask task : tasks){
+                if(task.exception != null){
+                    throw task.exception;
+                }
+                if(!task.isEnd){
+                    throw new IORuntimeException("unzip fail: " + task.entry.getName());
+                }
+            }
+            return files;
+        }catch (IOException e){
+            throw new IORuntimeException(e);
+        }
+    }
+
+    private void unzip(ZipFile zip, ZipEntry entry, File file){
+        long size = entry.getSize();
+        //작은 항목은 크기 만큼만 버퍼 사용
+        byte [] buffer = new byte[size >= 0 && size < bufferSize ? (int)size + 1 : bufferSize];
+
+        try(InputStream in = zip.getInputStream(entry);
+            FileOutputStream out = new FileOutputStream(file)){
+            int length;
+            while ((length = in.read(buffer)) != -1){
+                out.write(buffer, 0, length);
+            }
+            if(isSync){
+                out.getFD().sync();
+            }
+        }catch (IOException e){
+            throw new IORuntimeException(e);
+        }
+
+        if(entry.getTime() != -1){
+            //noinspection ResultOfMethodCallIgnored
+            file.setLastModified(entry.getTime());
+        }
+    }
+
+    /**
+     * 압축
+     * 디렉토리는 하위 전체를 디렉토리 기준 상대경로로 압축, 파일은 파일명으로 압축
+     * @param source File 압축할 파일 또는 디렉토리
+     * @param zipFile File 생성할 zip 파일
+     * @return int 압축한 파일 수 (디렉토리 제외)
+     */
+    public int zip(File source, File zipFile){
+        Path sourcePath = source.getAbsoluteFile().toPath();
+        Path zipPath = zipFile.getAbsoluteFile().toPath();
+
+        if(!Files.exists(sourcePath)){
+            throw new IORuntimeException("file not found: " + source.getAbsolutePath());
+        }
+
+        try(ZipOutputStream out = new ZipOutputStream(new BufferedOutputStream(new FileOutputStream(zipPath.toFile()), bufferSize))){
+            out.setLevel(level);
+
+            if(!Files.isDirectory(sourcePath)){
+                addEntry(out, sourcePath, sourcePath.getFileName().toString(), Files.readAttributes(sourcePath, BasicFileAttributes.class));
+                return 1;
+            }
+
+            byte [] buffer = new byte[bufferSize];
+            int [] count = new int[1];
+
+            FileWalker walker = new FileWalker(sourcePath);
+            walker.setIncludeDir(true);
+            walker.walk((path, attributes) -> {
+                if(path.equals(zipPath)){
+                    //압축 파일을 대상 디렉토리 안에 만드는 경우
+                    return;
+                }
+
+                String name = sourcePath.relativize(path).toString().replace(File.separatorChar, '/');
+                try {
+                    if(attributes.isDirectory()){
+                        ZipEntry entry = new ZipEntry(name + "/");
+                        entry.setTime(attributes.lastModifiedTime().toMillis());
+                        out.putNextEntry(entry);
+                        out.closeEntry();
+                    }else{
+                        addEntry(out, path, name, attributes, buffer);
+                        count[0]++;
+                    }
+                }catch (IOException e){
+                    throw new IORuntimeException(e);
+                }
+            });
+            return count[0];
+        }catch (IOException e){
+            throw new IORuntimeException(e);
+        }
+    }
+
+    private void addEntry(ZipOutputStream out, Path path, String name, BasicFileAttributes attributes) throws IOException {
+        addEntry(out, path, name, attributes, new byte[bufferSize]);
+    }
+
+    private void addEntry(ZipOutputStream out, Path path, String name, BasicFileAttributes attributes, byte [] buffer) throws IOException {
+        ZipEntry entry = new ZipEntry(name);
+        entry.setTime(attributes.lastModifiedTime().toMillis());
+
+        if(isStore(name)){
+            //STORED 는 크기와 crc 를 먼저 기록해야 함
+            entry.setMethod(ZipEntry.STORED);
+            entry.setSize(attributes.size());
+            entry.setCompressedSize(attributes.size());
+            entry.setCrc(FileCopy.checksum(path));
+        }
+
+        out.putNextEntry(entry);
+        try(InputStream in = Files.newInputStream(path)){
+            copy(in, out, buffer);
+        }
+        out.closeEntry();
+    }
+
+    private boolean isStore(String name){
+        if(isStore){
+            return true;
+        }
+
+        if(storeExtensions == null){
+            return false;
+        }
+
+        String lowerName = name.toLowerCase();
+        for(String extension : storeExtensions){
+            if(lowerName.endsWith(extension.toLowerCase())){
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static void copy(InputStream in, OutputStream out, byte [] buffer) throws IOException {
+        int length;
+        while ((length = in.read(buffer)) != -1){
+            out.write(buffer, 0, length);
+        }
+    }
+
+    private static class EntryTask {
+        final ZipEntry entry;
+        final File file;
+        RuntimeException exception = null;
+        boolean isEnd = false;
+
+        EntryTask(ZipEntry entry, File file){
+            this.entry = entry;
+            this.file = file;
+        }
+    }
+}
@@ -0,0 +1,368 @@
+package com.seomse.commons.utils.file;
+
+import com.seomse.commons.exception.IORuntimeException;
+import com.seomse.commons.exception.OutOfRangeException;
+import com.seomse.commons.utils.ExceptionUtil;
+import com.seomse.commons.utils.FileUtil;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+/**
+ * 파일 라인 위치 색인
+ * 한번 읽으면서 일정 라인 간격(기본 1024)마다 시작 byte 위치를 기록해 두고
+ * 라인 조회시 가까운 위치부터 읽으므로 파일 크기와 상관없이 라인을 빠르게 얻을 수 있음
+ * 라인 구분은 FileUtil.getLine, getLineCount 와 같음 ('\n' 기준)
+ * 파일의 크기나 수정시간이 바뀌면 조회 전에 색인을 다시 만듬
+ * 색인 파일을 사용하면 (isPersist) 파일 옆에 [파일명].lidx 로 저장하고 다음 생성때 재사용
+ * @author macle
+ */
+@Slf4j
+public class LineIndex {
+
+    public static final int DEFAULT_INTERVAL = 1024;
+
+    public static final String INDEX_EXTENSION = ".lidx";
+
+    private static final int MAGIC = 0x4C494458;
+
+    private static final int BUFFER_SIZE = 65536;
+
+    /**
+     * 색인 생성
+     * @param file File 대상 파일
+     * @return LineIndex
+     */
+    public static LineIndex make(File file){
+        return make(file, DEFAULT_INTERVAL, false);
+    }
+
+    /**
+     * 색인 생성
+     * @param file File 대상 파일
+     * @param interval int 위치를 기록할 라인 간격
+     * @param isPersist boolean 색인 파일 사용 여부
+     * @return LineIndex
+     */
+    public static LineIndex make(File file, int interval, boolean isPersist){
+        LineIndex lineIndex = new LineIndex(file, interval, isPersist);
+
+        if(isPersist){
+            Offsets offsets = lineIndex.loadIndexFile();
+            if(offsets != null){
+                lineIndex.offsets = offsets;
+                return lineIndex;
+            }
+        }
+        lineIndex.refresh();
+        return lineIndex;
+    }
+
+    private final File file;
+
+    private final File indexFile;
+
+    private final int interval;
+
+    private final boolean isPersist;
+
+    private volatile Offsets offsets = null;
+
+    private final Object lock = new Object();
+
+    private LineIndex(File file, int interval, boolean isPersist){
+        if(interval < 1){
+            interval = DEFAULT_INTERVAL;
+        }
+        this.file = file;
+        this.interval = interval;
+        this.isPersist = isPersist;
+        this.indexFile = new File(file.getAbsolutePath() + INDEX_EXTENSION);
+    }
+
+    /**
+     * 대상 파일
+     * @return File
+     */
+    public File getFile() {
+        return file;
+    }
+
+    /**
+     * 색인이 현재 파일 상태와 일치하는지 여부 (크기, 수정시간)
+     * @return boolean
+     */
+    public boolean isValid(){
+        Offsets offsets = this.offsets;
+        return offsets != null && offsets.isValid(file);
+    }
+
+    /**
+     * 파일이 변경 되었으면 색인을 다시 생성
+     */
+    public void refresh(){
+        getOffsets();
+    }
+
+    /**
+     * 라인 수
+     * FileUtil.getLineCount 와 같은 기준
+     * @return long
+     */
+    public long getLineCount(){
+        return getOffsets().lineCount;
+    }
+
+    /**
+     * 라인 얻기
+     * @param lineIndex long start index 0
+     * @param charset Charset
+     * @return String line text
+     */
+    public String getLine(long lineIndex, Charset charset){
+        String [] lines = getLines(lineIndex, lineIndex + 1, charset);
+        return lines[0];
+    }
+
+    /**
+     * 라인 목록 얻기
+     * @param begin long 시작 라인 (포함)
+     * @param end long 끝 라인 (미포함), 라인수 보다 크면 마지막 라인 까지
+     * @param charset Charset
+     * @return String [] lines
+     */
+    public String [] getLines(long begin, long end, Charset charset){
+        Offsets offsets = getOffsets();
+
+        if(begin < 0 || begin >= offsets.lineCount){
+            throw new OutOfRangeException("line index: " + begin + ", line count: " + offsets.lineCount);
+        }
+
+        if(end > offsets.lineCount){
+            end = offsets.lineCount;
+        }
+
+        if(end <= begin){
+            return new String[0];
+        }
+
+        String [] lines = new String[(int)(end - begin)];
+
+        int block = (int)(begin / interval);
+        long skip = begin - (long)block * interval;
+
+        try(FileInputStream in = new FileInputStream(file)){
+            in.getChannel().position(offsets.positions[block]);
+
+            byte [] buffer = new byte[BUFFER_SIZE];
+            byte [] lineBytes = new byte[256];
+            int lineLength = 0;
+            int index = 0;
+
+            int n;
+            outer:
+            while ((n = in.read(buffer)) > 0){
+                int start = 0;
+                for (int i = 0; i < n ; i++) {
+                    if(buffer[i] != '\n'){
+                        continue;
+                    }
+
+                    if(skip > 0){
+                        skip--;
+                    }else{
+                        lineBytes = append(lineBytes, lineLength, buffer, start, i - start);
+                        lineLength += i - start;
+                        lines[index++] = new String(lineBytes, 0, lineLength, charset);
+                        lineLength = 0;
+                        if(index == lines.length){
+                            break outer;
+                        }
+                    }
+                    start = i + 1;
+                }
+
+                if(skip == 0 && start < n){
+                    lineBytes = append(lineBytes, lineLength, buffer, start, n - start);
+                    lineLength += n - start;
+                }
+            }
+
+            if(index < lines.length){
+                //마지막 라인 (줄바꿈 없이 끝남)
+                lines[index++] = new String(lineBytes, 0, lineLength, charset);
+                //읽는 도중에 파일이 줄어든 경우
+                for (int i = index; i < lines.length ; i++) {
+                    lines[i] = "";
+                }
+            }
+
+        }catch (IOException e){
+            throw new IORuntimeException(e);
+        }
+
+        return lines;
+    }
+
+    private static byte [] append(byte [] lineBytes, int lineLength, byte [] buffer, int offset, int length){
+        if(lineLength + length > lineBytes.length){
+            lineBytes = Arrays.copyOf(lineBytes, Math.max(lineBytes.length * 2, lineLength + length));
+        }
+        System.arraycopy(buffer, offset, lineBytes, lineLength, length);
+        return lineBytes;
+    }
+
+    private Offsets getOffsets(){
+        Offsets offsets = this.offsets;
+        if(offsets != null && offsets.isValid(file)){
+            return offsets;
+        }
+
+        synchronized (lock){
+            offsets = this.offsets;
+            if(offsets != null && offsets.isValid(file)){
+                return offsets;
+            }
+
+            offsets = scan();
+            this.offsets = offsets;
+            if(isPersist){
+                try {
+                    saveIndexFile(offsets);
+                }catch (Exception e){
+                    //색인 파일 저장에 실패해도 메모리 색인은 사용 가능
+                    log.error(ExceptionUtil.getStackTrace(e));
+                }
+            }
+            return offsets;
+        }
+    }
+
+    private Offsets scan(){
+        long length = file.length();
+        long lastModified = file.lastModified();
+
+        long [] positions = new long[16];
+        int positionCount = 1;
+        positions[0] = 0L;
+
+        long lineCount;
+
+        if(length == 0){
+            lineCount = 0;
+        }else{
+            try(InputStream in = Files.newInputStream(file.toPath())){
+                byte [] buffer = new byte[BUFFER_SIZE];
+                long position = 0;
+                //현재 라인 번호 (0부터)
+                long line = 0;
+                int n;
+                while ((n = in.read(buffer)) > 0){
+                    for (int i = 0; i < n; i++) {
+                        if(buffer[i] != '\n'){
+                            continue;
+                        }
+                        line++;
+                        if(line % interval == 0){
+                            if(positionCount == positions.length){
+                                positions = Arrays.copyOf(positions, positions.length * 2);
+                            }
+                            positions[positionCount++] = position + i + 1;
+                        }
+                    }
+                    position += n;
+                }
+                lineCount = line + 1;
+                length = position;
+            }catch (IOException e){
+                throw new IORuntimeException(e);
+            }
+        }
+
+        return new Offsets(length, lastModified, lineCount, Arrays.copyOf(positions, positionCount));
+    }
+
+    private void saveIndexFile(Offsets offsets) throws IOException {
+        Path dirPath = indexFile.getAbsoluteFile().getParentFile().toPath();
+        Path tempPath = Files.createTempFile(dirPath, indexFile.getName(), ".tmp");
+        try {
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tempPath), BUFFER_SIZE))) {
+                out.writeInt(MAGIC);
+                out.writeInt(interval);
+                out.writeLong(offsets.length);
+                out.writeLong(offsets.lastModified);
+                out.writeLong(offsets.lineCount);
+                out.writeInt(offsets.positions.length);
+                for (long position : offsets.positions) {
+                    out.writeLong(position);
+                }
+            }
+            FileUtil.replaceAtomic(tempPath, indexFile.toPath());
+        }finally {
+            Files.deleteIfExists(tempPath);
+        }
+    }
+
+    private Offsets loadIndexFile(){
+        if(!indexFile.isFile()){
+            return null;
+        }
+
+        try(DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(indexFile.toPath()), BUFFER_SIZE))){
+            if(in.readInt() != MAGIC || in.readInt() != interval){
+                return null;
+            }
+
+            long length = in.readLong();
+            long lastModified = in.readLong();
+            long lineCount = in.readLong();
+            long [] positions = new long[in.readInt()];
+            for (int i = 0; i <positions.length ; i++) {
+                positions[i] = in.readLong();
+            }
+
+            Offsets offsets = new Offsets(length, lastModified, lineCount, positions);
+            if(!offsets.isValid(file)){
+                return null;
+            }
+            return offsets;
+        }catch (Exception e){
+            //손상된 색인 파일은 다시 생성
+            log.error(ExceptionUtil.getStackTrace(e));
+            return null;
+        }
+    }
+
+    /**
+     * 색인 데이터
+     * 파일이 변경되면 새로 생성하여 교체
+     */
+    private static class Offsets {
+        final long length;
+        final long lastModified;
+        final long lineCount;
+        final long [] positions;
+
+        Offsets(long length, long lastModified, long lineCount, long [] positions){
+            this.length = length;
+            this.lastModified = lastModified;
+            this.lineCount = lineCount;
+            this.positions = positions;
+        }
+
+        boolean isValid(File file){
+            return file.length() == length && file.lastModified() == lastModified;
+        }
+    }
+}
@@ -0,0 +1,167 @@
+package com.seomse.commons.utils.file;
+
+import com.seomse.commons.exception.IORuntimeException;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * 파일의 끝에서 부터 역순으로 라인 읽기
+ * 파일 끝에서 블록 단위로 읽으면서 줄바꿈을 찾으므로 파일 크기와 상관없이 마지막 라인들을 빠르게 얻을 수 있음
+ * 줄바꿈이 1byte '\n' 으로 표현되는 케릭터셋 (utf-8, euc-kr, ms949, ascii 등) 만 지원
+ * 라인 구분은 '\n' 기준 (마지막 줄바꿈 뒤의 빈 라인은 제외, 끝의 '\r' 제거)
+ * @author macle
+ */
+public class ReverseLineReader implements Closeable {
+
+    public static final int DEFAULT_BLOCK_SIZE = 65536;
+
+    /**
+     * 역순 읽기를 지원하는 케릭터셋인지 여부
+     * @param charset Charset
+     * @return boolean
+     */
+    public static boolean isSupported(Charset charset){
+        byte [] bytes = "\n".getBytes(charset);
+        return bytes.length == 1 && bytes[0] == '\n';
+    }
+
+    private final FileChannel channel;
+    private final Charset charset;
+
+    private final byte [] block;
+    //현재 블록의 파일 내 시작 위치
+    private long blockStart;
+    private int blockLength = 0;
+
+    //아직 반환되지 않은 라인의 끝 위치 (exclusive), -1이면 끝
+    private long lineEnd;
+
+    public ReverseLineReader(File file, Charset charset){
+        this(file, charset, DEFAULT_BLOCK_SIZE);
+    }
+
+    public ReverseLineReader(File file, Charset charset, int blockSize){
+        if(!isSupported(charset)){
+            throw new IllegalArgumentException("unsupported charset: " + charset.name());
+        }
+
+        this.charset = charset;
+        this.block = new byte[blockSize];
+        try {
+            channel = FileChannel.open(file.toPath(), StandardOpenOption.READ);
+            long size = channel.size();
+            blockStart = size;
+            if(size == 0){
+                lineEnd = -1;
+            }else{
+                lineEnd = size;
+                if(byteAt(size - 1) == '\n'){
+                    lineEnd = size - 1;
+                }
+            }
+        }catch (IOException e){
+            throw new IORuntimeException(e);
+        }
+    }
+
+    /**
+     * 이전 라인 읽기
+     * @return String 라인, 파일의 처음까지 읽었으면 null
+     */
+    public String readLine(){
+        if(lineEnd < 0){
+            return null;
+        }
+
+        try {
+            long end = lineEnd;
+            long pos = end - 1;
+            for(;;){
+                if(pos < 0){
+                    lineEnd = -1;
+                    return makeLine(0, end);
+                }
+
+                if(pos < blockStart || pos >= blockStart + blockLength){
+                    loadBlock(pos);
+                }
+
+                int index = (int) (pos - blockStart);
+                while (index >= 0 && block[index] != '\n') {
+                    index--;
+                }
+
+                if (index >= 0) {
+                    long newLinePos = blockStart + index;
+                    lineEnd = newLinePos;
+                    return makeLine(newLinePos + 1, end);
+                }
+                pos = blockStart - 1;
+            }
+        }catch (IOException e){
+            throw new IORuntimeException(e);
+        }
+    }
+
+    private byte byteAt(long pos) throws IOException {
+        if(pos < blockStart || pos >= blockStart + blockLength){
+            loadBlock(pos);
+        }
+        return block[(int)(pos - blockStart)];
+    }
+
+    /**
+     * pos 를 마지막으로 포함하는 블록 읽기
+     */
+    private void loadBlock(long pos) throws IOException {
+        long start = Math.max(0, pos + 1 - block.length);
+        int length = (int)(pos + 1 - start);
+        read(start, block, length);
+        blockStart = start;
+        blockLength = length;
+    }
+
+    private void read(long position, byte [] bytes, int length) throws IOException {
+        ByteBuffer buffer = ByteBuffer.wrap(bytes, 0, length);
+        while (buffer.hasRemaining()){
+            if(channel.read(buffer, position + buffer.position()) < 0){
+                break;
+            }
+        }
+    }
+
+    private String makeLine(long start, long end) throws IOException {
+        if(end > start && byteAt(end - 1) == '\r'){
+            end--;
+        }
+
+        int length = (int)(end - start);
+        if(length <= 0){
+            return "";
+        }
+
+        if(start >= blockStart && end <= blockStart + blockLength){
+            return new String(block, (int)(start - blockStart), length, charset);
+        }
+
+        //블록 경계에 걸친 라인
+        byte [] bytes = new byte[length];
+        read(start, bytes, length);
+        return new String(bytes, charset);
+    }
+
+    @Override
+    public void close(){
+        try {
+            channel.close();
+        }catch (IOException e){
+            throw new IORuntimeException(e);
+        }
+    }
+}
@@ -1,10 +1,12 @@
 package com.seomse.commons.utils.string;
 /**
+ * 사이 값을 순서대로 얻기
+ * 값을 얻은 위치까지 버릴 때 문자열을 자르지 않고 TextRegion 구간으로 위치만 이동
  * @author macle
  */
 public class BetweenString {
 
-    private String text;
+    private TextRegion text;
 
     private boolean isHtmlRemove = false;
 
@@ -37,7 +39,7 @@ public class BetweenString {
 
 
     public void setText(String text){
-        this.text = text;
+        this.text = new TextRegion(text);
     }
 
 
@@ -65,26 +67,20 @@ public class BetweenString {
 
     /**
      * 사이 값 얻기
+     * 사이값을 얻은 부분 까지 버림
      * @param begin String start with
      * @param end String end with
 
      * @return String
      */
-    private String getValue(String begin, String end){
+    public String getValue(String begin, String end){
 
-
-        int startIndex = text.indexOf(begin);
-        if(startIndex == -1){
+        TextRegion region = getRegion(begin, end);
+        if(region == null){
             return null;
         }
 
-        startIndex += begin.length();
-        int endIndex =  text.indexOf(end, startIndex);
-        if(endIndex == -1){
-            return null;
-        }
-
-        String result = getBetween(text, begin, end);
+        String result = region.toString();
 
         if(isXmlRemove){
             result = TextParsing.replaceInLine(result,"<!DOCTYPE", "loose.dtd\">","");
@@ -102,10 +98,31 @@ public class BetweenString {
             result = TextParsing.replaceInLine(result, "var ",";","");
         }
 
-        text = text.substring(endIndex + end.length());
+        return result;
+    }
+
+    /**
+     * 사이 구간 얻기 (문자열 복사 및 옵션 처리를 하지 않음)
+     * 사이값을 얻은 부분 까지 버림
+     * @param begin String start with
+     * @param end String end with
+     * @return TextRegion 없으면 null
+     */
+    public TextRegion getRegion(String begin, String end){
+        int startIndex = text.indexOf(begin);
+        if(startIndex == -1){
+            return null;
+        }
 
+        startIndex += begin.length();
+        int endIndex =  text.indexOf(end, startIndex);
+        if(endIndex == -1){
+            return null;
+        }
 
-        return result;
+        TextRegion region = text.region(startIndex, endIndex);
+        text = text.region(endIndex + end.length());
+        return region;
     }
 
     private String numberCharBegin= "&#";
@@ -131,7 +148,7 @@ public class BetweenString {
         if(startIndex == -1){
             return false;
         }
-        text = text.substring(startIndex + search.length()).trim();
+        text = text.region(startIndex + search.length()).trim();
         return true;
     }
 
@@ -140,6 +157,14 @@ public class BetweenString {
      * @return value
      */
     public String getText(){
+        return text.toString();
+    }
+
+    /**
+     * 남은 구간
+     * @return TextRegion
+     */
+    public TextRegion getTextRegion(){
         return text;
     }
 
@@ -0,0 +1,695 @@
+package com.seomse.commons.utils.string;
+
+/**
+ * html 에서 text 추출 (테그, 주석 제거, 엔트리 변환, 공백 정리)
+ * Remove.htmlTagRegex 의 정규식, 문자열 치환 단계들을 문자 단위로 이어 붙여서 입력을 한번만 읽으면서 처리
+ * 각 단계는 앞 단계의 결과를 문자 단위로 받아서 판단에 필요한 만큼만 버퍼에 보관하므로 단계별 중간 문자열을 만들지 않음
+ * 결과는 Remove.htmlTagRegex 와 같음 (설정 html.tag.enter.entry.array 는 지원하지 않음)
+ * 테그 안에 '<' 가 있는 등 단계별 처리 결과가 달라질 수 있는 입력은 false 를 반환 하므로 이 경우 Remove.htmlTagRegex 를 사용 할 것
+ * 생성한 객체는 버퍼를 재사용 하므로 한 쓰레드에서 반복 사용 (thread safe 하지 않음)
+ * @author macle
+ */
+public class HtmlText {
+
+    //치환 순서대로 (&amp; 등은 & 로 바뀐 후 뒤의 엔트리와 다시 비교됨)
+    private static final String [][] ENTITIES = {
+            {"nbsp;", " "}
+            , {"#160;", " "}
+            , {"lt;", "<"}
+            , {"#60;", "<"}
+            , {"gt;", ">"}
+            , {"#62;", ">"}
+            , {"amp;", "&"}
+            , {"#38;", "&"}
+            , {"#39;", "'"}
+            , {"#xD;", "'"}
+    };
+
+    private boolean isSkipScript = false;
+
+    private StringBuilder out;
+    private int outStart;
+    private boolean isOutStart;
+
+    private boolean isFail;
+
+    //줄바꿈, 공백 연속
+    private boolean isNewlineRun;
+    private int blankCount;
+    private char blankChar;
+
+    //주석
+    private final StringBuilder commentBuffer = new StringBuilder();
+    private int commentScan;
+
+    //테그
+    private final StringBuilder tagBuffer = new StringBuilder();
+    private boolean isTagOpen;
+    private String skipEnd = null;
+    private final StringBuilder skipBuffer = new StringBuilder();
+
+    //엔트리
+    private boolean isEntity;
+    private int entityIndex;
+    private final StringBuilder entityBuffer = new StringBuilder();
+
+    //공백, 줄바꿈 정리
+    private int spaceCount;
+    private boolean isSpaceNewline;
+
+    /**
+     * script, style 테그 내용 제외 여부 (기본 false)
+     * true 로 설정하면 Remove.htmlTagRegex 와 결과가 다름
+     * @param skipScript boolean
+     */
+    public void setSkipScript(boolean skipScript) {
+        isSkipScript = skipScript;
+    }
+
+    /**
+     * text 추출
+     * @param html CharSequence
+     * @return String text, 처리 결과가 달라질 수 있는 입력이면 null
+     */
+    public String toText(CharSequence html){
+        StringBuilder sb = new StringBuilder(html.length());
+        if(!append(html, sb)){
+            return null;
+        }
+        return sb.toString();
+    }
+
+    /**
+     * text 추출 결과를 out 에 추가
+     * @param html CharSequence
+     * @param out StringBuilder 결과를 추가할 객체
+     * @return boolean 처리 결과가 달라질 수 있는 입력이면 false (out 은 변경되지 않음)
+     */
+    public boolean append(CharSequence html, StringBuilder out){
+        init(out);
+
+        int length = html.length();
+        for (int i = 0; i < length ; i++) {
+            char c = html.charAt(i);
+            if(c == '<' && i + 2 < length && html.charAt(i + 1) == 'p' && html.charAt(i + 2) == '>'){
+                pushNewline('\n');
+                i += 2;
+            }else if(c != '\u00A0'){
+                pushNewline(c);
+            }
+
+            if(isFail){
+                out.setLength(outStart);
+                this.out = null;
+                return false;
+            }
+        }
+
+        finish();
+        this.out = null;
+        if(isFail){
+            out.setLength(outStart);
+            return false;
+        }
+        return true;
+    }
+
+    private void init(StringBuilder out){
+        this.out = out;
+        outStart = out.length();
+        isOutStart = false;
+        isFail = false;
+        isNewlineRun = false;
+        blankCount = 0;
+        commentBuffer.setLength(0);
+        commentScan = 0;
+        tagBuffer.setLength(0);
+        skipEnd = null;
+        skipBuffer.setLength(0);
+        isEntity = false;
+        entityBuffer.setLength(0);
+        spaceCount = 0;
+        isSpaceNewline = false;
+    }
+
+    private void finish(){
+        flushBlank();
+        processComment(true);
+
+        if(skipEnd == null && tagBuffer.length() > 0){
+            //'>' 가 없으므로 테그가 아님
+            for (int i = 0; i < tagBuffer.length() ; i++) {
+                pushEntity(tagBuffer.charAt(i));
+            }
+            tagBuffer.setLength(0);
+        }
+
+        if(isEntity){
+            resolveEntity();
+        }
+
+        flushSpace();
+
+        int length = out.length();
+        while (length > outStart && out.charAt(length - 1) <= ' '){
+            length--;
+        }
+        out.setLength(length);
+    }
+
+    /**
+     * 연속된 줄바꿈 (\n, \r, |) 을 하나로 (Change.enterContinue)
+     */
+    private void pushNewline(char c){
+        if(c == '\n' || c == '\r' || c == '|'){
+            if(!isNewlineRun){
+                isNewlineRun = true;
+                pushBlank('\n');
+            }
+            return;
+        }
+        isNewlineRun = false;
+        pushBlank(c);
+    }
+
+    /**
+     * 2개 이상 연속된 space, tab 을 space 하나로 (Change.spaceContinueTab)
+     */
+    private void pushBlank(char c){
+        if(c == ' ' || c == '\t'){
+            blankCount++;
+            blankChar = c;
+            return;
+        }
+        flushBlank();
+        pushComment(c);
+    }
+
+    private void flushBlank(){
+        if(blankCount == 1){
+            pushComment(blankChar);
+        }else if(blankCount > 1){
+            pushComment(' ');
+        }
+        blankCount = 0;
+    }
+
+    /**
+     * 주석 제거 (&lt;!--.*?--&gt; 한줄 주석, 남은 --&gt;)
+     */
+    private void pushComment(char c){
+        if(commentBuffer.length() == 0 && c != '<' && c != '-'){
+            pushTag(c);
+            return;
+        }
+        commentBuffer.append(c);
+        processComment(false);
+    }
+
+    private void processComment(boolean isEnd){
+        StringBuilder buffer = commentBuffer;
+        int length = buffer.length();
+        int i = 0;
+        while (i < length && !isFail){
+            char c = buffer.charAt(i);
+            if(c == '<'){
+                if(length - i < 4){
+                    if(!isEnd && isPrefix(buffer, i, length, "<!--")){
+                        break;
+                    }
+                }else if(buffer.charAt(i + 1) == '!' && buffer.charAt(i + 2) == '-' && buffer.charAt(i + 3) == '-'){
+                    int scan = i == 0 ? Math.max(4, commentScan) : i + 4;
+                    int end = findCommentEnd(buffer, scan, length);
+                    if(end > 0){
+                        commentScan = 0;
+                        i = end;
+                        continue;
+                    }
+
+                    if(end == -1 && !isEnd){
+                        //주석 끝을 찾을 때 까지 대기 (이미 확인한 위치는 다시 확인하지 않음)
+                        commentScan = Math.max(4, length - i - 2);
+                        break;
+                    }
+                    commentScan = 0;
+                }
+            }else if(c == '-'){
+                if(length - i < 3){
+                    if(!isEnd && isPrefix(buffer, i, length, "-->")){
+                        break;
+                    }
+                }else if(buffer.charAt(i + 1) == '-' && buffer.charAt(i + 2) == '>'){
+                    i += 3;
+                    continue;
+                }
+            }
+
+            pushTag(c);
+            i++;
+        }
+        buffer.delete(0, i);
+    }
+
+    /**
+     * 주석 끝 찾기
+     * @return int 주석 끝 다음 위치, 줄바꿈이 먼저 나오면 -2, 더 읽어야 하면 -1
+     */
+    private static int findCommentEnd(StringBuilder buffer, int begin, int length){
+        for (int i = begin; i < length ; i++) {
+            char c = buffer.charAt(i);
+            if(isLineTerminator(c)){
+                return -2;
+            }
+
+            if(c == '-' && i + 2 < length && buffer.charAt(i + 1) == '-' && buffer.charAt(i + 2) == '>'){
+                return i + 3;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * 정규식 '.' 과 일치하지 않는 문자
+     */
+    private static boolean isLineTerminator(char c){
+        return c == '\n' || c == '\r' || c == '\u0085' || c == '\u2028' || c == '\u2029';
+    }
+
+    private static boolean isPrefix(StringBuilder buffer, int begin, int end, String text){
+        for (int i = begin; i < end ; i++) {
+            if(buffer.charAt(i) != text.charAt(i - begin)){
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 테그 처리
+     * '<' 부터 '>' 까지 모아서 br, p, 일반 테그 정규식과 같은 규칙으로 비교
+     * 더 읽어도 테그가 될 수 없는 것이 확인되면 바로 문자로 전달
+     */
+    private void pushTag(char c){
+        if(skipEnd != null){
+            skip(c);
+            return;
+        }
+
+        StringBuilder buffer = tagBuffer;
+        if(buffer.length() == 0){
+            if(c == '<'){
+                buffer.append(c);
+                isTagOpen = false;
+            }else{
+                pushEntity(c);
+            }
+            return;
+        }
+
+        if(c == '>'){
+            buffer.append(c);
+            endTag();
+            return;
+        }
+
+        if(c == '<'){
+            if(isTagOpen || isTagPrefix()){
+                //앞의 '<' 가 뒤의 내용에 따라 테그가 될 수 있음 (단계별 처리 결과가 달라질 수 있음)
+                isFail = true;
+                return;
+            }
+            flushTagBuffer();
+            buffer.append(c);
+            return;
+        }
+
+        buffer.append(c);
+        if(!isTagOpen && (buffer.length() == 2 || !isNameChar(c)) && !isTagPrefix()){
+            flushTagBuffer();
+        }
+    }
+
+    /**
+     * 뒤에 내용을 더 붙여서 테그가 될 수 있는지 여부
+     * p 테그나 속성 (=) 이 확인되면 '>' 까지 모든 문자가 올 수 있으므로 isTagOpen 으로 더 확인하지 않음
+     */
+    private boolean isTagPrefix(){
+        StringBuilder buffer = tagBuffer;
+        int end = buffer.length();
+        if(end == 1){
+            return true;
+        }
+
+        char first = buffer.charAt(1);
+        if(first == 'p' || first == 'P'){
+            isTagOpen = true;
+            return true;
+        }
+
+        //br 테그는 공백, '/', b, r 로만 구성됨 (일반 테그 규칙에 대부분 포함되므로 간단하게 비교)
+        boolean isBrChar = true;
+        for (int i = 1; i < end ; i++) {
+            char c = buffer.charAt(i);
+            if(!isSpace(c) && c != '/' && c != 'b' && c != 'r' && c != 'B' && c != 'R'){
+                isBrChar = false;
+                break;
+            }
+        }
+        if(isBrChar){
+            return true;
+        }
+
+        int begin = first == '/' ? 2 : 1;
+        if(isNameTag(buffer, begin, end)){
+            return true;
+        }
+
+        int attribute = findAttribute(buffer, begin, end);
+        if(attribute == ATTRIBUTE){
+            isTagOpen = true;
+            return true;
+        }
+        return attribute == ATTRIBUTE_PREFIX;
+    }
+
+    private void flushTagBuffer(){
+        StringBuilder buffer = tagBuffer;
+        for (int i = 0; i < buffer.length() ; i++) {
+            pushEntity(buffer.charAt(i));
+        }
+        buffer.setLength(0);
+    }
+
+    /**
+     * '>' 까지 모은 테그 처리
+     * 정규식 치환 순서와 같이 br, p, 일반 테그 순서로 비교
+     */
+    private void endTag(){
+        StringBuilder buffer = tagBuffer;
+        int end = buffer.length() - 1;
+
+        char first = buffer.charAt(1);
+        if(isBrTag(buffer, 1, end)){
+            pushEntity('\n');
+        }else if(first == 'p' || first == 'P'){
+            pushEntity('\n');
+            pushEntity('\n');
+        }else if(isTag(buffer, 1, end)){
+            if(isSkipScript){
+                startSkip(buffer);
+            }
+        }else{
+            flushTagBuffer();
+            return;
+        }
+        buffer.setLength(0);
+    }
+
+    /**
+     * br 테그 정규식과 일치 여부 ('<' '>' 사이 내용)
+     * 앞: 없음, /, 공백/, /공백  뒤: 없음, 공백/공백
+     */
+    private static boolean isBrTag(CharSequence text, int begin, int end){
+        int index = begin;
+        while (index < end && (isSpace(text.charAt(index)) || text.charAt(index) == '/')){
+            index++;
+        }
+
+        if(index + 1 >= end){
+            return false;
+        }
+
+        char b = text.charAt(index);
+        char r = text.charAt(index + 1);
+        if(!(b == 'b' && r == 'r') && !(b == 'B' && r == 'R')){
+            return false;
+        }
+
+        int slashCount = 0;
+        int slashIndex = -1;
+        for (int i = begin; i < index ; i++) {
+            if(text.charAt(i) == '/'){
+                slashCount++;
+                slashIndex = i;
+            }
+        }
+        if(index > begin && (slashCount != 1 || (slashIndex != begin && slashIndex != index - 1))){
+            return false;
+        }
+
+        slashCount = 0;
+        for (int i = index + 2; i < end ; i++) {
+            char c = text.charAt(i);
+            if(c == '/'){
+                slashCount++;
+            }else if(!isSpace(c)){
+                return false;
+            }
+        }
+        return index + 2 == end || slashCount == 1;
+    }
+
+    /**
+     * 일반 테그 정규식과 일치 여부 ('<' '>' 사이 내용)
+     * (/)? 이름문자* 공백* (/)? 또는 (/)? 이름문자* 공백 속성문자* = 모든문자
+     */
+    private static boolean isTag(CharSequence text, int begin, int end){
+        if(begin < end && text.charAt(begin) == '/'){
+            begin++;
+        }
+        return isNameTag(text, begin, end) || findAttribute(text, begin, end) == ATTRIBUTE;
+    }
+
+    /**
+     * 속성이 없는 테그 (이름 문자와 공백, 마지막 '/')
+     */
+    private static boolean isNameTag(CharSequence text, int begin, int end){
+        if(end > begin && text.charAt(end - 1) == '/'){
+            end--;
+        }
+        for (int i = begin; i < end ; i++) {
+            if(!isNameChar(text.charAt(i))){
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static final int ATTRIBUTE = 1;
+    private static final int ATTRIBUTE_PREFIX = 2;
+    private static final int ATTRIBUTE_NONE = 0;
+
+    /**
+     * 속성 (이름문자* 공백 속성문자* =) 확인
+     * @return int ATTRIBUTE: 속성 있음 (이후는 모든 문자 가능), ATTRIBUTE_PREFIX: 더 읽으면 속성이 될 수 있음, ATTRIBUTE_NONE: 속성이 될 수 없음
+     */
+    private static int findAttribute(CharSequence text, int begin, int end){
+        int space = -1;
+        int underscore = -1;
+        for (int i = begin; i < end ; i++) {
+            char c = text.charAt(i);
+            if(c == '_'){
+                if(underscore == -1){
+                    underscore = i;
+                }
+            }else if(isSpace(c)){
+                if(space == -1){
+                    space = i;
+                }
+            }else if(!isNameChar(c)){
+                if(c == '=' && space != -1 && (underscore == -1 || space < underscore)){
+                    return ATTRIBUTE;
+                }
+                return ATTRIBUTE_NONE;
+            }
+        }
+
+        if(underscore == -1 || (space != -1 && space < underscore)){
+            return ATTRIBUTE_PREFIX;
+        }
+        return ATTRIBUTE_NONE;
+    }
+
+    /**
+     * [\\?:a-zA-Z0-9\\-\\s]
+     */
+    private static boolean isNameChar(char c){
+        return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9')
+                || c == '?' || c == ':' || c == '-' || isSpace(c);
+    }
+
+    /**
+     * 정규식 \\s
+     */
+    private static boolean isSpace(char c){
+        return c == ' ' || c == '\t' || c == '\n' || c == '\u000B' || c == '\f' || c == '\r';
+    }
+
+    private void startSkip(StringBuilder tag){
+        String name = getTagName(tag);
+        if(name.equalsIgnoreCase("script")){
+            skipEnd = "</script";
+        }else if(name.equalsIgnoreCase("style")){
+            skipEnd = "</style";
+        }
+        skipBuffer.setLength(0);
+    }
+
+    private static String getTagName(StringBuilder tag){
+        int begin = 1;
+        int end = begin;
+        int length = tag.length();
+        while (end < length){
+            char c = tag.charAt(end);
+            if(!Character.isLetterOrDigit(c)){
+                break;
+            }
+            end++;
+        }
+        return tag.substring(begin, end);
+    }
+
+    /**
+     * script, style 내용 제외
+     * 닫는 테그 시작이 나오면 테그 처리로 넘김
+     */
+    private void skip(char c){
+        int index = skipBuffer.length();
+        if(Character.toLowerCase(c) == skipEnd.charAt(index)){
+            skipBuffer.append(c);
+            if(skipBuffer.length() == skipEnd.length()){
+                skipEnd = null;
+                tagBuffer.setLength(0);
+                tagBuffer.append(skipBuffer);
+                skipBuffer.setLength(0);
+            }
+            return;
+        }
+
+        skipBuffer.setLength(0);
+        if(c == '<'){
+            skipBuffer.append(c);
+        }
+    }
+
+    /**
+     * 엔트리 변환
+     * ENTITIES 순서대로 비교하고 남은 &[a-z0-9#]+; 는 제거
+     */
+    private void pushEntity(char c){
+        if(!isEntity){
+            if(c == '&'){
+                isEntity = true;
+                entityIndex = 0;
+                entityBuffer.setLength(0);
+            }else if(c == '\u200B' || c == '\uFEFF'){
+                pushSpace('\n');
+            }else{
+                pushSpace(c);
+            }
+            return;
+        }
+
+        if(c == '&' || !isEntityChar(c)){
+            resolveEntity();
+            pushEntity(c);
+            return;
+        }
+
+        entityBuffer.append(c);
+        if(c == ';'){
+            resolveEntity();
+        }
+    }
+
+    private static boolean isEntityChar(char c){
+        return (c >= 'a' && c <= 'z') || (c >= '0' && c <= '9') || c == '#' || c == ';' || c == 'D';
+    }
+
+    private void resolveEntity(){
+        StringBuilder buffer = entityBuffer;
+        int length = buffer.length();
+
+        for (int i = entityIndex; i < ENTITIES.length ; i++) {
+            String name = ENTITIES[i][0];
+            if(length != name.length() || !isPrefix(buffer, 0, length, name)){
+                continue;
+            }
+
+            String value = ENTITIES[i][1];
+            if(value.equals("&")){
+                //& 로 바뀐 후 뒤에 오는 내용과 다음 엔트리들을 비교
+                buffer.setLength(0);
+                entityIndex = i + 1;
+                return;
+            }
+
+            isEntity = false;
+            pushSpace(value.charAt(0));
+            return;
+        }
+
+        isEntity = false;
+
+        if(length > 1 && buffer.charAt(length - 1) == ';'){
+            boolean isRemove = true;
+            for (int i = 0; i < length - 1 ; i++) {
+                char c = buffer.charAt(i);
+                if(c == 'D' || c == ';'){
+                    isRemove = false;
+                    break;
+                }
+            }
+            if(isRemove){
+                //기타 엔트리 제거
+                return;
+            }
+        }
+
+        pushSpace('&');
+        for (int i = 0; i < length ; i++) {
+            pushSpace(buffer.charAt(i));
+        }
+    }
+
+    /**
+     * 줄바꿈 앞뒤 space 제거, 연속 줄바꿈을 하나로
+     */
+    private void pushSpace(char c){
+        if(c == ' '){
+            spaceCount++;
+            return;
+        }
+
+        if(c == '\n'){
+            isSpaceNewline = true;
+            return;
+        }
+
+        flushSpace();
+        write(c);
+    }
+
+    private void flushSpace(){
+        if(isSpaceNewline){
+            write('\n');
+        }else{
+            for (int i = 0; i < spaceCount ; i++) {
+                write(' ');
+            }
+        }
+        spaceCount = 0;
+        isSpaceNewline = false;
+    }
+
+    private void write(char c){
+        if(!isOutStart){
+            //trim
+            if(c <= ' '){
+                return;
+            }
+            isOutStart = true;
+        }
+        out.append(c);
+    }
+}
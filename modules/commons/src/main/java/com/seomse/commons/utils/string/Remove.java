@@ -90,13 +90,44 @@ public class Remove {
         return list.toArray(new String[0]);
     }
 
+    private static final ThreadLocal<HtmlText> HTML_TEXT = ThreadLocal.withInitial(HtmlText::new);
+
     /**
      * HTML테그를 제거한다
+     * 입력을 한번만 읽는 HtmlText 로 처리하고 결과가 다를 수 있는 입력은 htmlTagRegex 로 처리 (결과는 htmlTagRegex 와 같음)
      * @param str String 문자열
      * @return String
      */
-    @SuppressWarnings({"RegExpSingleCharAlternation", "RegExpRedundantEscape"})
     public static String htmlTag(String str){
+        if(HTML_ENTER_ENTRY.length == 0){
+            String text = HTML_TEXT.get().toText(str);
+            if(text != null){
+                return text;
+            }
+        }
+        return htmlTagRegex(str);
+    }
+
+    /**
+     * HTML테그를 제거한 결과를 out 에 추가
+     * 결과를 담을 StringBuilder 를 재사용 할 때 사용
+     * @param str CharSequence 문자열
+     * @param out StringBuilder 결과를 추가할 객체
+     */
+    public static void htmlTag(CharSequence str, StringBuilder out){
+        if(HTML_ENTER_ENTRY.length == 0 && HTML_TEXT.get().append(str, out)){
+            return;
+        }
+        out.append(htmlTagRegex(str.toString()));
+    }
+
+    /**
+     * HTML테그를 제거한다 (정규식, 문자열 치환을 단계별로 적용)
+     * @param str String 문자열
+     * @return String
+     */
+    @SuppressWarnings({"RegExpSingleCharAlternation", "RegExpRedundantEscape"})
+    public static String htmlTagRegex(String str){
 
         str = str.replace("<p>","\n");
         str = str.replace(" ","");
@@ -0,0 +1,349 @@
+package com.seomse.commons.utils.string;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 문자열 구간
+ * 원본 문자열과 시작, 끝 위치만 가지는 CharSequence 로 찾기, 사이값 등의 결과도 복사하지 않은 구간으로 돌려줌
+ * 큰 문서에서 범위를 좁혀가며 값을 찾을 때 중간 문자열을 만들지 않고 마지막 값만 toString 으로 문자열을 만듬
+ * 위치는 모두 구간 기준 (0 ~ length)
+ * 구간이 원본 문자열을 참조하므로 작은 구간을 오래 보관해야 하면 toString 으로 복사하여 보관 할 것
+ * @author macle
+ */
+public class TextRegion implements CharSequence {
+
+    private final String text;
+    private final int begin;
+    private final int end;
+
+    /**
+     * 생성자 (문자열 전체)
+     * @param text String 원본 문자열
+     */
+    public TextRegion(String text){
+        this(text, 0, text.length());
+    }
+
+    /**
+     * 생성자
+     * @param text String 원본 문자열
+     * @param begin int 원본 기준 시작 위치
+     * @param end int 원본 기준 끝 위치
+     */
+    public TextRegion(String text, int begin, int end){
+        if(begin < 0 || end > text.length() || begin > end){
+            throw new StringIndexOutOfBoundsException("begin " + begin + ", end " + end + ", length " + text.length());
+        }
+        this.text = text;
+        this.begin = begin;
+        this.end = end;
+    }
+
+    /**
+     * @return String 원본 문자열
+     */
+    public String getText() {
+        return text;
+    }
+
+    /**
+     * @return int 원본 기준 시작 위치
+     */
+    public int getBegin() {
+        return begin;
+    }
+
+    /**
+     * @return int 원본 기준 끝 위치
+     */
+    public int getEnd() {
+        return end;
+    }
+
+    @Override
+    public int length() {
+        return end - begin;
+    }
+
+    @Override
+    public char charAt(int index) {
+        if(index < 0 || index >= end - begin){
+            throw new StringIndexOutOfBoundsException(index);
+        }
+        return text.charAt(begin + index);
+    }
+
+    @Override
+    public TextRegion subSequence(int start, int end) {
+        if(start < 0 || end > length() || start > end){
+            throw new StringIndexOutOfBoundsException("start " + start + ", end " + end + ", length " + length());
+        }
+        if(start == 0 && end == length()){
+            return this;
+        }
+        return new TextRegion(text, begin + start, begin + end);
+    }
+
+    /**
+     * 구간 (subSequence 와 같음)
+     * @param start int 시작 위치
+     * @param end int 끝 위치
+     * @return TextRegion
+     */
+    public TextRegion region(int start, int end){
+        return subSequence(start, end);
+    }
+
+    /**
+     * 위치 부터 끝까지의 구간
+     * @param start int 시작 위치
+     * @return TextRegion
+     */
+    public TextRegion region(int start){
+        return subSequence(start, length());
+    }
+
+    /**
+     * @param str String 찾을 문자열
+     * @return int 처음 위치, 없으면 -1
+     */
+    public int indexOf(String str){
+        return indexOf(str, 0);
+    }
+
+    /**
+     * @param str String 찾을 문자열
+     * @param fromIndex int 찾기 시작 위치
+     * @return int 처음 위치, 없으면 -1
+     */
+    public int indexOf(String str, int fromIndex){
+        int length = end - begin;
+        if(fromIndex < 0){
+            fromIndex = 0;
+        }
+        if(fromIndex > length){
+            return str.isEmpty() ? length : -1;
+        }
+
+        if(end == text.length()){
+            //구간 끝이 원본 끝이면 String.indexOf 사용
+            int index = text.indexOf(str, begin + fromIndex);
+            return index == -1 ? -1 : index - begin;
+        }
+
+        int strLength = str.length();
+        if(strLength == 0){
+            return fromIndex;
+        }
+
+        char first = str.charAt(0);
+        int max = end - strLength;
+        for (int i = begin + fromIndex; i <= max ; i++) {
+            if(text.charAt(i) == first && text.regionMatches(i + 1, str, 1, strLength - 1)){
+                return i - begin;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * @param str String 찾을 문자열
+     * @return int 마지막 위치, 없으면 -1
+     */
+    public int lastIndexOf(String str){
+        return lastIndexOf(str, length());
+    }
+
+    /**
+     * @param str String 찾을 문자열
+     * @param fromIndex int 이 위치 이하에서 시작하는 문자열을 찾음
+     * @return int 마지막 위치, 없으면 -1
+     */
+    public int lastIndexOf(String str, int fromIndex){
+        int max = Math.min(fromIndex, length() - str.length());
+        if(max < 0){
+            return -1;
+        }
+
+        if(begin == 0){
+            //구간 시작이 원본 시작이면 String.lastIndexOf 사용
+            return text.lastIndexOf(str, max);
+        }
+
+        for (int i = begin + max; i >= begin ; i--) {
+            if(text.startsWith(str, i)){
+                return i - begin;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * @param str String 찾을 문자열
+     * @return boolean 포함 여부
+     */
+    public boolean contains(String str){
+        return indexOf(str) != -1;
+    }
+
+    /**
+     * @param prefix String
+     * @return boolean 시작 문자열 여부
+     */
+    public boolean startsWith(String prefix){
+        return prefix.length() <= length() && text.startsWith(prefix, begin);
+    }
+
+    /**
+     * @param suffix String
+     * @return boolean 끝 문자열 여부
+     */
+    public boolean endsWith(String suffix){
+        return suffix.length() <= length() && text.startsWith(suffix, end - suffix.length());
+    }
+
+    /**
+     * 문자열을 찾은 구간
+     * @param str String 찾을 문자열
+     * @return TextRegion 없으면 null
+     */
+    public TextRegion find(String str){
+        int index = indexOf(str);
+        if(index == -1){
+            return null;
+        }
+        return subSequence(index, index + str.length());
+    }
+
+    /**
+     * 처음 찾은 문자열 뒤 부터 끝까지의 구간
+     * @param str String 찾을 문자열
+     * @return TextRegion 없으면 null
+     */
+    public TextRegion after(String str){
+        int index = indexOf(str);
+        if(index == -1){
+            return null;
+        }
+        return region(index + str.length());
+    }
+
+    /**
+     * 처음부터 처음 찾은 문자열 앞 까지의 구간
+     * @param str String 찾을 문자열
+     * @return TextRegion 없으면 null
+     */
+    public TextRegion before(String str){
+        int index = indexOf(str);
+        if(index == -1){
+            return null;
+        }
+        return subSequence(0, index);
+    }
+
+    /**
+     * 사이 구간 (BetweenString.getBetween 과 같음)
+     * @param beginStr String 시작 문자열
+     * @param endStr String 끝 문자열
+     * @return TextRegion 없으면 null
+     */
+    public TextRegion between(String beginStr, String endStr){
+        int startIndex = indexOf(beginStr);
+        if(startIndex == -1){
+            return null;
+        }
+
+        startIndex += beginStr.length();
+        int endIndex = indexOf(endStr, startIndex);
+        if(endIndex == -1){
+            return null;
+        }
+        return subSequence(startIndex, endIndex);
+    }
+
+    /**
+     * 사이 구간 전체
+     * 찾은 끝 문자열 뒤에서 다음 시작 문자열을 찾음
+     * @param beginStr String 시작 문자열
+     * @param endStr String 끝 문자열
+     * @return List 사이 구간 (순서대로)
+     */
+    public List<TextRegion> betweenAll(String beginStr, String endStr){
+        List<TextRegion> list = new ArrayList<>();
+        int fromIndex = 0;
+        for(;;){
+            int startIndex = indexOf(beginStr, fromIndex);
+            if(startIndex == -1){
+                break;
+            }
+
+            startIndex += beginStr.length();
+            int endIndex = indexOf(endStr, startIndex);
+            if(endIndex == -1){
+                break;
+            }
+            list.add(subSequence(startIndex, endIndex));
+
+            int next = endIndex + endStr.length();
+            //빈 문자열로 같은 위치를 반복하지 않게 함
+            fromIndex = next == fromIndex ? next + 1 : next;
+            if(fromIndex > length()){
+                break;
+            }
+        }
+        return list;
+    }
+
+    /**
+     * 앞뒤 공백 제거 구간 (String.trim 과 같은 기준)
+     * @return TextRegion
+     */
+    public TextRegion trim(){
+        int trimBegin = begin;
+        int trimEnd = end;
+        while (trimBegin < trimEnd && text.charAt(trimBegin) <= ' '){
+            trimBegin++;
+        }
+        while (trimEnd > trimBegin && text.charAt(trimEnd - 1) <= ' '){
+            trimEnd--;
+        }
+        if(trimBegin == begin && trimEnd == end){
+            return this;
+        }
+        return new TextRegion(text, trimBegin, trimEnd);
+    }
+
+    /**
+     * 내용 비교
+     * @param cs CharSequence
+     * @return boolean 내용이 같은지 여부
+     */
+    public boolean contentEquals(CharSequence cs){
+        int length = length();
+        if(cs.length() != length){
+            return false;
+        }
+        if(cs instanceof String){
+            return text.regionMatches(begin, (String)cs, 0, length);
+        }
+        for (int i = 0; i < length ; i++) {
+            if(text.charAt(begin + i) != cs.charAt(i)){
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 구간 문자열 생성
+     * @return String
+     */
+    @Override
+    public String toString() {
+        if(begin == 0 && end == text.length()){
+            return text;
+        }
+        return text.substring(begin, end);
+    }
+}
@@ -0,0 +1,522 @@
+/*
+ * Copyright (C) 2020 Seomse Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.seomse.commons.utils.string.highlight;
+
+import com.seomse.commons.data.BeginEnd;
+import com.seomse.commons.data.BeginEndImpl;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 키워드 하이라이트
+ * 키워드 묶음으로 Aho-Corasick 오토마톤을 한번 만들어 두고 문서마다 본문을 한번만 읽어서 모든 키워드 위치를 찾음
+ * 오토마톤은 문자 (char) 단위이고 상태별 전이는 정렬된 배열로 보관 하므로 메모리는 키워드 전체 길이에 비례함
+ * 같은 위치에서 시작하는 키워드는 긴 것을 우선하고 겹치는 위치는 앞에서 부터 선택
+ * 요약 구간은 길이 안에 포함되는 키워드 종류 수, 건수가 가장 많은 구간을 슬라이딩 윈도우로 선택
+ *
+ * 토큰을 전달하지 않으면 본문 어디서나 키워드를 찾음 (단어 중간, 한글자 키워드 포함)
+ * 토큰을 전달하면 StringHighlight.make 와 같은 토큰 경계 기준을 사용함
+ *     한글자 키워드는 토큰과 같을 때만, 두글자 이상 키워드는 토큰의 앞 또는 뒤와 같을 때만 찾음
+ *
+ * 생성 후 변경되지 않으므로 여러 쓰레드에서 같이 사용 가능
+ * @author macle
+ */
+public class KeywordHighlight {
+
+    private final String [] keywords;
+
+    private final Matcher matcher;
+
+    /**
+     * 생성자
+     * @param keywords String [] 하이라이트 키워드 (빈 문자열, 중복은 제외)
+     */
+    public KeywordHighlight(String... keywords){
+        Set<String> keywordSet = new LinkedHashSet<>();
+        for(String keyword : keywords){
+            if(keyword == null || keyword.isEmpty()){
+                continue;
+            }
+            keywordSet.add(keyword);
+        }
+        this.keywords = keywordSet.toArray(new String[0]);
+        matcher = new Matcher(this.keywords);
+    }
+
+    /**
+     * @return String [] 키워드 (중복, 빈 문자열 제외)
+     */
+    public String[] getKeywords() {
+        return keywords.clone();
+    }
+
+    /**
+     * 키워드 위치 찾기
+     * @param text CharSequence 본문
+     * @return BeginEnd [] 키워드 위치 (시작위치 순, 겹치지 않음)
+     */
+    public BeginEnd [] find(CharSequence text){
+        return toBeginEnds(match(text, null));
+    }
+
+    /**
+     * 토큰 경계 기준으로 키워드 위치 찾기 (StringHighlight.make 와 같은 기준)
+     * @param text CharSequence 본문
+     * @param tokens String [] 토큰
+     * @param tokenIndexes int [] 토큰 시작위치
+     * @return BeginEnd [] 키워드 위치 (시작위치 순, 겹치지 않음)
+     */
+    public BeginEnd [] find(CharSequence text, String [] tokens, int [] tokenIndexes){
+        return toBeginEnds(match(text, new TokenBounds(text.length(), tokens, tokenIndexes)));
+    }
+
+    private BeginEnd [] toBeginEnds(Matches matches){
+        BeginEnd [] beginEnds = new BeginEnd[matches.size];
+        for (int i = 0; i < matches.size ; i++) {
+            beginEnds[i] = new BeginEndImpl(matches.begins[i], matches.ends[i]);
+        }
+        return beginEnds;
+    }
+
+    /**
+     * 본문에서 키워드 위치 찾기
+     * 시작위치별 가장 긴 키워드를 기록한 후 앞에서 부터 겹치지 않게 선택
+     * @param tokenBounds TokenBounds 토큰 경계 (null 이면 경계 검사를 하지 않음)
+     */
+    private Matches match(CharSequence text, TokenBounds tokenBounds){
+        int length = text.length();
+        Matches matches = new Matches();
+        if(keywords.length == 0 || length == 0){
+            return matches;
+        }
+
+        //시작위치별 가장 긴 키워드 번호 + 1 (0 이면 없음)
+        int [] longest = null;
+
+        int state = 0;
+        for (int i = 0; i < length ; i++) {
+            state = matcher.next(state, text.charAt(i));
+
+            for(int outputState = matcher.getOutput(state); outputState != -1 ; outputState = matcher.outputLinks[outputState]){
+                int keywordIndex = matcher.outputs[outputState];
+                int keywordLength = keywords[keywordIndex].length();
+                int begin = i - keywordLength + 1;
+                if(tokenBounds != null && !tokenBounds.isMatch(begin, i + 1)){
+                    continue;
+                }
+                if(longest == null){
+                    longest = new int[length];
+                }
+                int current = longest[begin];
+                if(current == 0 || keywords[current - 1].length() < keywordLength){
+                    longest[begin] = keywordIndex + 1;
+                }
+            }
+        }
+
+        if(longest == null){
+            return matches;
+        }
+
+        int i = 0;
+        while (i < length){
+            if(longest[i] == 0){
+                i++;
+                continue;
+            }
+            int keywordIndex = longest[i] - 1;
+            int end = i + keywords[keywordIndex].length();
+            matches.add(keywordIndex, i, end);
+            i = end;
+        }
+        return matches;
+    }
+
+    /**
+     * Highlight 문자열 생성
+     * @param text String 본문
+     * @param pre String 키워드 앞에 붙일 문자열
+     * @param post String 키워드 뒤에 붙일 문자열
+     * @param length int 요약 길이
+     * @return String
+     */
+    public String make(String text, String pre, String post, int length){
+        return make(text, null, pre, post, length);
+    }
+
+    /**
+     * Highlight 문자열 생성
+     * 키워드가 가장 많이 포함된 구간을 선택하고 문장 시작 또는 공백 위치까지 앞으로 확장한 후 남은 길이 만큼 뒤로 확장
+     * @param text String 본문
+     * @param splitBeginEnds BeginEnd [] 문장 구간 (null 이면 공백 기준으로만 확장)
+     * @param pre String 키워드 앞에 붙일 문자열
+     * @param post String 키워드 뒤에 붙일 문자열
+     * @param length int 요약 길이
+     * @return String
+     */
+    public String make(String text, BeginEnd [] splitBeginEnds, String pre, String post, int length){
+        return make(text, match(text, null), splitBeginEnds, pre, post, length);
+    }
+
+    /**
+     * 토큰 경계 기준 Highlight 문자열 생성
+     * 키워드를 찾는 기준은 StringHighlight.make 와 같음
+     * @param text String 본문
+     * @param tokens String [] 토큰
+     * @param tokenIndexes int [] 토큰 시작위치
+     * @param splitBeginEnds BeginEnd [] 문장 구간 (null 이면 공백 기준으로만 확장)
+     * @param pre String 키워드 앞에 붙일 문자열
+     * @param post String 키워드 뒤에 붙일 문자열
+     * @param length int 요약 길이
+     * @return String
+     */
+    public String make(String text, String [] tokens, int [] tokenIndexes, BeginEnd [] splitBeginEnds, String pre, String post, int length){
+        return make(text, match(text, new TokenBounds(text.length(), tokens, tokenIndexes)), splitBeginEnds, pre, post, length);
+    }
+
+    private String make(String text, Matches matches, BeginEnd [] splitBeginEnds, String pre, String post, int length){
+        if(matches.size == 0){
+            if(length > text.length()){
+                return text;
+            }else{
+                return text.substring(0, length);
+            }
+        }
+
+        int [] window = selectWindow(matches, length);
+        int first = window[0];
+        int last = window[1];
+
+        int highlightBegin;
+        int highlightEnd;
+
+        if(text.length() < length){
+            highlightBegin = 0;
+            highlightEnd = text.length();
+        }else{
+            highlightBegin = matches.begins[first];
+            highlightEnd = matches.ends[last];
+
+            int gap = length - (highlightEnd - highlightBegin);
+
+            int splitBegin = -1;
+            if(splitBeginEnds != null){
+                for (BeginEnd beginEnd : splitBeginEnds) {
+                    if (beginEnd.getBegin() <= highlightBegin && beginEnd.getEnd() > highlightBegin) {
+                        splitBegin = beginEnd.getBegin();
+                        break;
+                    }
+                }
+            }
+
+            //앞부분 확장
+            if(splitBegin != -1 && highlightEnd - splitBegin < length){
+                highlightBegin = splitBegin;
+            }else{
+                int spaceIndex = text.lastIndexOf(' ', highlightBegin);
+                if(spaceIndex == -1){
+                    if(highlightBegin < gap){
+                        highlightBegin = 0;
+                    }
+                }else{
+                    int checkIndex = spaceIndex + 1;
+                    if(checkIndex != highlightBegin && highlightBegin - checkIndex < gap){
+                        highlightBegin = checkIndex;
+                    }
+                }
+            }
+
+            //뒷 부분 확장
+            gap = length - (highlightEnd - highlightBegin);
+            highlightEnd = Math.min(highlightEnd + gap, text.length());
+        }
+
+        StringBuilder sb = new StringBuilder(highlightEnd - highlightBegin + (pre.length() + post.length()) * (last - first + 1) + 3);
+        int lastIndex = highlightBegin;
+        for (int i = 0; i < matches.size ; i++) {
+            int begin = matches.begins[i];
+            int end = matches.ends[i];
+            if(begin < highlightBegin || end > highlightEnd){
+                continue;
+            }
+            sb.append(text, lastIndex, begin);
+            sb.append(pre).append(text, begin, end).append(post);
+            lastIndex = end;
+        }
+        sb.append(text, lastIndex, highlightEnd);
+
+        if(highlightEnd != text.length()){
+            sb.append("...");
+        }
+        return sb.toString();
+    }
+
+    /**
+     * 길이 안에 들어가는 키워드 구간 중 키워드 종류 수, 건수가 가장 많은 구간 (같으면 앞 구간)
+     * @return int [] {시작 번호, 끝 번호}
+     */
+    private int [] selectWindow(Matches matches, int length){
+        int [] counts = new int[keywords.length];
+        int distinct = 0;
+
+        int bestFirst = 0;
+        int bestLast = 0;
+        int bestDistinct = 0;
+        int bestCount = 0;
+
+        int right = 0;
+        for (int left = 0; left < matches.size ; left++) {
+            if(right < left){
+                right = left;
+            }
+
+            while (right < matches.size && (right == left || matches.ends[right] - matches.begins[left] <= length)){
+                if(counts[matches.keywordIndexes[right]]++ == 0){
+                    distinct++;
+                }
+                right++;
+            }
+
+            int count = right - left;
+            if(distinct > bestDistinct || (distinct == bestDistinct && count > bestCount)){
+                bestDistinct = distinct;
+                bestCount = count;
+                bestFirst = left;
+                bestLast = right - 1;
+                if(distinct == keywords.length && right == matches.size){
+                    break;
+                }
+            }
+
+            if(--counts[matches.keywordIndexes[left]] == 0){
+                distinct--;
+            }
+        }
+
+        return new int[]{bestFirst, bestLast};
+    }
+
+    /**
+     * 토큰 경계
+     * StringHighlight.make 의 기준: 토큰과 같거나, 두글자 이상 키워드는 토큰의 앞 또는 뒤와 같음
+     */
+    private static class TokenBounds {
+        //시작위치별 가장 긴 토큰의 끝 (없으면 -1)
+        private final int [] maxEnds;
+        //끝위치별 가장 긴 토큰의 시작 (없으면 -1)
+        private final int [] minBegins;
+        //한글자 토큰 시작위치
+        private final boolean [] isOneChars;
+
+        TokenBounds(int length, String [] tokens, int [] tokenIndexes){
+            maxEnds = new int[length + 1];
+            minBegins = new int[length + 1];
+            isOneChars = new boolean[length + 1];
+            Arrays.fill(maxEnds, -1);
+            Arrays.fill(minBegins, -1);
+
+            for (int i = 0; i < tokens.length ; i++) {
+                int begin = tokenIndexes[i];
+                int end = begin + tokens[i].length();
+                if(begin < 0 || end > length || begin == end){
+                    continue;
+                }
+                if(maxEnds[begin] < end){
+                    maxEnds[begin] = end;
+                }
+                if(minBegins[end] == -1 || minBegins[end] > begin){
+                    minBegins[end] = begin;
+                }
+                if(end - begin == 1){
+                    isOneChars[begin] = true;
+                }
+            }
+        }
+
+        boolean isMatch(int begin, int end){
+            if(end - begin == 1){
+                return isOneChars[begin];
+            }
+            //토큰의 앞
+            if(maxEnds[begin] >= end){
+                return true;
+            }
+            //토큰의 뒤
+            return minBegins[end] != -1 && minBegins[end] <= begin;
+        }
+    }
+
+    /**
+     * 문자 단위 Aho-Corasick 오토마톤
+     * 상태별 전이는 정렬된 문자 배열에서 이진 검색 하므로 상태 수 만큼의 고정 크기 배열을 만들지 않음
+     */
+    private static class Matcher {
+        //상태별 전이: keys[transitionBegins[s] .. transitionBegins[s+1]) 정렬된 문자, targets 는 다음 상태
+        final int [] transitionBegins;
+        final char [] keys;
+        final int [] targets;
+        final int [] fails;
+        //상태에서 끝나는 키워드 번호 (없으면 -1)
+        final int [] outputs;
+        //실패 경로에서 키워드가 끝나는 다음 상태 (없으면 -1)
+        final int [] outputLinks;
+
+        Matcher(String [] patterns){
+            List<Map<Character, Integer>> trie = new ArrayList<>();
+            trie.add(new HashMap<>());
+            List<Integer> outputList = new ArrayList<>();
+            outputList.add(-1);
+
+            for (int i = 0; i < patterns.length ; i++) {
+                String pattern = patterns[i];
+                int state = 0;
+                for (int j = 0; j < pattern.length() ; j++) {
+                    Map<Character, Integer> children = trie.get(state);
+                    Integer next = children.get(pattern.charAt(j));
+                    if(next == null){
+                        next = trie.size();
+                        children.put(pattern.charAt(j), next);
+                        trie.add(new HashMap<>());
+                        outputList.add(-1);
+                    }
+                    state = next;
+                }
+                outputList.set(state, i);
+            }
+
+            int stateCount = trie.size();
+            transitionBegins = new int[stateCount + 1];
+            keys = new char[stateCount - 1];
+            targets = new int[stateCount - 1];
+
+            int index = 0;
+            for (int i = 0; i < stateCount ; i++) {
+                transitionBegins[i] = index;
+                Map<Character, Integer> children = trie.get(i);
+                char [] chars = new char[children.size()];
+                int charIndex = 0;
+                for(char c : children.keySet()){
+                    chars[charIndex++] = c;
+                }
+                Arrays.sort(chars);
+                for(char c : chars){
+                    keys[index] = c;
+                    targets[index] = children.get(c);
+                    index++;
+                }
+                //전이 배열로 옮긴 후에는 필요 없으므로 바로 해제
+                trie.set(i, null);
+            }
+            transitionBegins[stateCount] = index;
+
+            outputs = new int[stateCount];
+            for (int i = 0; i < stateCount ; i++) {
+                outputs[i] = outputList.get(i);
+            }
+
+            fails = new int[stateCount];
+            outputLinks = new int[stateCount];
+            Arrays.fill(outputLinks, -1);
+
+            int [] queue = new int[stateCount];
+            int head = 0;
+            int tail = 0;
+            for (int i = transitionBegins[0]; i < transitionBegins[1] ; i++) {
+                queue[tail++] = targets[i];
+            }
+
+            while (head < tail){
+                int state = queue[head++];
+                for (int i = transitionBegins[state]; i < transitionBegins[state + 1] ; i++) {
+                    int child = targets[i];
+                    int failState = next(fails[state], keys[i]);
+                    fails[child] = failState;
+                    outputLinks[child] = outputs[failState] != -1 ? failState : outputLinks[failState];
+                    queue[tail++] = child;
+                }
+            }
+        }
+
+        /**
+         * 다음 상태 (전이가 없으면 실패 링크를 따라감)
+         */
+        int next(int state, char c){
+            for(;;){
+                int target = transition(state, c);
+                if(target != -1){
+                    return target;
+                }
+                if(state == 0){
+                    return 0;
+                }
+                state = fails[state];
+            }
+        }
+
+        private int transition(int state, char c){
+            int low = transitionBegins[state];
+            int high = transitionBegins[state + 1] - 1;
+            while (low <= high){
+                int mid = (low + high) >>> 1;
+                char key = keys[mid];
+                if(key < c){
+                    low = mid + 1;
+                }else if(key > c){
+                    high = mid - 1;
+                }else{
+                    return targets[mid];
+                }
+            }
+            return -1;
+        }
+
+        /**
+         * 상태에서 끝나는 첫 키워드 상태 (없으면 -1)
+         */
+        int getOutput(int state){
+            return outputs[state] != -1 ? state : outputLinks[state];
+        }
+    }
+
+    /**
+     * 찾은 키워드 위치 목록
+     */
+    private static class Matches {
+        int [] keywordIndexes = new int[16];
+        int [] begins = new int[16];
+        int [] ends = new int[16];
+        int size = 0;
+
+        void add(int keywordIndex, int begin, int end){
+            if(size == begins.length){
+                keywordIndexes = Arrays.copyOf(keywordIndexes, size * 2);
+                begins = Arrays.copyOf(begins, size * 2);
+                ends = Arrays.copyOf(ends, size * 2);
+            }
+            keywordIndexes[size] = keywordIndex;
+            begins[size] = begin;
+            ends[size] = end;
+            size++;
+        }
+    }
+}
@@ -31,6 +31,7 @@ public class StringHighlight {
     /**
      * 토큰 중복위치에 따른 처리가 필요함
      * Highlight 문자열 생성
+     * 같은 키워드로 여러 문서를 처리할 때는 KeywordHighlight 의 토큰 make 를 사용 (키워드를 찾는 토큰 경계 기준은 같고 요약 구간 선택 방식은 다름)
      * @param text String
      * @param tokens String []
      * @param tokenIndexes int []
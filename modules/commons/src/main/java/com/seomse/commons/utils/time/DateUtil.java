@@ -22,10 +22,15 @@ import lombok.extern.slf4j.Slf4j;
 
 import java.text.ParseException;
 import java.text.SimpleDateFormat;
+import java.time.Instant;
 import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
 import java.util.Calendar;
 import java.util.Date;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.TimeZone;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Date 관련 유틸성 메소드
@@ -37,7 +42,83 @@ public class DateUtil {
 
 	
 	public final static String DEFAULT_DATE_FORMATTER = "yyyyMMddHHmmss";
-	
+
+	//패턴별 DateTimeFormatter (불변 객체라 스레드간 공유)
+	private static final Map<String, DateTimeFormatter> FORMATTER_MAP = new ConcurrentHashMap<>();
+
+	//패턴별 SimpleDateFormat (스레드 안전하지 않아서 스레드별로 재사용)
+	private static final ThreadLocal<Map<String, SimpleDateFormat>> SIMPLE_DATE_FORMAT_MAP = ThreadLocal.withInitial(HashMap::new);
+
+	//java.time 과 결과가 같은 최소 시간 (1901-01-02 UTC)
+	//SimpleDateFormat 은 그레고리력 시작일(1582-10-15) 이전을 율리우스력으로 표현하고 1900년 이전 지역 평균시(LMT) 처리가 다름
+	static final long COMPATIBLE_MIN_TIME = -2177366400000L;
+
+	//스레드별 Calendar 재사용
+	private static final ThreadLocal<Calendar> CALENDAR = ThreadLocal.withInitial(Calendar::getInstance);
+
+	/**
+	 * 패턴의 DateTimeFormatter 얻기
+	 * 패턴별로 한번만 생성하여 공유함
+	 * @param dateFormatter String 날짜포맷 문자열 ex) yyyyMMdd
+	 * @return DateTimeFormatter
+	 */
+	public static DateTimeFormatter getFormatter(String dateFormatter){
+		DateTimeFormatter formatter = FORMATTER_MAP.get(dateFormatter);
+		if(formatter == null){
+			formatter = FORMATTER_MAP.computeIfAbsent(dateFormatter, DateTimeFormatter::ofPattern);
+		}
+		return formatter;
+	}
+
+	/**
+	 * 현재 스레드에서 재사용하는 SimpleDateFormat 얻기
+	 * 호출 할때마다 timezone 을 설정하므로 다른 스레드에 넘기거나 보관하지 말 것
+	 * 공유 객체이므로 패키지 (DateUtil, YmdUtil) 내부 에서만 사용
+	 * @param dateFormatter String 날짜포맷 문자열 ex) yyyyMMdd
+	 * @param zoneId ZoneId null 이면 시스템 기본
+	 * @return SimpleDateFormat
+	 */
+	static SimpleDateFormat getSimpleDateFormat(String dateFormatter, ZoneId zoneId){
+		SimpleDateFormat sdf = SIMPLE_DATE_FORMAT_MAP.get().computeIfAbsent(dateFormatter, SimpleDateFormat::new);
+		sdf.setTimeZone(zoneId == null ? TimeZone.getDefault() : TimeZone.getTimeZone(zoneId));
+		return sdf;
+	}
+
+	/**
+	 * SimpleDateFormat 과 DateTimeFormatter 의 출력이 같은 패턴인지
+	 * 숫자형 년(yy, yyyy), 월(MM), 일, 시, 분, 초와 밀리초(SSS) 및 구분 문자만 허용
+	 * DateTimeFormatter 예약 문자 ([, ], #, {, }) 는 SimpleDateFormat 에서 일반 문자라 제외
+	 */
+	private static boolean isFormatterCompatible(String dateFormatter){
+		int length = dateFormatter.length();
+		for (int i = 0; i < length ; ) {
+			char ch = dateFormatter.charAt(i);
+			int runEnd = i + 1;
+			while (runEnd < length && dateFormatter.charAt(runEnd) == ch){
+				runEnd++;
+			}
+			int run = runEnd - i;
+			i = runEnd;
+
+			if(ch == 'y'){
+				if(run != 2 && run != 4){
+					return false;
+				}
+			}else if(ch == 'M' || ch == 'd' || ch == 'H' || ch == 'm' || ch == 's'){
+				if(run > 2){
+					return false;
+				}
+			}else if(ch == 'S'){
+				if(run != 3){
+					return false;
+				}
+			}else if((ch >= 'a' && ch <= 'z') || (ch >= 'A' && ch <= 'Z') || ch == '\'' || ch == '[' || ch == ']' || ch == '#' || ch == '{' || ch == '}'){
+				return false;
+			}
+		}
+		return true;
+	}
+
 	/**
 	 * long형 날짜를 문자열로 변환 시켜주는 유팉
 	 * @param currTime long 기준 시간
@@ -54,14 +135,14 @@ public class DateUtil {
 	 * @return String formatter value
 	 */
 	public static String getDateYmd(long currTime , String dateFormatter){
-		SimpleDateFormat sdf = new SimpleDateFormat(dateFormatter);
-		return sdf.format(new Date(currTime));
+		return getDateYmd(currTime, dateFormatter, null);
 	}
 
 	public static String getDateYmd(long currTime , String dateFormatter, ZoneId zoneId){
-		SimpleDateFormat sdf = new SimpleDateFormat(dateFormatter);
-		sdf.setTimeZone(TimeZone.getTimeZone(zoneId));
-		return sdf.format(new Date(currTime));
+		if(currTime >= COMPATIBLE_MIN_TIME && isFormatterCompatible(dateFormatter)){
+			return getFormatter(dateFormatter).format(Instant.ofEpochMilli(currTime).atZone(zoneId == null ? ZoneId.systemDefault() : zoneId));
+		}
+		return getSimpleDateFormat(dateFormatter, zoneId).format(new Date(currTime));
 	}
 
 	/**
@@ -80,19 +161,13 @@ public class DateUtil {
 	 * @return long unix time
 	 */
 	public static long getDateTime(String currTime , String dateFormatter){
-		SimpleDateFormat sdf = new SimpleDateFormat(dateFormatter);
-		try {
-			return (sdf.parse(currTime)).getTime();
-		} catch (ParseException e) {
-			throw new ParseRuntimeException(e);
-		}
-
+		return getDateTime(currTime, dateFormatter, null);
 	}
+
 	public static long getDateTime(String currTime , String dateFormatter, ZoneId zoneId){
-		SimpleDateFormat sdf = new SimpleDateFormat(dateFormatter);
-		sdf.setTimeZone(TimeZone.getTimeZone(zoneId));
+		//SimpleDateFormat 의 lenient 해석(넘침 허용)을 유지하기 위해 파싱은 SimpleDateFormat 사용
 		try {
-			return (sdf.parse(currTime)).getTime();
+			return getSimpleDateFormat(dateFormatter, zoneId).parse(currTime).getTime();
 		} catch (ParseException e) {
 			throw new ParseRuntimeException(e);
 		}
@@ -107,29 +182,17 @@ public class DateUtil {
 	 * @return String formatter value
 	 */
 	public static String addDateYmd(String currTime , int calendarType , int addTime , String dateFormatter ){
-		
-		Calendar calendar = Calendar.getInstance();
-		calendar.setTime( new Date( getDateTime(currTime , dateFormatter) ));
-		calendar.add(calendarType, addTime); // 3개월 치 시간 데이터 계산
-		return DateUtil.getDateYmd(calendar.getTime().getTime() , dateFormatter);
-		
+		return addDateYmd(currTime, calendarType, addTime, dateFormatter, null);
 	}
 
 	public static String addDateYmd(String currTime , int calendarType , int addTime , String dateFormatter, ZoneId zoneId ){
-		TimeZone zone = TimeZone.getTimeZone(zoneId);
+		TimeZone zone = zoneId == null ? TimeZone.getDefault() : TimeZone.getTimeZone(zoneId);
 
-		SimpleDateFormat sdf = new SimpleDateFormat(dateFormatter);
-		sdf.setTimeZone(zone);
-
-		Calendar calendar = Calendar.getInstance();
+		Calendar calendar = CALENDAR.get();
 		calendar.setTimeZone(zone);
-		try {
-			calendar.setTime(sdf.parse(currTime));
-		}catch(ParseException e){
-			throw new ParseRuntimeException(e);
-		}
+		calendar.setTimeInMillis(getDateTime(currTime, dateFormatter, zoneId));
 		calendar.add(calendarType, addTime);
-		return DateUtil.getDateYmd(calendar.getTime().getTime() , dateFormatter);
+		return DateUtil.getDateYmd(calendar.getTimeInMillis() , dateFormatter);
 
 	}
 
@@ -153,7 +216,7 @@ public class DateUtil {
 	public static boolean isValidDateFormat(String dateFormatter, String value) {
 		Date date = null;
 		try {
-			SimpleDateFormat sdf = new SimpleDateFormat(dateFormatter);
+			SimpleDateFormat sdf = getSimpleDateFormat(dateFormatter, null);
 			date = sdf.parse(value);
 			if (!value.equals(sdf.format(date))) {
 				date = null;
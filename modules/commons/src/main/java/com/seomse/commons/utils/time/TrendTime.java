@@ -23,6 +23,7 @@ public class TrendTime {
 
     /**
      * trend index
+     * trendTimes 는 오름차순 (getTrendTimes 결과) 이어야 하며 이진탐색으로 찾음
      * @param time long
      * @param trendTimes long []
      * @param gap long
@@ -32,27 +33,163 @@ public class TrendTime {
 
         int end  = trendTimes.length - 1;
 
-        for (int i = 0; i < end ; i++) {
-            if(trendTimes[i] == time){
-                return i;
+        //time 이하 중 가장 큰 시간의 위치
+        int low = 0;
+        int high = end;
+        int index = -1;
+        while (low <= high){
+            int mid = (low + high) >>> 1;
+            if(trendTimes[mid] <= time){
+                index = mid;
+                low = mid + 1;
+            }else{
+                high = mid - 1;
             }
+        }
 
-            if(trendTimes[i] < time && trendTimes[i+1] > time){
-                return i;
-            }
+        if(index == -1){
+            return -1;
         }
 
-        if(trendTimes[end] == time){
-            return end ;
+        if(index < end){
+            return index;
         }
 
-        if(trendTimes[end] < time && trendTimes[end] + gap > time){
+        if(trendTimes[end] == time || trendTimes[end] + gap > time){
             return end;
         }
 
         return -1;
     }
 
+    /**
+     * trend index
+     * 일정 간격 (getTrendTimes 와 같은 형태) 일때 탐색 없이 계산
+     * @param time long
+     * @param startTime long 첫번째 trend 시간
+     * @param gap long 시간갭 (0 보다 커야 함)
+     * @param trendCount int 트랜드 개수
+     * @return int
+     */
+    public static int getIndex(long time, long startTime, long gap, int trendCount){
+        if(time < startTime){
+            return -1;
+        }
+        long index = (time - startTime) / gap;
+        if(index >= trendCount){
+            return -1;
+        }
+        return (int)index;
+    }
+
+    /**
+     * 일정 간격 여부
+     * @param trendTimes long [] trend times
+     * @param gap long 시간갭
+     * @return boolean 모든 trend 시간의 차이가 gap 이면 true
+     */
+    public static boolean isUniform(long [] trendTimes, long gap){
+        if(gap <= 0){
+            return false;
+        }
+        for (int i = 1; i < trendTimes.length ; i++) {
+            if(trendTimes[i] - trendTimes[i-1] != gap){
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * trend index 일괄 계산
+     * 일정 간격이면 계산으로, 아니면 직전 위치를 먼저 확인하고 이진탐색으로 찾음
+     * 시간이 정렬되어 있으면 대부분 직전 위치나 다음 위치에서 찾으므로 정렬 여부와 관계 없이 사용
+     * @param times long [] 시간 배열 (정렬 여부 무관)
+     * @param trendTimes long [] trend times (오름차순)
+     * @param gap long 시간갭
+     * @param indexes int [] 결과 배열 (times 길이 이상), 범위 밖이면 -1
+     */
+    public static void getIndexes(long [] times, long [] trendTimes, long gap, int [] indexes){
+        boolean isUniform = isUniform(trendTimes, gap);
+        int last = -1;
+        for (int i = 0; i < times.length ; i++) {
+            int index = getIndex(times[i], trendTimes, gap, isUniform, last);
+            indexes[i] = index;
+            if(index != -1){
+                last = index;
+            }
+        }
+    }
+
+    /**
+     * trend 별 개수
+     * @param times long [] 시간 배열 (정렬 여부 무관)
+     * @param trendTimes long [] trend times (오름차순)
+     * @param gap long 시간갭
+     * @return int [] trend 별 개수 (범위 밖 시간은 제외)
+     */
+    public static int [] count(long [] times, long [] trendTimes, long gap){
+        int [] counts = new int[trendTimes.length];
+        boolean isUniform = isUniform(trendTimes, gap);
+        int last = -1;
+        for (long time : times) {
+            int index = getIndex(time, trendTimes, gap, isUniform, last);
+            if (index != -1) {
+                counts[index]++;
+                last = index;
+            }
+        }
+        return counts;
+    }
+
+    /**
+     * trend 별 합계
+     * @param times long [] 시간 배열 (정렬 여부 무관)
+     * @param values double [] 시간별 값 (times 와 같은 위치)
+     * @param trendTimes long [] trend times (오름차순)
+     * @param gap long 시간갭
+     * @return double [] trend 별 합계 (범위 밖 시간은 제외)
+     */
+    public static double [] sum(long [] times, double [] values, long [] trendTimes, long gap){
+        double [] sums = new double[trendTimes.length];
+        boolean isUniform = isUniform(trendTimes, gap);
+        int last = -1;
+        for (int i = 0; i < times.length ; i++) {
+            int index = getIndex(times[i], trendTimes, gap, isUniform, last);
+            if(index != -1){
+                sums[index] += values[i];
+                last = index;
+            }
+        }
+        return sums;
+    }
+
+    /**
+     * trend index
+     * @param isUniform boolean 일정 간격 여부 (isUniform 결과)
+     * @param last int 직전 index, 없으면 -1
+     */
+    private static int getIndex(long time, long [] trendTimes, long gap, boolean isUniform, int last){
+        if(trendTimes.length == 0){
+            return -1;
+        }
+
+        if(isUniform){
+            return getIndex(time, trendTimes[0], gap, trendTimes.length);
+        }
+
+        int end = trendTimes.length - 1;
+        if(last != -1 && last < end && trendTimes[last] <= time){
+            if(time < trendTimes[last + 1]){
+                return last;
+            }
+            if(last + 1 < end && time < trendTimes[last + 2]){
+                return last + 1;
+            }
+        }
+        return getIndex(time, trendTimes, gap);
+    }
+
     /**
      * trend times set
      * @param standardTime long 기준시간
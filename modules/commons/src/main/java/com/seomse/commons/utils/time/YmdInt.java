@@ -0,0 +1,583 @@
+/*
+ * Copyright (C) 2020 Seomse Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.seomse.commons.utils.time;
+
+import com.seomse.commons.exception.ParseRuntimeException;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.zone.ZoneRules;
+
+/**
+ * int 형 년월일 (yyyyMMdd ex: 20200131) 계산
+ * Calendar, SimpleDateFormat 을 생성하지 않고 epoch day (1970-01-01 = 0) 정수 계산으로 처리
+ * 월, 일이 범위를 벗어나면 Calendar lenient 처럼 넘침 만큼 이동하여 계산 (20200230 = 20200301)
+ * 날짜는 그레고리력 기준 (java.time.LocalDate 와 같음)
+ * @author macle
+ */
+public class YmdInt {
+
+	/**
+	 * 하루 밀리초
+	 */
+	public static final long DAY_MILLIS = 86400000L;
+
+	//0000-01-01 부터 1970-01-01 까지의 일수
+	private static final long DAYS_0000_TO_1970 = 719528L;
+
+	//400년 일수
+	private static final long DAYS_PER_CYCLE = 146097L;
+
+	/**
+	 * @param ymd int yyyyMMdd
+	 * @return int yyyy
+	 */
+	public static int getYear(int ymd){
+		return ymd / 10000;
+	}
+
+	/**
+	 * @param ymd int yyyyMMdd
+	 * @return int MM
+	 */
+	public static int getMonth(int ymd){
+		return ymd / 100 % 100;
+	}
+
+	/**
+	 * @param ymd int yyyyMMdd
+	 * @return int dd
+	 */
+	public static int getDay(int ymd){
+		return ymd % 100;
+	}
+
+	/**
+	 * @param year int yyyy
+	 * @param month int MM
+	 * @param day int dd
+	 * @return int yyyyMMdd
+	 */
+	public static int ymd(int year, int month, int day){
+		return year * 10000 + month * 100 + day;
+	}
+
+	/**
+	 * @param year int yyyy
+	 * @return boolean 윤년 여부
+	 */
+	public static boolean isLeapYear(int year){
+		return (year & 3) == 0 && (year % 100 != 0 || year % 400 == 0);
+	}
+
+	/**
+	 * @param year int yyyy
+	 * @param month int MM (1 ~ 12)
+	 * @return int 월의 일수
+	 */
+	public static int lengthOfMonth(int year, int month){
+		switch (month){
+			case 2:
+				return isLeapYear(year) ? 29 : 28;
+			case 4:
+			case 6:
+			case 9:
+			case 11:
+				return 30;
+			default:
+				return 31;
+		}
+	}
+
+	/**
+	 * 유효한 날짜인지 (넘침 없이 정확한 년월일 인지)
+	 * @param ymd int yyyyMMdd
+	 * @return boolean
+	 */
+	public static boolean isValid(int ymd){
+		if(ymd < 0){
+			return false;
+		}
+		int month = getMonth(ymd);
+		if(month < 1 || month > 12){
+			return false;
+		}
+		int day = getDay(ymd);
+		return day >= 1 && day <= lengthOfMonth(getYear(ymd), month);
+	}
+
+	/**
+	 * 년월일을 epoch day 로 변환 (1970-01-01 = 0)
+	 * @param ymd int yyyyMMdd
+	 * @return long epoch day
+	 */
+	public static long toEpochDay(int ymd){
+		return toEpochDay(getYear(ymd), getMonth(ymd), getDay(ymd));
+	}
+
+	/**
+	 * 년월일을 epoch day 로 변환 (1970-01-01 = 0)
+	 * 월, 일 넘침은 이동하여 계산 (13월 = 다음해 1월, 0일 = 전월 마지막 일)
+	 * @param year int yyyy
+	 * @param month int MM
+	 * @param day int dd
+	 * @return long epoch day
+	 */
+	public static long toEpochDay(int year, int month, int day){
+		long y = year + Math.floorDiv(month - 1, 12);
+		int m = Math.floorMod(month - 1, 12) + 1;
+
+		long total = 365L * y;
+		if (y >= 0) {
+			total += (y + 3) / 4 - (y + 99) / 100 + (y + 399) / 400;
+		} else {
+			total -= y / -4 - y / -100 + y / -400;
+		}
+		total += (367 * m - 362) / 12;
+		if (m > 2) {
+			total--;
+			if (!isLeapYear((int)y)) {
+				total--;
+			}
+		}
+		return total + day - 1 - DAYS_0000_TO_1970;
+	}
+
+	/**
+	 * epoch day 를 년월일로 변환
+	 * @param epochDay long epoch day (1970-01-01 = 0)
+	 * @return int yyyyMMdd
+	 */
+	public static int fromEpochDay(long epochDay){
+		//3월 1일을 년의 시작으로 계산하면 윤일이 년의 마지막에 위치함
+		long zeroDay = epochDay + DAYS_0000_TO_1970 - 60;
+		long adjust = 0;
+		if (zeroDay < 0) {
+			long adjustCycles = (zeroDay + 1) / DAYS_PER_CYCLE - 1;
+			adjust = adjustCycles * 400;
+			zeroDay += -adjustCycles * DAYS_PER_CYCLE;
+		}
+		long yearEst = (400 * zeroDay + 591) / DAYS_PER_CYCLE;
+		long doyEst = zeroDay - (365 * yearEst + yearEst / 4 - yearEst / 100 + yearEst / 400);
+		if (doyEst < 0) {
+			yearEst--;
+			doyEst = zeroDay - (365 * yearEst + yearEst / 4 - yearEst / 100 + yearEst / 400);
+		}
+		yearEst += adjust;
+		int marchDoy0 = (int) doyEst;
+
+		int marchMonth0 = (marchDoy0 * 5 + 2) / 153;
+		int month = (marchMonth0 + 2) % 12 + 1;
+		int day = marchDoy0 - (marchMonth0 * 306 + 5) / 10 + 1;
+		int year = (int)(yearEst + marchMonth0 / 10);
+		return ymd(year, month, day);
+	}
+
+	/**
+	 * 넘침이 있는 년월일을 정상 년월일로 변환 (20200230 -&gt; 20200301)
+	 * @param ymd int yyyyMMdd
+	 * @return int yyyyMMdd
+	 */
+	public static int normalize(int ymd){
+		if(isValid(ymd)){
+			return ymd;
+		}
+		return fromEpochDay(toEpochDay(ymd));
+	}
+
+	/**
+	 * 일 더하기
+	 * @param ymd int yyyyMMdd
+	 * @param day int 더할 일수 (음수면 빼기)
+	 * @return int yyyyMMdd
+	 */
+	public static int addDay(int ymd, int day){
+		if(day == 0){
+			return ymd;
+		}
+		int d = getDay(ymd) + day;
+		//같은 달 안이면 epoch day 변환 없이 처리
+		if(d >= 1 && d <= 28 && isValid(ymd)){
+			return ymd + day;
+		}
+		return fromEpochDay(toEpochDay(ymd) + day);
+	}
+
+	/**
+	 * 일수 차이
+	 * @param startYmd int yyyyMMdd
+	 * @param endYmd int yyyyMMdd
+	 * @return int endYmd - startYmd 일수
+	 */
+	public static int diffDay(int startYmd, int endYmd){
+		return (int)(toEpochDay(endYmd) - toEpochDay(startYmd));
+	}
+
+	/**
+	 * 월 더하기
+	 * 일이 변경된 월의 마지막 일보다 크면 마지막 일로 맞춤 (Calendar.add(Calendar.MONTH, month) 와 같음)
+	 * @param ymd int yyyyMMdd
+	 * @param month int 더할 월수 (음수면 빼기)
+	 * @return int yyyyMMdd
+	 */
+	public static int addMonth(int ymd, int month){
+		ymd = normalize(ymd);
+		if(month == 0){
+			return ymd;
+		}
+		int monthCount = getYear(ymd) * 12 + getMonth(ymd) - 1 + month;
+		int year = Math.floorDiv(monthCount, 12);
+		int m = Math.floorMod(monthCount, 12) + 1;
+		return ymd(year, m, Math.min(getDay(ymd), lengthOfMonth(year, m)));
+	}
+
+	/**
+	 * 년월 (yyyyMM) 에 월 더하기
+	 * @param ym int yyyyMM
+	 * @param month int 더할 월수 (음수면 빼기)
+	 * @return int yyyyMM
+	 */
+	public static int addYearMonth(int ym, int month){
+		int monthCount = ym / 100 * 12 + ym % 100 - 1 + month;
+		return Math.floorDiv(monthCount, 12) * 100 + Math.floorMod(monthCount, 12) + 1;
+	}
+
+	/**
+	 * 월의 첫째 날
+	 * @param ymd int yyyyMMdd
+	 * @return int yyyyMM01
+	 */
+	public static int firstDayOfMonth(int ymd){
+		ymd = normalize(ymd);
+		return ymd - getDay(ymd) + 1;
+	}
+
+	/**
+	 * 월의 마지막 날
+	 * @param ymd int yyyyMMdd
+	 * @return int 월말 yyyyMMdd
+	 */
+	public static int lastDayOfMonth(int ymd){
+		ymd = normalize(ymd);
+		return ymd - getDay(ymd) + lengthOfMonth(getYear(ymd), getMonth(ymd));
+	}
+
+	/**
+	 * @param ymd int yyyyMMdd
+	 * @return boolean 월의 마지막 날 여부
+	 */
+	public static boolean isLastDayOfMonth(int ymd){
+		return isValid(ymd) && getDay(ymd) == lengthOfMonth(getYear(ymd), getMonth(ymd));
+	}
+
+	/**
+	 * 요일 (java.time.DayOfWeek 값과 같음)
+	 * @param ymd int yyyyMMdd
+	 * @return int 1(월) ~ 7(일)
+	 */
+	public static int getDayOfWeek(int ymd){
+		return dayOfWeek(toEpochDay(ymd));
+	}
+
+	private static int dayOfWeek(long epochDay){
+		//1970-01-01 은 목요일
+		return (int)Math.floorMod(epochDay + 3, 7L) + 1;
+	}
+
+	/**
+	 * 년중 몇번째 날
+	 * @param ymd int yyyyMMdd
+	 * @return int 1 ~ 366
+	 */
+	public static int getDayOfYear(int ymd){
+		ymd = normalize(ymd);
+		return (int)(toEpochDay(ymd) - toEpochDay(getYear(ymd), 1, 1)) + 1;
+	}
+
+	/**
+	 * 년중 몇번째 주 (ISO-8601, 월요일 시작, 목요일이 포함된 년도의 주)
+	 * 1월 초는 전년도 52, 53주 일 수 있고 12월 말은 다음해 1주 일 수 있음
+	 * @param ymd int yyyyMMdd
+	 * @return int 1 ~ 53
+	 */
+	public static int getWeekOfYear(int ymd){
+		long epochDay = toEpochDay(ymd);
+		long thursday = epochDay - dayOfWeek(epochDay) + 4;
+		int thursdayYear = getYear(fromEpochDay(thursday));
+		return (int)((thursday - toEpochDay(thursdayYear, 1, 1)) / 7) + 1;
+	}
+
+	/**
+	 * 주의 년도 (ISO-8601, getWeekOfYear 의 기준 년도)
+	 * @param ymd int yyyyMMdd
+	 * @return int yyyy
+	 */
+	public static int getWeekYear(int ymd){
+		long epochDay = toEpochDay(ymd);
+		return getYear(fromEpochDay(epochDay - dayOfWeek(epochDay) + 4));
+	}
+
+	/**
+	 * 년월일 시작 시간 (00:00:00.000)
+	 * @param ymd int yyyyMMdd
+	 * @param zoneId ZoneId null 이면 시스템 기본
+	 * @return long unix time
+	 */
+	public static long getTime(int ymd, ZoneId zoneId){
+		return getTimeByEpochDay(toEpochDay(ymd), zoneId);
+	}
+
+	/**
+	 * epoch day 시작 시간 (00:00:00.000)
+	 * @param epochDay long epoch day
+	 * @param zoneId ZoneId null 이면 시스템 기본
+	 * @return long unix time
+	 */
+	public static long getTimeByEpochDay(long epochDay, ZoneId zoneId){
+		if(zoneId == null){
+			zoneId = ZoneId.systemDefault();
+		}
+
+		ZoneOffset fixedOffset = getFixedOffset(zoneId);
+		if(fixedOffset != null){
+			return epochDay * DAY_MILLIS - fixedOffset.getTotalSeconds() * 1000L;
+		}
+		//일광 절약시간 등으로 자정이 없는 날은 그 날의 처음 유효한 시간
+		return LocalDate.ofEpochDay(epochDay).atStartOfDay(zoneId).toInstant().toEpochMilli();
+	}
+
+	/**
+	 * 시간의 년월일
+	 * @param time long unix time
+	 * @param zoneId ZoneId null 이면 시스템 기본
+	 * @return int yyyyMMdd
+	 */
+	public static int getYmd(long time, ZoneId zoneId){
+		return fromEpochDay(getEpochDay(time, zoneId));
+	}
+
+	/**
+	 * 시간의 epoch day
+	 * @param time long unix time
+	 * @param zoneId ZoneId null 이면 시스템 기본
+	 * @return long epoch day
+	 */
+	public static long getEpochDay(long time, ZoneId zoneId){
+		if(zoneId == null){
+			zoneId = ZoneId.systemDefault();
+		}
+
+		ZoneOffset offset = getFixedOffset(zoneId);
+		if(offset == null){
+			offset = zoneId.getRules().getOffset(Instant.ofEpochMilli(time));
+		}
+		return Math.floorDiv(time + offset.getTotalSeconds() * 1000L, DAY_MILLIS);
+	}
+
+	private static ZoneOffset getFixedOffset(ZoneId zoneId){
+		if(zoneId instanceof ZoneOffset){
+			return (ZoneOffset)zoneId;
+		}
+		ZoneRules rules = zoneId.getRules();
+		if(rules.isFixedOffset()){
+			return rules.getOffset(Instant.EPOCH);
+		}
+		return null;
+	}
+
+	/**
+	 * 8자리 숫자 문자열 변환
+	 * @param text CharSequence yyyyMMdd
+	 * @return int yyyyMMdd
+	 */
+	public static int parse(CharSequence text){
+		int ymd = parseOrMinus(text);
+		if(ymd == -1){
+			throw new ParseRuntimeException("yyyyMMdd parse error: " + text);
+		}
+		return ymd;
+	}
+
+	/**
+	 * 8자리 숫자 문자열 변환
+	 * @param text CharSequence yyyyMMdd
+	 * @return int yyyyMMdd, 8자리 숫자가 아니면 -1
+	 */
+	public static int parseOrMinus(CharSequence text){
+		if(text == null || text.length() != 8){
+			return -1;
+		}
+		int ymd = 0;
+		for (int i = 0; i < 8 ; i++) {
+			char ch = text.charAt(i);
+			if(ch < '0' || ch > '9'){
+				return -1;
+			}
+			ymd = ymd * 10 + (ch - '0');
+		}
+		return ymd;
+	}
+
+	/**
+	 * yyyyMMdd 문자열 (년도가 4자리 미만이면 앞을 0으로 채움)
+	 * @param ymd int yyyyMMdd
+	 * @return String yyyyMMdd
+	 */
+	public static String toString(int ymd){
+		if(ymd >= 10000000){
+			return Integer.toString(ymd);
+		}
+		char [] chars = new char[8];
+		write(ymd, chars, 0);
+		return new String(chars);
+	}
+
+	/**
+	 * yyyyMMdd 문자열 추가 (년도가 4자리 미만이면 앞을 0으로 채움)
+	 * @param ymd int yyyyMMdd
+	 * @param sb StringBuilder
+	 */
+	public static void append(int ymd, StringBuilder sb){
+		if(ymd >= 100000000){
+			sb.append(ymd);
+			return;
+		}
+		for (int div = 10000000; div > 0 ; div /= 10) {
+			sb.append((char)('0' + ymd / div % 10));
+		}
+	}
+
+	/**
+	 * 8자리 문자 쓰기
+	 * @param ymd int yyyyMMdd (0 ~ 99999999)
+	 * @param chars char [] 저장할 배열
+	 * @param offset int 시작 위치
+	 */
+	public static void write(int ymd, char [] chars, int offset){
+		for (int i = offset + 7; i >= offset ; i--) {
+			chars[i] = (char)('0' + ymd % 10);
+			ymd /= 10;
+		}
+	}
+
+	/**
+	 * 시작일 부터 끝일 까지의 년월일 배열
+	 * @param startYmd int yyyyMMdd
+	 * @param endYmd int yyyyMMdd
+	 * @return int [] yyyyMMdd array, 시작일이 끝일보다 크면 길이 0
+	 */
+	public static int [] range(int startYmd, int endYmd){
+		long startDay = toEpochDay(startYmd);
+		long endDay = toEpochDay(endYmd);
+		if(startDay > endDay){
+			return new int[0];
+		}
+		int [] array = new int[(int)(endDay - startDay + 1)];
+		fill(startDay, array, 0, array.length);
+		return array;
+	}
+
+	/**
+	 * 시작일 부터 끝일 까지의 년월일을 버퍼에 채움
+	 * 버퍼가 부족하면 버퍼 크기 만큼만 채우고 다음 호출은 마지막 값의 다음날을 시작일로 사용
+	 * @param startYmd int yyyyMMdd
+	 * @param endYmd int yyyyMMdd
+	 * @param buffer int [] 재사용 버퍼
+	 * @param offset int 버퍼 시작 위치
+	 * @return int 채운 개수
+	 */
+	public static int range(int startYmd, int endYmd, int [] buffer, int offset){
+		long startDay = toEpochDay(startYmd);
+		long endDay = toEpochDay(endYmd);
+		if(startDay > endDay){
+			return 0;
+		}
+		int count = (int)Math.min(endDay - startDay + 1, buffer.length - offset);
+		fill(startDay, buffer, offset, count);
+		return count;
+	}
+
+	/**
+	 * epoch day 부터 연속된 년월일 채우기
+	 * 날짜 변환은 월이 바뀔 때만 하고 같은 월 안에서는 1씩 증가
+	 */
+	private static void fill(long startDay, int [] array, int offset, int count){
+		int end = offset + count;
+		int index = offset;
+		int ymd = fromEpochDay(startDay);
+		while (index < end){
+			int monthEnd = ymd - getDay(ymd) + lengthOfMonth(getYear(ymd), getMonth(ymd));
+			while (index < end && ymd <= monthEnd){
+				array[index++] = ymd++;
+			}
+			int month = getMonth(monthEnd);
+			ymd = month == 12 ? ymd(getYear(monthEnd) + 1, 1, 1) : monthEnd - getDay(monthEnd) + 101;
+		}
+	}
+
+	/**
+	 * 년월일 배열을 epoch day 배열로 변환
+	 * @param ymdArray int [] yyyyMMdd array
+	 * @param epochDays long [] 결과 배열 (ymdArray 길이 이상)
+	 */
+	public static void toEpochDays(int [] ymdArray, long [] epochDays){
+		for (int i = 0; i < ymdArray.length ; i++) {
+			epochDays[i] = toEpochDay(ymdArray[i]);
+		}
+	}
+
+	/**
+	 * epoch day 배열을 년월일 배열로 변환
+	 * @param epochDays long [] epoch day array
+	 * @param ymdArray int [] 결과 배열 (epochDays 길이 이상)
+	 */
+	public static void fromEpochDays(long [] epochDays, int [] ymdArray){
+		for (int i = 0; i < epochDays.length ; i++) {
+			ymdArray[i] = fromEpochDay(epochDays[i]);
+		}
+	}
+
+	/**
+	 * unix time 배열을 년월일 배열로 변환
+	 * 같은 날의 시간이 연속되면 날짜 변환을 다시 하지 않음
+	 * @param times long [] unix time array
+	 * @param zoneId ZoneId null 이면 시스템 기본
+	 * @param ymdArray int [] 결과 배열 (times 길이 이상)
+	 */
+	public static void getYmd(long [] times, ZoneId zoneId, int [] ymdArray){
+		if(zoneId == null){
+			zoneId = ZoneId.systemDefault();
+		}
+		ZoneOffset fixedOffset = getFixedOffset(zoneId);
+		long lastEpochDay = Long.MIN_VALUE;
+		int lastYmd = 0;
+		for (int i = 0; i < times.length ; i++) {
+			long epochDay;
+			if(fixedOffset != null){
+				epochDay = Math.floorDiv(times[i] + fixedOffset.getTotalSeconds() * 1000L, DAY_MILLIS);
+			}else{
+				epochDay = getEpochDay(times[i], zoneId);
+			}
+			if(epochDay != lastEpochDay){
+				lastEpochDay = epochDay;
+				lastYmd = fromEpochDay(epochDay);
+			}
+			ymdArray[i] = lastYmd;
+		}
+	}
+}
@@ -24,10 +24,27 @@ import java.util.*;
 
 /**
  * 년월일 yyyyMMdd 형태를 사용 할때의 유틸성 내용 정리
+ * 8자리 년월일은 YmdInt 정수 계산으로 처리하고 그 외 형태는 SimpleDateFormat 해석을 따름
  * @author macle
  */
 public class YmdUtil {
 
+	//정수 계산을 사용하는 최소 년월일 (이전 날짜는 SimpleDateFormat 과 계산 결과가 다를 수 있음, DateUtil.COMPATIBLE_MIN_TIME 참고)
+	private static final int MIN_INT_YMD = 19010102;
+
+	/**
+	 * 정수 계산이 가능한 년월일 얻기
+	 * @param ymd String yyyyMMdd
+	 * @return int yyyyMMdd, 8자리 숫자가 아니거나 19010102 이전이면 -1
+	 */
+	private static int getIntYmd(String ymd){
+		int value = YmdInt.parseOrMinus(ymd);
+		if(value < MIN_INT_YMD){
+			return -1;
+		}
+		return value;
+	}
+
 	/**
 	 * 시작일부터 끝일까지의 날짜리스트값 얻기
 	 *
@@ -37,7 +54,19 @@ public class YmdUtil {
 	 */
 	public static List<String> getYmdList(String startYmd, String endYmd) {
 
-		SimpleDateFormat simpleDateFormat = new SimpleDateFormat("yyyyMMdd");
+		int start = getIntYmd(startYmd);
+		int end = getIntYmd(endYmd);
+
+		if(start != -1 && end != -1 && YmdInt.isValid(end)){
+			int [] ymdArray = YmdInt.range(YmdInt.normalize(start), end);
+			List<String> dayList = new ArrayList<>(ymdArray.length);
+			for(int ymd : ymdArray){
+				dayList.add(YmdInt.toString(ymd));
+			}
+			return dayList;
+		}
+
+		SimpleDateFormat simpleDateFormat = DateUtil.getSimpleDateFormat("yyyyMMdd", null);
 		List<String> dayList = new ArrayList<>();
 
 		try {
@@ -51,7 +80,7 @@ public class YmdUtil {
 			while (true) {
 
 
-				String day = new SimpleDateFormat("yyyyMMdd").format(calendar.getTime());
+				String day = simpleDateFormat.format(calendar.getTime());
 
 				int dayNum = Integer.parseInt(day);
 				if (dayNum > endNum) {
@@ -66,6 +95,16 @@ public class YmdUtil {
 		return dayList;
 	}
 
+	/**
+	 * 시작일부터 끝일까지의 날짜 배열 얻기
+	 * 문자열 리스트를 만들지 않으므로 많은 날짜를 순회할 때 사용
+	 * @param startYmd int yyyyMMdd
+	 * @param endYmd int yyyyMMdd
+	 * @return int [] yyyyMMdd array
+	 */
+	public static int [] getYmdArray(int startYmd, int endYmd){
+		return YmdInt.range(startYmd, endYmd);
+	}
 
 	public static String getYmd(String ymd, int day) {
 		if (day == 0) {
@@ -86,30 +125,20 @@ public class YmdUtil {
 			return ymd;
 		}
 
-		try {
-			SimpleDateFormat simpleDateFormat = new SimpleDateFormat("yyyyMMdd");
+		int value = getIntYmd(ymd);
+		if(value != -1){
+			//날짜 더하기는 시간대와 관계 없음
+			return YmdInt.toString(YmdInt.addDay(value, day));
+		}
 
-			if(zoneId != null){
-				simpleDateFormat.setTimeZone(TimeZone.getTimeZone(zoneId));
-			}
+		try {
+			SimpleDateFormat simpleDateFormat = DateUtil.getSimpleDateFormat("yyyyMMdd", zoneId);
 
 			Date date = simpleDateFormat.parse(ymd);
 			Calendar calendar = Calendar.getInstance();
 			calendar.setTime(date);
 			calendar.add(Calendar.DATE, day);
-
-			if(zoneId != null){
-				TimeZone timeZone = TimeZone.getTimeZone(zoneId);
-				calendar.setTimeZone(timeZone);
-
-				SimpleDateFormat format = new SimpleDateFormat("yyyyMMdd");
-				format.setTimeZone(TimeZone.getTimeZone(zoneId));
-
-				return format.format(calendar.getTime());
-			}
-
-
-			return new SimpleDateFormat("yyyyMMdd").format(calendar.getTime());
+			return simpleDateFormat.format(calendar.getTime());
 		} catch (ParseException e) {
 			throw new ParseRuntimeException(e);
 		}
@@ -122,22 +151,24 @@ public class YmdUtil {
 	 * @return long (unix time)
 	 */
 	public static long getTime(String ymd) {
-		try {
-			return new SimpleDateFormat("yyyyMMdd").parse(ymd).getTime();
-		} catch (ParseException e) {
-			throw new ParseRuntimeException(e);
-		}
+		return getTime(ymd, null);
 	}
 
 	public static long getTime(int ymd, ZoneId zoneId) {
+		if(ymd >= MIN_INT_YMD){
+			return YmdInt.getTime(ymd, zoneId);
+		}
 		return getTime(Integer.toString(ymd), zoneId);
 	}
 
 	public static long getTime(String ymd, ZoneId zoneId) {
+		int value = getIntYmd(ymd);
+		if(value != -1){
+			return YmdInt.getTime(value, zoneId);
+		}
+
 		try {
-			SimpleDateFormat format = new SimpleDateFormat("yyyyMMdd");
-			format.setTimeZone(TimeZone.getTimeZone(zoneId));
-			return format.parse(ymd).getTime();
+			return DateUtil.getSimpleDateFormat("yyyyMMdd", zoneId).parse(ymd).getTime();
 		} catch (ParseException e) {
 			throw new ParseRuntimeException(e);
 		}
@@ -149,22 +180,12 @@ public class YmdUtil {
 	 * @return Date
 	 */
 	public static Date getDate(String ymd) {
-		try {
-			return new SimpleDateFormat("yyyyMMdd").parse(ymd);
-		} catch (ParseException e) {
-			throw new ParseRuntimeException(e);
-		}
+		return new Date(getTime(ymd, null));
 	}
 
 
 	public static Date getDate(String ymd, ZoneId zoneId) {
-		try {
-			SimpleDateFormat format = new SimpleDateFormat("yyyyMMdd");
-			format.setTimeZone(TimeZone.getTimeZone(zoneId));
-			return format.parse(ymd);
-		} catch (ParseException e) {
-			throw new ParseRuntimeException(e);
-		}
+		return new Date(getTime(ymd, zoneId));
 	}
 
 	/**
@@ -172,21 +193,21 @@ public class YmdUtil {
 	 * @return String yyyyMMdd
 	 */
 	public static String now(){
-		return getYmd(new Date());
+		return getYmd(System.currentTimeMillis());
 	}
 
 	public static String now(ZoneId zoneId){
-		return getYmd(new Date(), zoneId);
+		return getYmd(System.currentTimeMillis(), zoneId);
 	}
 
 
 
 	public static int nowInt(){
-		return Integer.parseInt(now());
+		return YmdInt.getYmd(System.currentTimeMillis(), null);
 	}
 
 	public static int nowInt(ZoneId zoneId){
-		return Integer.parseInt(now(zoneId));
+		return YmdInt.getYmd(System.currentTimeMillis(), zoneId);
 	}
 
 
@@ -196,14 +217,20 @@ public class YmdUtil {
 	 * @return String yyyyMMdd
 	 */
 	public static String getYmd(long time) {
-		return getYmd(new Date(time));
+		return getYmd(time, null);
 	}
 	public static String getYmd(long time, ZoneId zoneId) {
-		return getYmd(new Date(time), zoneId);
+		if(time >= DateUtil.COMPATIBLE_MIN_TIME){
+			return YmdInt.toString(YmdInt.getYmd(time, zoneId));
+		}
+		return DateUtil.getSimpleDateFormat("yyyyMMdd", zoneId).format(new Date(time));
 	}
 
 	public static int getYmdInt(long time, ZoneId zoneId){
-		return Integer.parseInt(getYmd(new Date(time), zoneId));
+		if(time >= DateUtil.COMPATIBLE_MIN_TIME){
+			return YmdInt.getYmd(time, zoneId);
+		}
+		return Integer.parseInt(getYmd(time, zoneId));
 	}
 
 	public static int getYmdInt(int ymd, int day){
@@ -211,6 +238,10 @@ public class YmdUtil {
 			return ymd;
 		}
 
+		if(ymd >= MIN_INT_YMD){
+			return YmdInt.addDay(ymd, day);
+		}
+
 		return Integer.parseInt(getYmd(Integer.toString(ymd) ,day));
 	}
 
@@ -220,13 +251,11 @@ public class YmdUtil {
 	 * @return String yyyyMMdd
 	 */
 	public static String getYmd(Date date) {
-		return new SimpleDateFormat("yyyyMMdd").format(date);
+		return getYmd(date.getTime(), null);
 	}
 
 	public static String getYmd(Date date, ZoneId zoneId) {
-		SimpleDateFormat format = new SimpleDateFormat("yyyyMMdd");
-		format.setTimeZone(TimeZone.getTimeZone(zoneId));
-		return format.format(date);
+		return getYmd(date.getTime(), zoneId);
 	}
 
 
@@ -259,6 +288,25 @@ public class YmdUtil {
 
 		List<StartEndYmd> list = new ArrayList<>();
 
+		int start = getIntYmd(startYmd);
+		int end = getIntYmd(endYmd);
+		if(start != -1 && end != -1){
+			String nextStartYmd = startYmd;
+			int nextStart = start;
+			for(;;){
+				int nextEnd = YmdInt.addDay(nextStart, rangeDay);
+				if(nextEnd >= end){
+					list.add(new StartEndYmd(nextStartYmd, endYmd));
+					break;
+				}
+
+				list.add(new StartEndYmd(nextStartYmd, YmdInt.toString(nextEnd)));
+				nextStart = YmdInt.addDay(nextEnd, 1);
+				nextStartYmd = YmdInt.toString(nextStart);
+			}
+			return list;
+		}
+
 		String nextStartYmd = startYmd;
 
 		for(;;){
@@ -291,30 +339,20 @@ public class YmdUtil {
 			return ym;
 		}
 
-		try {
-			SimpleDateFormat simpleDateFormat = new SimpleDateFormat("yyyyMM");
+		int value = YmdInt.parseOrMinus(ym + "01");
+		if(value >= MIN_INT_YMD && YmdInt.isValid(value)){
+			//년월 더하기는 시간대와 관계 없음
+			return Integer.toString(YmdInt.addYearMonth(value / 100, month));
+		}
 
-			if(zoneId != null){
-				simpleDateFormat.setTimeZone(TimeZone.getTimeZone(zoneId));
-			}
+		try {
+			SimpleDateFormat simpleDateFormat = DateUtil.getSimpleDateFormat("yyyyMM", zoneId);
 
 			Date date = simpleDateFormat.parse(ym);
 			Calendar calendar = Calendar.getInstance();
 			calendar.setTime(date);
 			calendar.add(Calendar.MONTH, month);
-
-			if(zoneId != null){
-				TimeZone timeZone = TimeZone.getTimeZone(zoneId);
-				calendar.setTimeZone(timeZone);
-
-				SimpleDateFormat format = new SimpleDateFormat("yyyyMM");
-				format.setTimeZone(TimeZone.getTimeZone(zoneId));
-
-				return format.format(calendar.getTime());
-			}
-
-
-			return new SimpleDateFormat("yyyyMM").format(calendar.getTime());
+			return simpleDateFormat.format(calendar.getTime());
 		} catch (ParseException e) {
 			throw new ParseRuntimeException(e);
 		}
@@ -0,0 +1,13 @@
+package com.seomse.commons.validation;
+
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+
+/**
+ * 경로 유효성 체크
+ * 경로를 탐색할 때 읽은 속성을 같이 전달 하므로 속성을 다시 읽지 않아도 됨
+ * @author macle
+ */
+public interface PathValidation {
+    boolean isValid(Path path, BasicFileAttributes attributes);
+}
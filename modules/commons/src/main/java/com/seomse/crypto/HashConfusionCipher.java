@@ -0,0 +1,337 @@
+package com.seomse.crypto;
+
+import com.seomse.commons.parallel.ParallelArrayJob;
+
+import javax.crypto.Cipher;
+import javax.crypto.spec.IvParameterSpec;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.List;
+
+/**
+ * HashConfusionCrypto 암복호화 context
+ * 키와 iv 는 생성할 때 한번만 만들고 Cipher 는 쓰레드별로 재사용함
+ * 결과는 HashConfusionCrypto 와 같음 (AES/CBC/PKCS5Padding)
+ * 여러 쓰레드에서 같은 객체를 사용해도 됨
+ * @author macle
+ */
+public class HashConfusionCipher {
+
+    //일괄 처리에서 병렬로 처리하는 최소 건수
+    public static final int PARALLEL_MIN_COUNT = 10000;
+
+    //병렬 처리 시 한 작업의 건수
+    private static final int PARALLEL_CHUNK_COUNT = 2048;
+
+    private static final String TRANSFORMATION = "AES/CBC/PKCS5Padding";
+
+    private final SecretKeySpec keySpec;
+    private final IvParameterSpec ivSpec;
+
+    private final ThreadLocal<Cipher> encCipher;
+    private final ThreadLocal<Cipher> decCipher;
+
+    private int threadCount = ParallelArrayJob.getDefaultThreadCount();
+
+    /**
+     * 생성자 (keySize 16)
+     * @param key String 키
+     */
+    public HashConfusionCipher(String key){
+        this(key, 16, null);
+    }
+
+    /**
+     * 생성자
+     * @param key String 키
+     * @param keySize int 16, 24, 32
+     * @param charMap CharMap 키 변환 (null 가능)
+     */
+    public HashConfusionCipher(String key, int keySize, CharMap charMap){
+        try {
+            String hKey = HashConfusionString.get("MD5", key, keySize);
+
+            if(charMap != null){
+                hKey = charMap.change(hKey);
+            }
+
+            byte[] keyBytes = CryptoUtils.makeKeyByte(hKey, keySize);
+            keySpec = new SecretKeySpec(keyBytes, "AES");
+
+            if(keySize == 16){
+                ivSpec = new IvParameterSpec(keyBytes);
+            }else{
+                ivSpec = new IvParameterSpec(CryptoUtils.makeKeyByte(hKey, 16));
+            }
+        }catch (Exception e){
+            throw new CryptoException(e);
+        }
+
+        encCipher = ThreadLocal.withInitial(() -> newCipher(Cipher.ENCRYPT_MODE));
+        decCipher = ThreadLocal.withInitial(() -> newCipher(Cipher.DECRYPT_MODE));
+    }
+
+    /**
+     * 일괄 처리 병렬 쓰레드 수 설정
+     * @param threadCount int 1 이면 병렬 처리하지 않음
+     */
+    public void setThreadCount(int threadCount) {
+        if(threadCount < 1){
+            threadCount = 1;
+        }
+        this.threadCount = threadCount;
+    }
+
+    private Cipher newCipher(int mode){
+        try {
+            Cipher cipher = Cipher.getInstance(TRANSFORMATION);
+            cipher.init(mode, keySpec, ivSpec);
+            return cipher;
+        }catch (GeneralSecurityException e){
+            throw new CryptoException(e);
+        }
+    }
+
+    /**
+     * @return SecretKeySpec AES 키
+     */
+    SecretKeySpec getKeySpec() {
+        return keySpec;
+    }
+
+    /**
+     * @return IvParameterSpec 기본 iv
+     */
+    IvParameterSpec getIvSpec() {
+        return ivSpec;
+    }
+
+    /**
+     * 키로 초기화된 암호화 Cipher 생성
+     * stream 처리 등 Cipher 를 직접 사용 할 때 사용
+     * @return Cipher
+     */
+    public Cipher newEncCipher(){
+        return newCipher(Cipher.ENCRYPT_MODE);
+    }
+
+    /**
+     * 키로 초기화된 복호화 Cipher 생성
+     * stream 처리 등 Cipher 를 직접 사용 할 때 사용
+     * @return Cipher
+     */
+    public Cipher newDecCipher(){
+        return newCipher(Cipher.DECRYPT_MODE);
+    }
+
+    /**
+     * 암호화
+     * @param data byte [] 원본
+     * @return byte [] 암호화 결과
+     */
+    public byte [] enc(byte [] data){
+        return doFinal(encCipher, Cipher.ENCRYPT_MODE, data);
+    }
+
+    /**
+     * 복호화
+     * @param data byte [] 암호화된 값
+     * @return byte [] 원본
+     */
+    public byte [] dec(byte [] data){
+        return doFinal(decCipher, Cipher.DECRYPT_MODE, data);
+    }
+
+    private byte [] doFinal(ThreadLocal<Cipher> threadCipher, int mode, byte [] data){
+        Cipher cipher = threadCipher.get();
+        try {
+            //doFinal 이 끝나면 init 한 상태로 돌아가므로 다시 init 하지 않음
+            return cipher.doFinal(data);
+        }catch (GeneralSecurityException e){
+            //예외 후의 상태는 보장되지 않으므로 다시 초기화
+            threadCipher.set(newCipher(mode));
+            throw new CryptoException(e);
+        }
+    }
+
+    /**
+     * 문자열 암호화
+     * @param str String 원본
+     * @return String base64 암호화 결과
+     */
+    public String encStr(String str){
+        return Base64.getEncoder().encodeToString(enc(str.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    /**
+     * 문자열 복호화
+     * @param encStr String base64 암호화 결과
+     * @return String 원본
+     */
+    public String decStr(String encStr){
+        try {
+            return new String(dec(Base64.getDecoder().decode(encStr)), StandardCharsets.UTF_8);
+        }catch (IllegalArgumentException e){
+            throw new CryptoException(e);
+        }
+    }
+
+    /**
+     * 일괄 암호화
+     * PARALLEL_MIN_COUNT 이상이면 병렬 처리
+     * @param dataArray byte [][] 원본 배열 (null 항목은 null 결과)
+     * @return byte [][] 같은 위치의 암호화 결과
+     */
+    public byte [][] enc(byte [][] dataArray){
+        byte [][] results = new byte[dataArray.length][];
+        run(dataArray.length, (begin, end) -> {
+            for (int i = begin; i < end ; i++) {
+                if(dataArray[i] != null){
+                    results[i] = enc(dataArray[i]);
+                }
+            }
+        });
+        return results;
+    }
+
+    /**
+     * 일괄 복호화
+     * PARALLEL_MIN_COUNT 이상이면 병렬 처리
+     * @param dataArray byte [][] 암호화된 값 배열 (null 항목은 null 결과)
+     * @return byte [][] 같은 위치의 원본
+     */
+    public byte [][] dec(byte [][] dataArray){
+        byte [][] results = new byte[dataArray.length][];
+        run(dataArray.length, (begin, end) -> {
+            for (int i = begin; i < end ; i++) {
+                if(dataArray[i] != null){
+                    results[i] = dec(dataArray[i]);
+                }
+            }
+        });
+        return results;
+    }
+
+    /**
+     * 문자열 일괄 암호화
+     * PARALLEL_MIN_COUNT 이상이면 병렬 처리
+     * @param strArray String [] 원본 배열 (null 항목은 null 결과)
+     * @return String [] 같은 위치의 base64 암호화 결과
+     */
+    public String [] encStr(String [] strArray){
+        String [] results = new String[strArray.length];
+        run(strArray.length, (begin, end) -> {
+            for (int i = begin; i < end ; i++) {
+                if(strArray[i] != null){
+                    results[i] = encStr(strArray[i]);
+                }
+            }
+        });
+        return results;
+    }
+
+    /**
+     * 문자열 일괄 복호화
+     * PARALLEL_MIN_COUNT 이상이면 병렬 처리
+     * @param encStrArray String [] base64 암호화 결과 배열 (null 항목은 null 결과)
+     * @return String [] 같은 위치의 원본
+     */
+    public String [] decStr(String [] encStrArray){
+        String [] results = new String[encStrArray.length];
+        run(encStrArray.length, (begin, end) -> {
+            for (int i = begin; i < end ; i++) {
+                if(encStrArray[i] != null){
+                    results[i] = decStr(encStrArray[i]);
+                }
+            }
+        });
+        return results;
+    }
+
+    /**
+     * 문자열 일괄 암호화
+     * @param strList List 원본 (null 항목은 null 결과)
+     * @return List 같은 순서의 base64 암호화 결과
+     */
+    public List<String> encStr(List<String> strList){
+        return new ArrayList<>(Arrays.asList(encStr(strList.toArray(new String[0]))));
+    }
+
+    /**
+     * 문자열 일괄 복호화
+     * @param encStrList List base64 암호화 결과 (null 항목은 null 결과)
+     * @return List 같은 순서의 원본
+     */
+    public List<String> decStr(List<String> encStrList){
+        return new ArrayList<>(Arrays.asList(decStr(encStrList.toArray(new String[0]))));
+    }
+
+    /**
+     * 구간 작업
+     */
+    private interface RangeWork {
+        void work(int begin, int end);
+    }
+
+    /**
+     * 구간 작업 실행
+     * 건수가 많으면 구간을 나누어 병렬 처리
+     */
+    private void run(int length, RangeWork rangeWork){
+        if(length < PARALLEL_MIN_COUNT || threadCount < 2){
+            rangeWork.work(0, length);
+            return;
+        }
+
+        int chunkCount = (length + PARALLEL_CHUNK_COUNT - 1) / PARALLEL_CHUNK_COUNT;
+        Chunk [] chunks = new Chunk[chunkCount];
+        for (int i = 0; i < chunkCount ; i++) {
+            int begin = i * PARALLEL_CHUNK_COUNT;
+            chunks[i] = new Chunk(rangeWork, begin, Math.min(begin + PARALLEL_CHUNK_COUNT, length));
+        }
+
+        ParallelArrayJob<Chunk> job = new ParallelArrayJob<>(chunks, Chunk::run);
+        job.setThreadCount(Math.min(threadCount, chunkCount));
+        job.runSync();
+
+        for(Chunk chunk : chunks){
+            if(chunk.exception != null){
+                throw chunk.exception;
+            }
+            if(!chunk.isEnd){
+                throw new CryptoException("parallel crypto fail");
+            }
+        }
+    }
+
+    /**
+     * 병렬 처리 구간
+     */
+    private static class Chunk {
+        private final RangeWork rangeWork;
+        private final int begin;
+        private final int end;
+
+        private boolean isEnd = false;
+        private RuntimeException exception = null;
+
+        Chunk(RangeWork rangeWork, int begin, int end){
+            this.rangeWork = rangeWork;
+            this.begin = begin;
+            this.end = end;
+        }
+
+        void run(){
+            try{
+                rangeWork.work(begin, end);
+                isEnd = true;
+            }catch (RuntimeException e){
+                exception = e;
+            }
+        }
+    }
+}
@@ -1,10 +1,14 @@
 package com.seomse.crypto;
 
-import javax.crypto.Cipher;
-import javax.crypto.spec.IvParameterSpec;
-import javax.crypto.spec.SecretKeySpec;
 import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
 import java.util.Base64;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
 
 /**
  * @author macle
@@ -48,59 +52,99 @@ public class HashConfusionCrypto {
     }
 
     public static byte [] enc(String key, byte [] data, int keySize, CharMap charMap) {
+        return getCipher(key, keySize, charMap).enc(data);
+    }
 
-        try {
-            String hKey = HashConfusionString.get("MD5", key, keySize);
+    public static  byte [] dec(String key, byte [] data) {
+        return dec(key, data, 16, null);
+    }
 
-            if(charMap != null){
-                hKey = charMap.change(hKey);
-            }
+    public static  byte [] dec(String key, byte [] data, int keySize, CharMap charMap){
+        return getCipher(key, keySize, charMap).dec(data);
+    }
 
-            byte[] keyBytes = CryptoUtils.makeKeyByte(hKey, keySize);
-            Cipher cipher = Cipher.getInstance("AES/CBC/PKCS5Padding");
-            SecretKeySpec keySpec = new SecretKeySpec(keyBytes, "AES");
+    //키별 context 최대 보관 개수 (넘으면 가장 오래 사용하지 않은 context 부터 제거)
+    private static final int CIPHER_CACHE_MAX = 256;
 
-            IvParameterSpec ivSpec;
-            if(keySize == 16){
-                ivSpec = new IvParameterSpec(keyBytes);
-            }else{
-                ivSpec = new IvParameterSpec(CryptoUtils.makeKeyByte(hKey, 16));
-            }
+    private static final Map<CipherKey, HashConfusionCipher> CIPHER_MAP = Collections.synchronizedMap(new LinkedHashMap<CipherKey, HashConfusionCipher>(16, 0.75f, true){
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<CipherKey, HashConfusionCipher> eldest) {
+            return size() > CIPHER_CACHE_MAX;
+        }
+    });
 
-            cipher.init(Cipher.ENCRYPT_MODE, keySpec, ivSpec);
-            return  cipher.doFinal(data);
-        }catch (Exception e){
+    private static final ThreadLocal<MessageDigest> KEY_DIGEST = ThreadLocal.withInitial(() -> {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        }catch (NoSuchAlgorithmException e){
             throw new CryptoException(e);
         }
+    });
+
+    /**
+     * 키별 암복호화 context 얻기
+     * 같은 키, keySize, charMap 내용 이면 키 생성 없이 재사용함
+     * 원문 키는 보관하지 않고 키, keySize, charMap 의 SHA-256 값으로 구분함
+     * 많은 행을 처리할 때는 이 객체의 일괄 처리 메소드를 사용
+     * @param key String 키
+     * @param keySize int 16, 24, 32
+     * @param charMap CharMap 키 변환 (null 가능)
+     * @return HashConfusionCipher
+     */
+    public static HashConfusionCipher getCipher(String key, int keySize, CharMap charMap){
+        CipherKey cipherKey = new CipherKey(key, keySize, charMap);
+        HashConfusionCipher cipher = CIPHER_MAP.get(cipherKey);
+        if(cipher != null){
+            return cipher;
+        }
 
+        //키 생성은 lock 밖에서 하고 먼저 등록된 context 가 있으면 그것을 사용
+        cipher = new HashConfusionCipher(key, keySize, charMap);
+        HashConfusionCipher last = CIPHER_MAP.putIfAbsent(cipherKey, cipher);
+        if(last != null){
+            return last;
+        }
+        return cipher;
     }
 
-    public static  byte [] dec(String key, byte [] data) {
-        return dec(key, data, 16, null);
-    }
-
-    public static  byte [] dec(String key, byte [] data, int keySize, CharMap charMap){
-        try {
-            String hKey = HashConfusionString.get("MD5", key, keySize);
-
+    private static class CipherKey {
+        private final byte [] hash;
+        private final int hashCode;
+
+        CipherKey(String key, int keySize, CharMap charMap){
+            MessageDigest digest = KEY_DIGEST.get();
+            digest.update(key.getBytes(StandardCharsets.UTF_8));
+            digest.update((byte)0);
+            digest.update((byte)(keySize >>> 24));
+            digest.update((byte)(keySize >>> 16));
+            digest.update((byte)(keySize >>> 8));
+            digest.update((byte)keySize);
             if(charMap != null){
-                hKey = charMap.change(hKey);
+                //HashMap 순서에 영향 받지 않도록 정렬된 내용으로 구분
+                Map<Character, Character> sortMap = new TreeMap<>(charMap.getMap());
+                for(Map.Entry<Character, Character> entry : sortMap.entrySet()){
+                    char from = entry.getKey();
+                    char to = entry.getValue();
+                    digest.update((byte)(from >>> 8));
+                    digest.update((byte)from);
+                    digest.update((byte)(to >>> 8));
+                    digest.update((byte)to);
+                }
             }
+            hash = digest.digest();
+            hashCode = Arrays.hashCode(hash);
+        }
 
-            byte[] keyBytes = CryptoUtils.makeKeyByte(hKey, keySize);
-            Cipher cipher = Cipher.getInstance("AES/CBC/PKCS5Padding");
-            SecretKeySpec keySpec = new SecretKeySpec(keyBytes, "AES");
-            IvParameterSpec ivSpec;
-            if(keySize == 16){
-                ivSpec = new IvParameterSpec(keyBytes);
-            }else{
-                ivSpec = new IvParameterSpec(CryptoUtils.makeKeyByte(hKey, 16));
-            }
-            cipher.init(Cipher.DECRYPT_MODE, keySpec, ivSpec);
-            return cipher.doFinal(data);
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof CipherKey)) return false;
+            return Arrays.equals(hash, ((CipherKey) o).hash);
+        }
 
-        }catch (Exception e){
-            throw new CryptoException(e);
+        @Override
+        public int hashCode() {
+            return hashCode;
         }
     }
 
@@ -0,0 +1,470 @@
+package com.seomse.crypto;
+
+import com.seomse.commons.exception.IORuntimeException;
+import com.seomse.commons.parallel.ParallelArrayJob;
+
+import javax.crypto.Cipher;
+import javax.crypto.Mac;
+import javax.crypto.spec.IvParameterSpec;
+import javax.crypto.spec.SecretKeySpec;
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+
+/**
+ * HashConfusionCrypto 키를 사용하는 stream, 파일 암복호화
+ * 정해진 크기의 버퍼만 사용하므로 메모리보다 큰 파일도 처리 가능
+ *
+ * encRaw, decRaw
+ *     HashConfusionCrypto.enc(key, 전체 byte) 와 같은 결과 (AES/CBC/PKCS5Padding), 무결성 검증 없음
+ *
+ * enc, dec, encFile, decFile (구간 컨테이너)
+ *     구간별로 암호화 하고 HMAC-SHA256 으로 무결성을 검증함, 구간 단위 병렬 처리 가능
+ *     형식 (정수는 big endian)
+ *       header : magic "HCS1" (4) | chunkSize int (4) | nonce (16)
+ *       chunk  : cipherLength int (4) | last byte (1, 마지막 구간이면 1 아니면 0, 다른 값은 오류) | cipher (cipherLength) | mac (32)
+ *     구간 i 의 iv = MD5(nonce | i long) 앞 16 byte
+ *     mac = HMAC-SHA256(macKey, header | i long | last | cipher)
+ *     macKey = SHA-256("HashConfusionStream" | AES 키 | 기본 iv)
+ *     마지막 구간 표시가 있는 구간 뒤에 데이터가 없어야 하며 입력이 비어 있어도 마지막 구간 1개를 기록함
+ *     구간 순서 변경, 삭제, 잘림은 mac 과 마지막 구간 표시로 검증됨
+ *     header 의 chunkSize 는 MAX_CHUNK_SIZE 이하만 허용하며 버퍼를 만들기 전에 검사함
+ *
+ * @author macle
+ */
+public class HashConfusionStream {
+
+    private static final byte [] MAGIC = {'H', 'C', 'S', '1'};
+
+    private static final int NONCE_LENGTH = 16;
+
+    private static final int MAC_LENGTH = 32;
+
+    private static final int HEADER_LENGTH = 4 + 4 + NONCE_LENGTH;
+
+    //기본 구간 크기
+    public static final int DEFAULT_CHUNK_SIZE = 1024 * 1024;
+
+    //최대 구간 크기 (복호화 시 header 의 값이 이보다 크면 버퍼를 만들지 않고 실패)
+    public static final int MAX_CHUNK_SIZE = 64 * 1024 * 1024;
+
+    //raw 처리 버퍼 크기
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final HashConfusionCipher cipher;
+    private final byte [] macKey;
+
+    private int chunkSize = DEFAULT_CHUNK_SIZE;
+    private int threadCount = 1;
+
+    /**
+     * 생성자
+     * @param key String 키
+     * @param keySize int 16, 24, 32
+     * @param charMap CharMap 키 변환 (null 가능)
+     */
+    public HashConfusionStream(String key, int keySize, CharMap charMap){
+        this(HashConfusionCrypto.getCipher(key, keySize, charMap));
+    }
+
+    /**
+     * 생성자
+     * @param cipher HashConfusionCipher 키 context
+     */
+    public HashConfusionStream(HashConfusionCipher cipher){
+        this.cipher = cipher;
+        try {
+            MessageDigest sha256 = MessageDigest.getInstance("SHA-256");
+            sha256.update("HashConfusionStream".getBytes(StandardCharsets.UTF_8));
+            sha256.update(cipher.getKeySpec().getEncoded());
+            sha256.update(cipher.getIvSpec().getIV());
+            macKey = sha256.digest();
+        }catch (GeneralSecurityException e){
+            throw new CryptoException(e);
+        }
+    }
+
+    /**
+     * 구간 크기 설정 (암호화 할 때만 사용, 복호화는 header 값 사용)
+     * @param chunkSize int 구간 크기 (byte, 16 의 배수로 맞춤, 최대 MAX_CHUNK_SIZE)
+     */
+    public void setChunkSize(int chunkSize) {
+        if(chunkSize < 16){
+            chunkSize = 16;
+        }else if(chunkSize > MAX_CHUNK_SIZE){
+            chunkSize = MAX_CHUNK_SIZE;
+        }
+        this.chunkSize = chunkSize - chunkSize % 16;
+    }
+
+    /**
+     * 병렬 쓰레드 수 설정
+     * 쓰레드 수 만큼의 구간을 메모리에 올려 동시에 처리함
+     * @param threadCount int 1 이면 병렬 처리하지 않음
+     */
+    public void setThreadCount(int threadCount) {
+        if(threadCount < 1){
+            threadCount = 1;
+        }
+        this.threadCount = threadCount;
+    }
+
+    /**
+     * raw 암호화 (HashConfusionCrypto.enc 와 같은 결과, 무결성 검증 없음)
+     * stream 은 닫지 않음
+     * @param in InputStream 원본
+     * @param out OutputStream 암호화 결과
+     */
+    public void encRaw(InputStream in, OutputStream out){
+        raw(cipher.newEncCipher(), in, out);
+    }
+
+    /**
+     * raw 복호화 (HashConfusionCrypto.dec 와 같은 결과, 무결성 검증 없음)
+     * stream 은 닫지 않음
+     * @param in InputStream 암호화된 값
+     * @param out OutputStream 원본
+     */
+    public void decRaw(InputStream in, OutputStream out){
+        raw(cipher.newDecCipher(), in, out);
+    }
+
+    private void raw(Cipher rawCipher, InputStream in, OutputStream out){
+        try {
+            byte [] buffer = new byte[BUFFER_SIZE];
+            byte [] outBuffer = new byte[rawCipher.getOutputSize(BUFFER_SIZE)];
+            int length;
+            while ((length = in.read(buffer)) != -1){
+                int outLength = rawCipher.update(buffer, 0, length, outBuffer, 0);
+                out.write(outBuffer, 0, outLength);
+            }
+            out.write(rawCipher.doFinal());
+            out.flush();
+        }catch (IOException e){
+            throw new IORuntimeException(e);
+        }catch (GeneralSecurityException e){
+            throw new CryptoException(e);
+        }
+    }
+
+    /**
+     * 구간 컨테이너 암호화
+     * stream 은 닫지 않음
+     * @param in InputStream 원본
+     * @param out OutputStream 암호화 결과 (클래스 설명의 형식)
+     */
+    public void enc(InputStream in, OutputStream out){
+        try {
+            byte [] nonce = new byte[NONCE_LENGTH];
+            new SecureRandom().nextBytes(nonce);
+            byte [] header = makeHeader(chunkSize, nonce);
+
+            DataOutputStream dataOut = new DataOutputStream(new BufferedOutputStream(out, BUFFER_SIZE));
+            dataOut.write(header);
+
+            Chunk [] batch = new Chunk[threadCount];
+            byte [] next = readChunk(in, chunkSize);
+            long index = 0;
+            boolean isLast = false;
+            while (!isLast){
+                int count = 0;
+                while (count < batch.length && !isLast){
+                    byte [] data = next;
+                    if(data.length < chunkSize){
+                        isLast = true;
+                    }else{
+                        next = readChunk(in, chunkSize);
+                        isLast = next.length == 0;
+                    }
+                    batch[count++] = new Chunk(this, header, nonce, index++, isLast, data, true);
+                }
+
+                run(batch, count);
+
+                for (int i = 0; i < count ; i++) {
+                    Chunk chunk = batch[i];
+                    dataOut.writeInt(chunk.result.length);
+                    dataOut.writeByte(chunk.isLast ? 1 : 0);
+                    dataOut.write(chunk.result);
+                    dataOut.write(chunk.mac);
+                    batch[i] = null;
+                }
+            }
+            dataOut.flush();
+        }catch (IOException e){
+            throw new IORuntimeException(e);
+        }
+    }
+
+    /**
+     * 구간 컨테이너 복호화
+     * 구간 마다 무결성을 검증한 후 쓰므로 검증 실패 전까지의 구간은 out 에 기록되어 있을 수 있음
+     * 파일은 decFile 을 사용하면 실패 시 결과 파일을 만들지 않음
+     * stream 은 닫지 않음
+     * @param in InputStream 암호화된 값 (클래스 설명의 형식)
+     * @param out OutputStream 원본
+     */
+    public void dec(InputStream in, OutputStream out){
+        try {
+            DataInputStream dataIn = new DataInputStream(new BufferedInputStream(in, BUFFER_SIZE));
+            byte [] magic = new byte[MAGIC.length];
+            dataIn.readFully(magic);
+            for (int i = 0; i < MAGIC.length ; i++) {
+                if(magic[i] != MAGIC[i]){
+                    throw new CryptoException("not HashConfusionStream data");
+                }
+            }
+
+            int headerChunkSize = dataIn.readInt();
+            if(headerChunkSize < 16 || headerChunkSize > MAX_CHUNK_SIZE || headerChunkSize % 16 != 0){
+                throw new CryptoException("chunk size error: " + headerChunkSize);
+            }
+            int maxCipherLength = headerChunkSize + 16;
+
+            byte [] nonce = new byte[NONCE_LENGTH];
+            dataIn.readFully(nonce);
+            byte [] header = makeHeader(headerChunkSize, nonce);
+
+            Chunk [] batch = new Chunk[threadCount];
+            long index = 0;
+            boolean isLast = false;
+            while (!isLast){
+                int count = 0;
+                while (count < batch.length && !isLast){
+                    int cipherLength = dataIn.readInt();
+                    if(cipherLength < 16 || cipherLength > maxCipherLength || cipherLength % 16 != 0){
+                        throw new CryptoException("chunk length error: " + cipherLength);
+                    }
+                    byte lastFlag = dataIn.readByte();
+                    if(lastFlag != 0 && lastFlag != 1){
+                        //mac 은 0, 1 로 정규화된 값으로 계산 하므로 다른 값은 여기서 거부
+                        throw new CryptoException("last flag error: " + lastFlag);
+                    }
+                    isLast = lastFlag == 1;
+                    byte [] data = new byte[cipherLength];
+                    dataIn.readFully(data);
+                    byte [] mac = new byte[MAC_LENGTH];
+                    dataIn.readFully(mac);
+
+                    Chunk chunk = new Chunk(this, header, nonce, index++, isLast, data, false);
+                    chunk.mac = mac;
+                    batch[count++] = chunk;
+                }
+
+                run(batch, count);
+
+                for (int i = 0; i < count ; i++) {
+                    out.write(batch[i].result);
+                    batch[i] = null;
+                }
+            }
+
+            if(dataIn.read() != -1){
+                throw new CryptoException("data after last chunk");
+            }
+            out.flush();
+        }catch (EOFException e){
+            throw new CryptoException("truncated data");
+        }catch (IOException e){
+            throw new IORuntimeException(e);
+        }
+    }
+
+    /**
+     * 파일 구간 컨테이너 암호화
+     * @param file File 원본
+     * @param encFile File 암호화 결과
+     */
+    public void encFile(File file, File encFile){
+        file(file, encFile, true);
+    }
+
+    /**
+     * 파일 구간 컨테이너 복호화
+     * 임시 파일에 복호화 하고 모든 구간 검증이 끝나면 결과 파일로 이동함
+     * @param encFile File 암호화된 파일
+     * @param file File 원본 파일
+     */
+    public void decFile(File encFile, File file){
+        file(encFile, file, false);
+    }
+
+    private void file(File inFile, File outFile, boolean isEnc){
+        File tempFile;
+        try{
+            //같은 디렉토리에 만들어야 move 가 파일 시스템 간 복사가 되지 않음
+            File dir = outFile.getAbsoluteFile().getParentFile();
+            tempFile = Files.createTempFile(dir.toPath(), outFile.getName(), ".tmp").toFile();
+        }catch (IOException e){
+            throw new IORuntimeException(e);
+        }
+
+        try{
+            try (InputStream in = new FileInputStream(inFile);
+                 OutputStream out = new FileOutputStream(tempFile)) {
+                if (isEnc) {
+                    enc(in, out);
+                } else {
+                    dec(in, out);
+                }
+            }
+            Files.move(tempFile.toPath(), outFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        }catch (IOException e){
+            //noinspection ResultOfMethodCallIgnored
+            tempFile.delete();
+            throw new IORuntimeException(e);
+        }catch (RuntimeException e){
+            //noinspection ResultOfMethodCallIgnored
+            tempFile.delete();
+            throw e;
+        }
+    }
+
+    /**
+     * 구간 처리 실행 (쓰레드 수가 2 이상이고 구간이 여러개면 병렬)
+     */
+    private void run(Chunk [] batch, int count){
+        if(count == 1 || threadCount < 2){
+            for (int i = 0; i < count ; i++) {
+                batch[i].run();
+            }
+        }else{
+            Chunk [] chunks = batch;
+            if(count < batch.length){
+                chunks = new Chunk[count];
+                System.arraycopy(batch, 0, chunks, 0, count);
+            }
+            ParallelArrayJob<Chunk> job = new ParallelArrayJob<>(chunks, Chunk::run);
+            job.setThreadCount(count);
+            job.runSync();
+        }
+
+        for (int i = 0; i < count ; i++) {
+            Chunk chunk = batch[i];
+            if(chunk.exception != null){
+                throw chunk.exception;
+            }
+            if(chunk.result == null){
+                throw new CryptoException("chunk fail: " + chunk.index);
+            }
+        }
+    }
+
+    /**
+     * 구간 iv
+     */
+    private static IvParameterSpec makeIv(byte [] nonce, long index) throws GeneralSecurityException {
+        MessageDigest md5 = MessageDigest.getInstance("MD5");
+        md5.update(nonce);
+        md5.update(longBytes(index));
+        return new IvParameterSpec(md5.digest());
+    }
+
+    /**
+     * header (magic | chunkSize | nonce)
+     */
+    private static byte [] makeHeader(int chunkSize, byte [] nonce){
+        byte [] header = new byte[HEADER_LENGTH];
+        System.arraycopy(MAGIC, 0, header, 0, MAGIC.length);
+        header[4] = (byte)(chunkSize >>> 24);
+        header[5] = (byte)(chunkSize >>> 16);
+        header[6] = (byte)(chunkSize >>> 8);
+        header[7] = (byte)chunkSize;
+        System.arraycopy(nonce, 0, header, 8, NONCE_LENGTH);
+        return header;
+    }
+
+    private byte [] makeMac(byte [] header, long index, boolean isLast, byte [] data) throws GeneralSecurityException {
+        Mac mac = Mac.getInstance("HmacSHA256");
+        mac.init(new SecretKeySpec(macKey, "HmacSHA256"));
+        mac.update(header);
+        mac.update(longBytes(index));
+        mac.update((byte)(isLast ? 1 : 0));
+        return mac.doFinal(data);
+    }
+
+    private static byte [] longBytes(long value){
+        byte [] bytes = new byte[8];
+        for (int i = 7; i >= 0 ; i--) {
+            bytes[i] = (byte)value;
+            value >>>= 8;
+        }
+        return bytes;
+    }
+
+    /**
+     * 암복호화 구간
+     */
+    private static class Chunk {
+        private final HashConfusionStream stream;
+        private final byte [] header;
+        private final byte [] nonce;
+        private final long index;
+        private final boolean isLast;
+        private final byte [] data;
+        private final boolean isEnc;
+
+        private byte [] mac;
+        private byte [] result = null;
+        private RuntimeException exception = null;
+
+        Chunk(HashConfusionStream stream, byte [] header, byte [] nonce, long index, boolean isLast, byte [] data, boolean isEnc){
+            this.stream = stream;
+            this.header = header;
+            this.nonce = nonce;
+            this.index = index;
+            this.isLast = isLast;
+            this.data = data;
+            this.isEnc = isEnc;
+        }
+
+        void run(){
+            try{
+                Cipher chunkCipher = Cipher.getInstance("AES/CBC/PKCS5Padding");
+                IvParameterSpec iv = makeIv(nonce, index);
+                if(isEnc){
+                    chunkCipher.init(Cipher.ENCRYPT_MODE, stream.cipher.getKeySpec(), iv);
+                    byte [] encData = chunkCipher.doFinal(data);
+                    mac = stream.makeMac(header, index, isLast, encData);
+                    result = encData;
+                }else{
+                    byte [] expected = stream.makeMac(header, index, isLast, data);
+                    if(!MessageDigest.isEqual(expected, mac)){
+                        throw new CryptoException("integrity check fail, chunk: " + index);
+                    }
+                    chunkCipher.init(Cipher.DECRYPT_MODE, stream.cipher.getKeySpec(), iv);
+                    result = chunkCipher.doFinal(data);
+                }
+            }catch (GeneralSecurityException e){
+                exception = new CryptoException(e);
+            }catch (RuntimeException e){
+                exception = e;
+            }
+        }
+    }
+
+    /**
+     * 구간 크기만큼 읽기 (끝이면 더 작거나 길이 0)
+     */
+    private static byte [] readChunk(InputStream in, int size) throws IOException {
+        byte [] buffer = new byte[size];
+        int offset = 0;
+        while (offset < size){
+            int length = in.read(buffer, offset, size - offset);
+            if(length == -1){
+                break;
+            }
+            offset += length;
+        }
+        if(offset == size){
+            return buffer;
+        }
+        byte [] data = new byte[offset];
+        System.arraycopy(buffer, 0, data, 0, offset);
+        return data;
+    }
+}
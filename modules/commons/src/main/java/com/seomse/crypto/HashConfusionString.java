@@ -45,7 +45,6 @@ public class HashConfusionString {
 	 * @return change hash
 	 */
 	public static String get(java.security.MessageDigest messageDigest, String value){
-        String eip;
         byte[] bip;
         bip = messageDigest.digest(value.getBytes());
         int length =  bip.length;
@@ -55,16 +54,14 @@ public class HashConfusionString {
         }else{
         	addc = ' ';
         }
-        StringBuilder temp = new StringBuilder();
+        StringBuilder temp = new StringBuilder(length * 3 + value.length());
 		//noinspection ForLoopReplaceableByForEach
 		for (int i = 0; i < length; i++) {
-            eip = "" + Integer.toHexString((int) bip[i] & 0x000000ff);
-            if (eip.length() < 2)
-                eip = "0" + eip;
-            temp.append(addc).append(eip);
+            int b = (int) bip[i] & 0x000000ff;
+            temp.append(addc).append(HEX[b >>> 4]).append(HEX[b & 0x0f]);
         }
         temp.append(value);
-        StringBuilder resultBuilder = new StringBuilder();
+        char [] result = new char[length];
         bip=messageDigest.digest(temp.toString().getBytes());
         for (int i = 0; i <length; i++) {
         	int resultchar = ((int) bip[i] & 0x000000ff);
@@ -81,10 +78,12 @@ public class HashConfusionString {
            if(resultchar == 92 && i < 32){
         	   resultchar -= i ;
            }
-           	
-           resultBuilder.append((char)resultchar);
+
+           result[i] = (char)resultchar;
 
         }
-        return resultBuilder.toString();
+        return new String(result);
 	}
+
+	private static final char [] HEX = {'0','1','2','3','4','5','6','7','8','9','a','b','c','d','e','f'};
 }
@@ -19,7 +19,11 @@ import javax.crypto.Cipher;
 import javax.crypto.spec.IvParameterSpec;
 import javax.crypto.spec.SecretKeySpec;
 import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.*;
+import java.util.concurrent.ThreadLocalRandom;
 
 /**
  * 간편한 문자열 암복호화
@@ -59,9 +63,29 @@ public class StringCrypto {
         return DEFAULT_INSTANCE.dec(str);
     }
 
+    //쓰레드별 재사용 (Cipher 는 호출마다 키가 달라서 init 만 다시 함)
+    private static final ThreadLocal<Cipher> CIPHER = ThreadLocal.withInitial(() -> {
+        try {
+            return Cipher.getInstance("AES/CBC/PKCS5Padding");
+        }catch (Exception e){
+            throw new CryptoException(e);
+        }
+    });
+
+    private static final ThreadLocal<MessageDigest> MD5 = ThreadLocal.withInitial(() -> {
+        try {
+            return MessageDigest.getInstance("MD5");
+        }catch (NoSuchAlgorithmException e){
+            throw new CryptoException(e);
+        }
+    });
+
     private final char [] keyCharArray;
-    private  Map<Character, Integer> lengthMap;
-    private  Map<Integer, char []> charsMap;
+
+    //문자별 키 길이 (char 값 위치, 없으면 -1)
+    private int [] lengthTable;
+    //키 길이별 문자 배열 (키 길이 위치)
+    private char [][] charsTable;
 
 
     private final int minLength;
@@ -71,8 +95,30 @@ public class StringCrypto {
 
     private CharMap charMap = null;
 
+    //charMap 변환 배열 (char 값 위치)
+    private char [] charMapTable = null;
+
+    /**
+     * 키 변환 설정
+     * 설정 시점의 변환 내용을 배열로 만들어 사용하므로 이후 charMap 의 변경은 다시 설정해야 반영됨
+     * @param charMap CharMap 키 변환 (null 이면 변환하지 않음)
+     */
     public void setCharMap(CharMap charMap) {
         this.charMap = charMap;
+        if(charMap == null){
+            charMapTable = null;
+            return;
+        }
+
+        int max = 127;
+        for(char ch : charMap.getMap().keySet()){
+            max = Math.max(max, ch);
+        }
+        char [] table = new char[max + 1];
+        for (int i = 0; i < table.length ; i++) {
+            table[i] = charMap.getChar((char)i);
+        }
+        charMapTable = table;
     }
 
     private int keySize = 16;
@@ -117,38 +163,46 @@ public class StringCrypto {
     }
 
     private void init(){
-        lengthMap = new HashMap<>();
-        charsMap = new HashMap<>();
+        int maxChar = 0;
+        for(char ch : keyCharArray){
+            maxChar = Math.max(maxChar, ch);
+        }
 
-        Map<Integer, List<Character>> tempMap = new HashMap<>();
+        lengthTable = new int[maxChar + 1];
+        Arrays.fill(lengthTable, -1);
 
-        for (int i = minLength; i <= maxLength ; i++) {
-            tempMap.put(i, new ArrayList<>());
-        }
+        charsTable = new char[maxLength + 1][];
+        int [] counts = new int[maxLength + 1];
 
         int length = minLength;
 
         //항상 같은 순서로 생성되어야 하므로 명확한 문법으로 활용
         //noinspection ForLoopReplaceableByForEach
         for (int i = 0; i <keyCharArray.length ; i++) {
-            lengthMap.put(keyCharArray[i],length );
-            tempMap.get(length).add(keyCharArray[i]);
+            lengthTable[keyCharArray[i]] = length;
+            counts[length]++;
 
             length++;
             if(length > maxLength){
                 length = minLength;
             }
         }
+
         for (int i = minLength; i <= maxLength ; i++) {
-            List<Character> list = tempMap.get(i);
-            char [] array = new char[list.size()];
-            for (int j = 0; j < array.length ; j++) {
-                array[j] = list.get(j);
+            charsTable[i] = new char[counts[i]];
+            counts[i] = 0;
+        }
+
+        length = minLength;
+        //noinspection ForLoopReplaceableByForEach
+        for (int i = 0; i <keyCharArray.length ; i++) {
+            charsTable[length][counts[length]++] = keyCharArray[i];
+
+            length++;
+            if(length > maxLength){
+                length = minLength;
             }
-            charsMap.put(i, array);
-            list.clear();
         }
-        tempMap.clear();
 
         keyRandomLength = maxLength - minLength;
     }
@@ -159,30 +213,40 @@ public class StringCrypto {
      * @return 암호화된 내용
      */
     public String enc(String str){
+        StringBuilder result = new StringBuilder(str.length() * 2 + 48);
+        enc(str, result);
+        return result.toString();
+    }
+
+    /**
+     * 암호화
+     * 결과를 out 뒤에 추가하므로 여러 값을 처리 할 때 out 을 재사용 할 수 있음
+     * @param str 암호화 시킬값
+     * @param out StringBuilder 암호화된 내용을 추가할 버퍼
+     */
+    public void enc(String str, StringBuilder out){
 
         try {
 
-            Random random = new Random();
+            ThreadLocalRandom random = ThreadLocalRandom.current();
 
             int keyLength = random.nextInt(keyRandomLength) + minLength;
 
-            StringBuilder keyBuilder = new StringBuilder();
+            char [] keyChars = new char[keyLength];
             for (int i = 0; i <keyLength ; i++) {
-                keyBuilder.append(keyCharArray[random.nextInt(keyCharArray.length)]);
+                keyChars[i] = keyCharArray[random.nextInt(keyCharArray.length)];
             }
 
-            StringBuilder result = new StringBuilder();
-            char [] lengthCharArray = charsMap.get(keyLength);
-            result.append(lengthCharArray[random.nextInt(lengthCharArray.length)]);
-            result.append(keyBuilder);
-            String key = HashConfusionString.get("MD5", keyBuilder.toString());
+            char [] lengthCharArray = charsTable[keyLength];
+            out.append(lengthCharArray[random.nextInt(lengthCharArray.length)]);
+            out.append(keyChars);
 
-            if(charMap != null){
-                key = charMap.change(key);
+            byte [] encBytes = encBase64(makeKey(new String(keyChars)), str, keySize);
+            for(byte b : encBytes){
+                out.append((char)b);
             }
-
-            result.append(enc(key, str, keySize));
-            return result.toString();
+        }catch(CryptoException e){
+            throw e;
         }catch(Exception e){
             throw new CryptoException(e);
         }
@@ -197,23 +261,78 @@ public class StringCrypto {
     public String dec(String str){
         try {
             char lengthChar = str.charAt(0);
-            int length = lengthMap.get(lengthChar);
-            int next = length +1;
-            String keyData = str.substring(1, next);
-            String key = HashConfusionString.get("MD5", keyData);
-
-            if(charMap != null){
-                key = charMap.change(key);
+            int length = lengthChar < lengthTable.length ? lengthTable[lengthChar] : -1;
+            if(length == -1){
+                throw new CryptoException("length char error: " + lengthChar);
             }
+            int next = length +1;
+            String key = makeKey(str.substring(1, next));
 
             String encData = str.substring(next);
             return dec(key, encData, keySize);
+        }catch(CryptoException e){
+            throw e;
         }catch(Exception e){
             throw new CryptoException(e);
         }
     }
 
+    /**
+     * 일괄 암호화
+     * @param strArray String [] 암호화 시킬값 배열 (null 항목은 null 결과)
+     * @return String [] 같은 위치의 암호화된 내용
+     */
+    public String [] enc(String [] strArray){
+        String [] results = new String[strArray.length];
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < strArray.length ; i++) {
+            if(strArray[i] == null){
+                continue;
+            }
+            sb.setLength(0);
+            enc(strArray[i], sb);
+            results[i] = sb.toString();
+        }
+        return results;
+    }
 
+    /**
+     * 일괄 복호화
+     * @param strArray String [] 암호화된 값 배열 (null 항목은 null 결과)
+     * @return String [] 같은 위치의 복호화된 내용
+     */
+    public String [] dec(String [] strArray){
+        String [] results = new String[strArray.length];
+        for (int i = 0; i < strArray.length ; i++) {
+            if(strArray[i] != null){
+                results[i] = dec(strArray[i]);
+            }
+        }
+        return results;
+    }
+
+    /**
+     * 키 문자열로 암호화 키 생성
+     */
+    private String makeKey(String keyData){
+        String key = HashConfusionString.get(MD5.get(), keyData);
+
+        char [] table = charMapTable;
+        if(table == null){
+            return key;
+        }
+
+        char [] chars = key.toCharArray();
+        for (int i = 0; i < chars.length ; i++) {
+            char ch = chars[i];
+            if(ch < table.length){
+                chars[i] = table[ch];
+            }else{
+                chars[i] = charMap.getChar(ch);
+            }
+        }
+        return new String(chars);
+    }
 
     /**
      * 암호화
@@ -222,21 +341,18 @@ public class StringCrypto {
      * @return String encValue
      */
     public static String enc(String key, String value, int keySize){
+        return new String(encBase64(key, value, keySize), StandardCharsets.ISO_8859_1);
+    }
+
+    /**
+     * 암호화
+     * @return byte [] base64 (ascii) 암호화 결과
+     */
+    private static byte [] encBase64(String key, String value, int keySize){
         try {
-            byte[] keyBytes = CryptoUtils.makeKeyByte(key, keySize);
-            Cipher cipher = Cipher.getInstance("AES/CBC/PKCS5Padding");
-            SecretKeySpec keySpec = new SecretKeySpec(keyBytes, "AES");
-            IvParameterSpec ivSpec;
-            if(keySize == 16){
-                ivSpec = new IvParameterSpec(keyBytes);
-            }else{
-                ivSpec = new IvParameterSpec(CryptoUtils.makeKeyByte(key, 16));
-            }
-            cipher.init(Cipher.ENCRYPT_MODE, keySpec, ivSpec);
+            Cipher cipher = init(Cipher.ENCRYPT_MODE, key, keySize);
             byte[] results = cipher.doFinal(value.getBytes(StandardCharsets.UTF_8));
-            Base64.Encoder encoder = Base64.getEncoder();
-
-            return new String(encoder.encode(results));
+            return Base64.getEncoder().encode(results);
         }catch(Exception e){
             throw new CryptoException(e);
         }
@@ -251,20 +367,9 @@ public class StringCrypto {
      */
     public static String dec(String key, String enc , int keySize){
         try {
-            byte[] keyBytes= CryptoUtils.makeKeyByte(key, keySize);
-            Cipher cipher = Cipher.getInstance("AES/CBC/PKCS5Padding");
-            SecretKeySpec keySpec = new SecretKeySpec(keyBytes, "AES");
-            IvParameterSpec ivSpec;
-            if(keySize == 16){
-                ivSpec = new IvParameterSpec(keyBytes);
-            }else{
-                ivSpec = new IvParameterSpec(CryptoUtils.makeKeyByte(key, 16));
-            }
-            cipher.init(Cipher.DECRYPT_MODE, keySpec, ivSpec);
+            Cipher cipher = init(Cipher.DECRYPT_MODE, key, keySize);
 
-            Base64.Decoder decoder = Base64.getDecoder();
-
-            byte[] encByte = decoder.decode(enc);
+            byte[] encByte = Base64.getDecoder().decode(enc);
             byte[] results = cipher.doFinal(encByte);
 
             return new String(results, StandardCharsets.UTF_8);
@@ -273,6 +378,24 @@ public class StringCrypto {
         }
     }
 
+    /**
+     * 쓰레드 Cipher 를 키로 초기화
+     * 이전 호출에서 예외가 발생했더라도 init 으로 상태가 초기화됨
+     */
+    private static Cipher init(int mode, String key, int keySize) throws GeneralSecurityException {
+        byte[] keyBytes = CryptoUtils.makeKeyByte(key, keySize);
+        SecretKeySpec keySpec = new SecretKeySpec(keyBytes, "AES");
+        IvParameterSpec ivSpec;
+        if(keySize == 16){
+            ivSpec = new IvParameterSpec(keyBytes);
+        }else{
+            ivSpec = new IvParameterSpec(CryptoUtils.makeKeyByte(key, 16));
+        }
+        Cipher cipher = CIPHER.get();
+        cipher.init(mode, keySpec, ivSpec);
+        return cipher;
+    }
+
 
     /**
      * 랜덤한 char 배열 생성
@@ -284,7 +407,7 @@ public class StringCrypto {
 
         Arrays.sort(sortChars);
 
-        Random random = new Random();
+        ThreadLocalRandom random = ThreadLocalRandom.current();
 
         List<Character> list = new LinkedList<>();
         for(char ch : sortChars){
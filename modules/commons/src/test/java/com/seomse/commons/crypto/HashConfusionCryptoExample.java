@@ -1,6 +1,7 @@
 package com.seomse.commons.crypto;
 
 import com.seomse.crypto.CharMap;
+import com.seomse.crypto.HashConfusionCipher;
 import com.seomse.crypto.HashConfusionCrypto;
 
 /**
@@ -21,6 +22,11 @@ public class HashConfusionCryptoExample {
         String dec = HashConfusionCrypto.decStr(key, encText, 32, charMap);
         System.out.println(dec);
 
+        //일괄 암복호화 (키 생성은 한번만 하고 건수가 많으면 병렬 처리)
+        HashConfusionCipher cipher = HashConfusionCrypto.getCipher(key, 32, charMap);
+        String [] encArray = cipher.encStr(new String[]{"010-1234-5678", "010-9876-5432"});
+        System.out.println(String.join(", ", cipher.decStr(encArray)));
+
         //파일암호화
 //        try {
 //            File file = new File("D:\\컨텐츠\\무빙.Moving.E16~E17.1080p\\MOVING 17화.mkv");
@@ -0,0 +1,30 @@
+package com.seomse.commons.crypto;
+
+import com.seomse.crypto.HashConfusionStream;
+
+import java.io.File;
+
+/**
+ * 파일 암복호화 예제
+ * @author macle
+ */
+public class HashConfusionStreamExample {
+    public static void main(String[] args) {
+        if(args.length < 1){
+            System.out.println("file path args");
+            return;
+        }
+
+        File file = new File(args[0]);
+        File encFile = new File(file.getAbsolutePath() + ".enc");
+        File decFile = new File(file.getAbsolutePath() + ".dec");
+
+        HashConfusionStream stream = new HashConfusionStream("test", 32, null);
+        //구간 단위 병렬 처리
+        stream.setThreadCount(4);
+
+        stream.encFile(file, encFile);
+        stream.decFile(encFile, decFile);
+        System.out.println(encFile.length() + ", " + decFile.length());
+    }
+}
@@ -0,0 +1,25 @@
+package com.seomse.commons.example;
+
+import com.seomse.commons.utils.HashUtil;
+
+import java.io.File;
+import java.security.NoSuchAlgorithmException;
+
+/**
+ * 디렉토리 파일 해쉬 예제
+ * @author macle
+ */
+public class FileHashExample {
+    public static void main(String[] args) throws NoSuchAlgorithmException {
+        File dir = new File(args.length > 0 ? args[0] : ".");
+        File [] files = dir.listFiles(File::isFile);
+        if(files == null){
+            return;
+        }
+
+        String [] hashes = HashUtil.getFileHashes("SHA-256", files, 4);
+        for (int i = 0; i < files.length ; i++) {
+            System.out.println(hashes[i] + "  " + files[i].getName());
+        }
+    }
+}
@@ -1,6 +1,7 @@
 package com.seomse.commons.example;
 
 import com.seomse.commons.utils.FileSearch;
+import com.seomse.commons.utils.FileSearchMatch;
 
 import java.io.File;
 import java.util.List;
@@ -31,5 +32,12 @@ public class FileSearchExample {
             System.out.println(file.getName());
         }
 
+        //검색어 위치 (파일, 라인, byte 위치)
+        FileSearch matchSearch = new FileSearch();
+        List<FileSearchMatch> matchList = matchSearch.searchMatches("C:\\project\\intellij\\runon\\content-collector\\modules\\finesfss\\src\\main", new String[]{"com.seomse.jdbc", "JdbcObjects"});
+        for(FileSearchMatch match : matchList){
+            System.out.println(match);
+        }
+
     }
 }
@@ -13,6 +13,17 @@ public class JsonFilePropertiesExample {
         jsonFileProperties.set("A", System.currentTimeMillis());
         jsonFileProperties.set("B", System.currentTimeMillis());
     }
+
+    public static void writeBehind(){
+        JsonFileProperties jsonFileProperties = JsonFilePropertiesManager.getInstance().getByPath("config/collect_time.json");
+        //1초 주기 또는 기록되지 않은 변경이 1000건 이상이면 기록
+        jsonFileProperties.setWriteBehind(1000L, 1000);
+        for (int i = 0; i < 100000 ; i++) {
+            jsonFileProperties.set("A", System.currentTimeMillis());
+        }
+        jsonFileProperties.close();
+    }
+
     public static void view(){
         JsonFileProperties jsonFileProperties = JsonFilePropertiesManager.getInstance().getByPath("config/collect_time.json");
         System.out.println(jsonFileProperties.getLong("A", 0));
@@ -0,0 +1,24 @@
+package com.seomse.commons.example;
+
+import com.seomse.commons.utils.string.highlight.KeywordHighlight;
+
+/**
+ * 키워드 하이라이트 예제
+ * @author macle
+ */
+public class KeywordHighlightExample {
+    public static void main(String[] args) {
+
+        String [] texts = {
+                "섬세한사람들 작더라도 쓸모있게 만드는 개발자 모임이다. 섬세한 개발자들이 만드는 쓸모있는 도구"
+                , "AI기반 팩트체킹, 미생물 환경복원 10대 미래유망기술로 선정된 환경 기술"
+        };
+
+        //키워드 묶음 별로 한번 만들어서 재사용
+        KeywordHighlight highlight = new KeywordHighlight("개발자", "쓸모", "섬세한", "환경", "기술");
+
+        for(String text : texts){
+            System.out.println(highlight.make(text, "<em>", "</em>", 30));
+        }
+    }
+}
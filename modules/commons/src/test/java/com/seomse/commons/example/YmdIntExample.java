@@ -0,0 +1,37 @@
+package com.seomse.commons.example;
+
+import com.seomse.commons.utils.time.YmdInt;
+
+import java.time.ZoneId;
+
+/**
+ * int 형 년월일 계산 예제
+ * @author macle
+ */
+public class YmdIntExample {
+    public static void main(String[] args) {
+        int ymd = 20240229;
+        System.out.println("add day 1: " + YmdInt.addDay(ymd, 1));
+        System.out.println("add month 12: " + YmdInt.addMonth(ymd, 12));
+        System.out.println("last day of month: " + YmdInt.lastDayOfMonth(20230201));
+        System.out.println("diff day: " + YmdInt.diffDay(20240101, 20241231));
+        System.out.println("day of week: " + YmdInt.getDayOfWeek(ymd));
+        System.out.println("week of year: " + YmdInt.getWeekYear(20241230) + "-" + YmdInt.getWeekOfYear(20241230));
+        System.out.println("time: " + YmdInt.getTime(ymd, ZoneId.of("Asia/Seoul")));
+
+        //버퍼를 재사용하며 긴 기간 순회
+        int [] buffer = new int[31];
+        int start = 20000101;
+        int end = 20231231;
+        int dayCount = 0;
+        for(;;){
+            int count = YmdInt.range(start, end, buffer, 0);
+            if(count == 0){
+                break;
+            }
+            dayCount += count;
+            start = YmdInt.addDay(buffer[count - 1], 1);
+        }
+        System.out.println("range day count: " + dayCount + ", " + (YmdInt.diffDay(20000101, 20231231) + 1));
+    }
+}
@@ -0,0 +1,46 @@
+package com.seomse.commons.test;
+
+import com.seomse.commons.utils.FileSearch;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.util.List;
+
+/**
+ * euc-kr 파일 검색시 문자 중간에서 시작하는 검색어를 찾지 않는지 테스트
+ * "같깆" (b0b0 b1ec) 은 byte 로 보면 "갚" (b0b1) 을 포함함
+ * @author macle
+ */
+public class FileSearchCharsetTest {
+
+    public static void main(String[] args) throws IOException {
+        Charset charset = Charset.forName("EUC-KR");
+
+        File dir = Files.createTempDirectory("search").toFile();
+        File file = new File(dir, "euc-kr.txt");
+        Files.write(file.toPath(), "같깆".getBytes(charset));
+
+        FileSearch fileSearch = new FileSearch();
+        fileSearch.setCharset(charset);
+
+        List<File> notFoundList = fileSearch.search(dir.getAbsolutePath(), "갚");
+        List<File> foundList = fileSearch.search(dir.getAbsolutePath(), "깆");
+
+        boolean isUnsupported = false;
+        try{
+            fileSearch.searchMatches(dir.getAbsolutePath(), new String[]{"갚"});
+        }catch (IllegalArgumentException e){
+            isUnsupported = true;
+        }
+
+        //noinspection ResultOfMethodCallIgnored
+        file.delete();
+        //noinspection ResultOfMethodCallIgnored
+        dir.delete();
+
+        boolean isSuccess = notFoundList.isEmpty() && foundList.size() == 1 && isUnsupported;
+        System.out.println((isSuccess ? "success " : "fail ") + notFoundList + ", " + foundList + ", unsupported: " + isUnsupported);
+    }
+}
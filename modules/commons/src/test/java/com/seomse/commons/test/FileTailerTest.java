@@ -0,0 +1,66 @@
+package com.seomse.commons.test;
+
+import com.seomse.commons.exception.IORuntimeException;
+import com.seomse.commons.utils.file.FileTailer;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * FileTailer 읽기 중 IOException 이 발생해도 라인이 누락되거나 중복되지 않는지 테스트
+ * callback 에서 쓰레드를 interrupt 하면 다음 channel 읽기에서 ClosedByInterruptException 이 발생함
+ * @author macle
+ */
+public class FileTailerTest {
+
+    public static void main(String[] args) throws IOException {
+        File file = File.createTempFile("tailer", ".log");
+        file.deleteOnExit();
+
+        List<String> lines = new ArrayList<>();
+        final int errorLine = 3;
+
+        FileTailer tailer = new FileTailer(file, StandardCharsets.UTF_8, line -> {
+            lines.add(line);
+            if(lines.size() == errorLine){
+                Thread.currentThread().interrupt();
+            }
+        });
+
+        //기본 위치 (파일의 끝) 로 시작
+        tailer.poll();
+
+        append(file, 0, 5);
+        //interrupt 후 같은 버퍼의 라인은 전달되고 다음 읽기에서 예외 발생
+        try{
+            tailer.poll();
+            System.out.println("fail: no exception");
+        }catch (IORuntimeException e){
+            System.out.println("IOException injected: " + e.getCause().getClass().getSimpleName() + ", offset: " + tailer.getOffset());
+        }
+        //noinspection ResultOfMethodCallIgnored
+        Thread.interrupted();
+
+        append(file, 5, 10);
+        tailer.poll();
+        tailer.close();
+
+        boolean isSuccess = lines.size() == 10;
+        for (int i = 0; i < lines.size() && isSuccess ; i++) {
+            isSuccess = lines.get(i).equals("line " + i);
+        }
+        System.out.println((isSuccess ? "success " : "fail ") + lines);
+    }
+
+    private static void append(File file, int begin, int end) throws IOException {
+        try(FileOutputStream out = new FileOutputStream(file, true)){
+            for (int i = begin; i < end ; i++) {
+                out.write(("line " + i + "\n").getBytes(StandardCharsets.UTF_8));
+            }
+        }
+    }
+}
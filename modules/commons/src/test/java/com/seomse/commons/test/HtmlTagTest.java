@@ -0,0 +1,87 @@
+package com.seomse.commons.test;
+
+import com.seomse.commons.utils.string.HtmlText;
+import com.seomse.commons.utils.string.Remove;
+import com.seomse.commons.utils.time.TimeUtil;
+
+import java.util.Random;
+
+/**
+ * Remove.htmlTag (HtmlText) 와 Remove.htmlTagRegex 결과 일치 여부, 속도 테스트
+ * @author macle
+ */
+public class HtmlTagTest {
+
+    //임의 html 생성에 사용하는 조각 (테그, 주석, 엔트리, 줄바꿈, 공백 등)
+    private static final String [] TOKENS = {
+            "<p>", "<P class=\"a\">", "</p>", "<br>", "<br/>", "< br />", "</BR>", "<Br>", "<b>", "</b>", "</B>", "<div id=\"main\">", "</div>"
+            , "<a href='x.html?a=1&b=2'>", "</a>", "<img src=\"a.jpg\" />", "<!DOCTYPE html>", "<script>", "</script>", "<style type=\"text/css\">"
+            , "<!-- comment -->", "<!--", "-->", "--", "-", "<", ">", "<<", ">>", "< ", " >", "<a.b>", "<?xml?>", "<x:y>", "<pre>", "<p"
+            , "&nbsp;", "&#160;", "&lt;", "&#60;", "&gt;", "&#62;", "&amp;", "&#38;", "&#39;", "&#xD;", "&amp;lt;", "&amp;amp;", "&#38;#39;", "&quot;", "&copy;", "&AMP;", "&", "&#", ";", "#"
+            , "\n", "\r\n", "\r", "|", " ", "  ", "\t", " \t ", "\u00A0", "\u200B", "\uFEFF", "\u2028"
+            , "text", "한글", "a", "p", "br", "=", "'", "\"", "/", "if(a<b){c=1;}", "x > y"
+    };
+
+    public static void main(String[] args) {
+        String sample = "<html>\n<head><title>제목 &amp; 부제</title>\n<style type=\"text/css\">p{color:red;}</style></head>\n"
+                + "<body>\n<!-- 본문 -->\n<div class=\"content\">\n    <p>첫 문단&nbsp;입니다.<br/>다음 줄</p>\n"
+                + "<P align=\"center\">두번째 &lt;문단&gt; &#39;인용&#39;</P>\n<ul><li>항목 1</li>\n<li>항목 | 2</li></ul>\n"
+                + "<a href=\"http://www.seomse.com?a=1&amp;b=2\">링크</a>\n</div>\n</body>\n</html>";
+
+        System.out.println(Remove.htmlTag(sample));
+        System.out.println("sample equals: " + Remove.htmlTag(sample).equals(Remove.htmlTagRegex(sample)));
+
+        HtmlText htmlText = new HtmlText();
+        Random random = new Random(1);
+        int count = 200000;
+        int failCount = 0;
+        int diffCount = 0;
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < count ; i++) {
+            sb.setLength(0);
+            int tokenCount = random.nextInt(40);
+            for (int j = 0; j < tokenCount ; j++) {
+                sb.append(TOKENS[random.nextInt(TOKENS.length)]);
+            }
+            String html = sb.toString();
+
+            String text = htmlText.toText(html);
+            if(text == null){
+                failCount++;
+                continue;
+            }
+
+            String regexText = Remove.htmlTagRegex(html);
+            if(!text.equals(regexText)){
+                diffCount++;
+                if(diffCount < 10){
+                    System.out.println("diff: [" + html + "]\n[" + text + "]\n[" + regexText + "]");
+                }
+            }
+        }
+        System.out.println("random count: " + count + ", diff: " + diffCount + ", regex fallback: " + failCount);
+
+        StringBuilder page = new StringBuilder();
+        for (int i = 0; i < 2000 ; i++) {
+            page.append(sample).append('\n');
+        }
+        String html = page.toString();
+
+        for (int i = 0; i < 5 ; i++) {
+            Remove.htmlTag(html);
+            Remove.htmlTagRegex(html);
+        }
+
+        long startTime = System.currentTimeMillis();
+        for (int i = 0; i < 20 ; i++) {
+            Remove.htmlTagRegex(html);
+        }
+        System.out.println("htmlTagRegex 속도: " + TimeUtil.getSecond(System.currentTimeMillis() - startTime));
+
+        startTime = System.currentTimeMillis();
+        for (int i = 0; i < 20 ; i++) {
+            Remove.htmlTag(html);
+        }
+        System.out.println("htmlTag 속도: " + TimeUtil.getSecond(System.currentTimeMillis() - startTime));
+    }
+}
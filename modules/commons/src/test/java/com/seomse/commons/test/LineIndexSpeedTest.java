@@ -0,0 +1,42 @@
+package com.seomse.commons.test;
+
+import com.seomse.commons.utils.FileUtil;
+import com.seomse.commons.utils.file.LineIndex;
+import com.seomse.commons.utils.time.TimeUtil;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * 라인 색인을 활용한 라인 조회 속도 테스트
+ * @author macle
+ */
+public class LineIndexSpeedTest {
+    public static void main(String[] args) {
+        File file = new File("D:\\seomse\\index\\20200201\\index_0.md");
+
+        long startTime = System.currentTimeMillis();
+        LineIndex lineIndex = LineIndex.make(file, LineIndex.DEFAULT_INTERVAL, true);
+        System.out.println("line index make 속도: " + TimeUtil.getSecond(System.currentTimeMillis()-startTime) + " " + lineIndex.getLineCount());
+
+        long lineCount = lineIndex.getLineCount();
+        //일치여부 테스트
+        for (int i = 0; i < lineCount ; i += 97) {
+            if(!FileUtil.getLine(file, StandardCharsets.UTF_8, i).equals(lineIndex.getLine(i, StandardCharsets.UTF_8))){
+                System.out.println(i);
+            }
+        }
+
+        startTime = System.currentTimeMillis();
+        for (int i = 0; i <500 ; i++) {
+            FileUtil.getLine(file, StandardCharsets.UTF_8, (int)(lineCount - 1));
+        }
+        System.out.println("last line FileUtil 속도: " + TimeUtil.getSecond(System.currentTimeMillis()-startTime));
+
+        startTime = System.currentTimeMillis();
+        for (int i = 0; i <500 ; i++) {
+            lineIndex.getLine(lineCount - 1, StandardCharsets.UTF_8);
+        }
+        System.out.println("last line LineIndex 속도: " + TimeUtil.getSecond(System.currentTimeMillis()-startTime));
+    }
+}
@@ -20,8 +20,11 @@ import com.seomse.commons.utils.string.Change;
 import com.seomse.commons.utils.string.Remove;
 import com.seomse.commons.utils.string.TextParsing;
 
+import java.nio.CharBuffer;
+
 /**
  * script parsing util
+ * next 값은 얻은 부분 까지 버릴 때 문자열을 자르지 않고 구간 위치만 이동
  * @author macle
  */
 public class CrawlingScript {
@@ -29,6 +32,10 @@ public class CrawlingScript {
 
 	private final String [] scripts;
 
+	//next script 남은 구간 [nextBegin, nextEnd)
+	private int nextBegin;
+	private int nextEnd;
+
 	private boolean isHtmlRemove = true;
 
 	private boolean isNumberCharEntry = true;
@@ -56,15 +63,19 @@ public class CrawlingScript {
 
 		scripts = new String [2];
 		scripts[0] = script;
-		scripts[1] = script;
+		setScript(script);
 
 	}
 
 	public void setScript(String script){
-		scripts[1] = script;
+		setScript(script, 1);
 	}
 	public void setScript(String script, int index){
 		scripts[index] = script;
+		if(index == 1){
+			nextBegin = 0;
+			nextEnd = script.length();
+		}
 	}
 
 
@@ -122,13 +133,16 @@ public class CrawlingScript {
 
 		String script = scripts[index];
 
-		int startIndex = script.indexOf(start);
+		int from = index == 1 ? nextBegin : 0;
+		int limit = index == 1 ? nextEnd : script.length();
+
+		int startIndex = indexOf(script, start, from, limit);
 		if(startIndex == -1){
 			return null;
 		}
 
 		startIndex += start.length();
-		int endIndex =  script.indexOf(end, startIndex);
+		int endIndex = indexOf(script, end, startIndex, limit);
 		if(endIndex == -1){
 			return null;
 		}
@@ -152,12 +166,50 @@ public class CrawlingScript {
 		}
 
 		if(index == 1){
-			scripts[index] = script.substring(endIndex + end.length());
+			nextBegin = endIndex + end.length();
 		}
 
 		return result;
 	}
 
+	/**
+	 * 사이 구간 얻기 (문자열 복사 및 옵션 처리를 하지 않음)
+	 * 사이값을 얻은 부분 까지 버림
+	 * 반환 값은 script 를 참조하는 읽기전용 CharSequence 이므로 필요한 값만 toString 으로 문자열을 만들 것
+	 * @param start String start with
+	 * @param end String end with
+	 * @return CharSequence 없으면 null
+	 */
+	public CharSequence getRegionNext(String start, String end){
+		String script = scripts[1];
+
+		int startIndex = indexOf(script, start, nextBegin, nextEnd);
+		if(startIndex == -1){
+			return null;
+		}
+
+		startIndex += start.length();
+		int endIndex = indexOf(script, end, startIndex, nextEnd);
+		if(endIndex == -1){
+			return null;
+		}
+
+		nextBegin = endIndex + end.length();
+		return CharBuffer.wrap(script, startIndex, endIndex);
+	}
+
+	/**
+	 * 구간 [from, limit) 안에서 찾기
+	 * @return int 원본 기준 위치, 없으면 -1
+	 */
+	private static int indexOf(String script, String search, int from, int limit){
+		int index = script.indexOf(search, from);
+		if(index == -1 || index + search.length() > limit){
+			return -1;
+		}
+		return index;
+	}
+
 	private String numberCharBegin= "&#";
 	private String numberCharEnd = ";";
 
@@ -177,11 +229,23 @@ public class CrawlingScript {
 	 */
 	public boolean removeNext(String search){
 
-		int startIndex = scripts[1].indexOf(search);
+		String script = scripts[1];
+		int startIndex = indexOf(script, search, nextBegin, nextEnd);
 		if(startIndex == -1){
 			return false;
 		}
-		scripts[1] = scripts[1].substring(startIndex + search.length()).trim();
+
+		//trim
+		int begin = startIndex + search.length();
+		int end = nextEnd;
+		while (begin < end && script.charAt(begin) <= ' '){
+			begin++;
+		}
+		while (end > begin && script.charAt(end - 1) <= ' '){
+			end--;
+		}
+		nextBegin = begin;
+		nextEnd = end;
 		return true;
 	}
 
@@ -198,7 +262,11 @@ public class CrawlingScript {
 	 * @return next value
 	 */
 	public String getValueNext(){
-		return scripts[1];
+		String script = scripts[1];
+		if(nextBegin == 0 && nextEnd == script.length()){
+			return script;
+		}
+		return script.substring(nextBegin, nextEnd);
 	}
 
 }
@@ -187,15 +187,57 @@ public class ScriptParser {
      * @return List
      */
     public static List<String> parseStringMany(String contents , String start , String end , boolean findFirst) {
+        if(end.isEmpty()){
+            throw new IllegalArgumentException("end empty");
+        }
+
+        //끝 문자열 단위 구간 [position, segmentEnd) 을 잘라내지 않고 위치로만 찾음
         List<String> list = new ArrayList<>();
-        while (contents.contains(end)){
-            String find = parseString( contents.substring(0 , contents.indexOf(end)+end.length() ) , start , end , findFirst );
-            list.add(find);
-            contents = contents.substring(contents.indexOf(end)+end.length());
+        int position = 0;
+        for(;;){
+            int endIdx = contents.indexOf(end, position);
+            if(endIdx == -1){
+                break;
+            }
+            int segmentEnd = endIdx + end.length();
+            list.add(parseString(contents, start, end, findFirst, position, segmentEnd));
+            position = segmentEnd;
         }
         return list;
     }
 
+    /**
+     * 구간 [begin, end) 안에서 parseString(contents, start, end, findFirst) 와 같이 찾음
+     */
+    private static String parseString(String contents , String start , String end , boolean findFirst, int begin, int segmentEnd) {
+        if ( findFirst ){
+            int startIdx = contents.indexOf(start, begin);
+            if(startIdx == -1 || startIdx + start.length() > segmentEnd){
+                return "";
+            }
+            startIdx = startIdx + start.length();
+
+            int endIdx = contents.indexOf(end, startIdx);
+            if( endIdx == -1 || endIdx + end.length() > segmentEnd){
+                return "";
+            }
+            return contents.substring(startIdx, endIdx);
+        } else {
+            int endIdx = contents.indexOf(end, begin);
+
+            int startIdx = contents.lastIndexOf(start, Math.min(endIdx, segmentEnd - start.length()));
+            if(startIdx < begin){
+                return "";
+            }
+            startIdx = startIdx + start.length();
+
+            if(startIdx > endIdx){
+                return "";
+            }
+            return contents.substring(startIdx, endIdx);
+        }
+    }
+
     /**
      * @param contents String
      * @param prefix String
@@ -344,8 +386,8 @@ public class ScriptParser {
     public static List<Integer> indexOfAny(String contents , String prefix) {
         List<Integer> idxList = new ArrayList<>();
         int fromIdx = 0;
-        while ( contents.indexOf(prefix , fromIdx) != -1 ) {
-            int findIdx = contents.indexOf(prefix , fromIdx);
+        int findIdx;
+        while ( (findIdx = contents.indexOf(prefix , fromIdx)) != -1 ) {
             idxList.add(findIdx);
             fromIdx = prefix.length() + findIdx;
         }
@@ -0,0 +1,581 @@
+/*
+ * Copyright (C) 2020 Seomse Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.seomse.crawling.core.http;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 여러 추출 규칙(시작 문자열, 끝 문자열)을 한번에 처리하는 파싱 템플릿
+ * 규칙의 모든 시작, 끝 문자열로 Aho-Corasick 오토마톤을 만들어 두고 본문을 앞에서 부터 한번만 읽으면서 모든 규칙의 값을 찾음
+ * 중간 문자열을 만들지 않고 위치로만 찾은 후 결과 값만 문자열로 만듬
+ * 단일 규칙은 ScriptParser.parseString(contents, start, end, true), 반복 규칙은 ScriptParser.parseStringMany(contents, start, end) 와 결과가 같음
+ * 규칙 추가 후 처음 parse 할 때 오토마톤을 만들고 이후에는 변경되지 않으므로 여러 쓰레드에서 같이 사용 가능 (규칙 추가는 parse 전에 할 것)
+ * @author macle
+ */
+public class ScriptTemplate {
+
+    private final List<Rule> ruleList = new ArrayList<>();
+    private final Map<String, Rule> ruleMap = new HashMap<>();
+
+    private volatile Compiled compiled = null;
+
+    /**
+     * 단일 규칙 추가 (처음 찾은 값)
+     * @param name String 결과 이름
+     * @param prefix String 시작*끝
+     */
+    public void add(String name, String prefix){
+        add(name, prefix, '*');
+    }
+
+    /**
+     * 단일 규칙 추가 (처음 찾은 값)
+     * @param name String 결과 이름
+     * @param prefix String 시작 splitter 끝
+     * @param splitter char 구분 문자
+     */
+    public void add(String name, String prefix, char splitter){
+        int splitIndex = prefix.indexOf(splitter);
+        add(name, prefix.substring(0, splitIndex), prefix.substring(splitIndex + 1));
+    }
+
+    /**
+     * 단일 규칙 추가 (처음 찾은 값)
+     * @param name String 결과 이름
+     * @param start String 시작 문자열
+     * @param end String 끝 문자열
+     */
+    public void add(String name, String start, String end){
+        addRule(new Rule(name, start, end, false));
+    }
+
+    /**
+     * 반복 규칙 추가 (찾은 값 전체)
+     * @param name String 결과 이름
+     * @param prefix String 시작*끝
+     */
+    public void addMany(String name, String prefix){
+        addMany(name, prefix, '*');
+    }
+
+    /**
+     * 반복 규칙 추가 (찾은 값 전체)
+     * @param name String 결과 이름
+     * @param prefix String 시작 splitter 끝
+     * @param splitter char 구분 문자
+     */
+    public void addMany(String name, String prefix, char splitter){
+        int splitIndex = prefix.indexOf(splitter);
+        addMany(name, prefix.substring(0, splitIndex), prefix.substring(splitIndex + 1));
+    }
+
+    /**
+     * 반복 규칙 추가 (찾은 값 전체)
+     * @param name String 결과 이름
+     * @param start String 시작 문자열 (빈 문자열 불가)
+     * @param end String 끝 문자열
+     */
+    public void addMany(String name, String start, String end){
+        if(start.isEmpty()){
+            throw new IllegalArgumentException("start empty: " + name);
+        }
+        addRule(new Rule(name, start, end, true));
+    }
+
+    private synchronized void addRule(Rule rule){
+        if(ruleMap.containsKey(rule.name)){
+            throw new IllegalArgumentException("duplicate name: " + rule.name);
+        }
+        rule.index = ruleList.size();
+        ruleList.add(rule);
+        ruleMap.put(rule.name, rule);
+        compiled = null;
+    }
+
+    private Compiled getCompiled(){
+        Compiled compiled = this.compiled;
+        if(compiled != null){
+            return compiled;
+        }
+
+        synchronized (this){
+            if(this.compiled == null){
+                this.compiled = new Compiled(ruleList.toArray(new Rule[0]));
+            }
+            return this.compiled;
+        }
+    }
+
+    /**
+     * 파싱
+     * @param contents String 본문
+     * @return Result 규칙 이름별 결과
+     */
+    public Result parse(String contents){
+        Compiled compiled = getCompiled();
+        Rule [] rules = compiled.rules;
+
+        Result result = new Result(rules);
+        States states = new States(rules);
+
+        int remainFirst = 0;
+        for(Rule rule : rules){
+            if(rule.isMany){
+                continue;
+            }
+
+            if(rule.start.isEmpty()){
+                //시작 문자열이 없으면 처음 부터
+                states.valueBegins[rule.index] = 0;
+                if(rule.end.isEmpty()){
+                    result.values[rule.index] = "";
+                    continue;
+                }
+            }
+            remainFirst++;
+        }
+
+        boolean isMany = compiled.isMany;
+        if(remainFirst == 0 && !isMany){
+            return result;
+        }
+
+        Matcher matcher = compiled.matcher;
+        int length = contents.length();
+        int state = 0;
+        for (int i = 0; i < length ; i++) {
+            state = matcher.next(state, contents.charAt(i));
+
+            int output = matcher.getOutput(state);
+            while (output != -1){
+                int patternIndex = matcher.outputs[output];
+                int begin = i - matcher.patterns[patternIndex].length() + 1;
+
+                for(Role role : compiled.roles[patternIndex]){
+                    if(role.rule.isMany){
+                        many(contents, role, begin, states, result);
+                    }else if(first(contents, role, begin, states, result)){
+                        remainFirst--;
+                    }
+                }
+
+                output = matcher.outputLinks[output];
+            }
+
+            if(remainFirst == 0 && !isMany){
+                break;
+            }
+        }
+
+        return result;
+    }
+
+    /**
+     * 단일 규칙 처리
+     * @return boolean 값을 찾아서 완료 됐는지 여부
+     */
+    private static boolean first(String contents, Role role, int begin, States states, Result result){
+        Rule rule = role.rule;
+        int index = rule.index;
+        if(result.values[index] != null){
+            return false;
+        }
+
+        if(role.isStart){
+            if(states.valueBegins[index] != -1){
+                return false;
+            }
+            int valueBegin = begin + rule.start.length();
+            states.valueBegins[index] = valueBegin;
+
+            if(rule.end.isEmpty()){
+                result.values[index] = "";
+                return true;
+            }
+            return false;
+        }
+
+        int valueBegin = states.valueBegins[index];
+        if(valueBegin == -1 || begin < valueBegin){
+            return false;
+        }
+
+        result.values[index] = contents.substring(valueBegin, begin);
+        return true;
+    }
+
+    /**
+     * 반복 규칙 처리
+     * 시작 문자열은 겹치지 않게 찾고 (ScriptParser.indexOfAny), 끝을 기다리는 시작 위치들은 다음 끝 문자열에서 같이 완료
+     */
+    private static void many(String contents, Role role, int begin, States states, Result result){
+        Rule rule = role.rule;
+        int index = rule.index;
+        IntQueue pending = states.pendings[index];
+
+        if(role.isStart){
+            if(begin < states.nextStarts[index]){
+                return;
+            }
+            int valueBegin = begin + rule.start.length();
+            states.nextStarts[index] = valueBegin;
+
+            if(rule.end.isEmpty()){
+                result.lists.get(index).add("");
+            }else{
+                pending.add(valueBegin);
+            }
+            return;
+        }
+
+        while (!pending.isEmpty() && pending.peek() <= begin){
+            result.lists.get(index).add(contents.substring(pending.poll(), begin));
+        }
+    }
+
+    /**
+     * 파싱 결과
+     */
+    public static class Result {
+        private final Map<String, Integer> indexMap;
+        private final String [] values;
+        private final List<List<String>> lists;
+
+        private Result(Rule [] rules){
+            indexMap = new LinkedHashMap<>();
+            values = new String[rules.length];
+            lists = new ArrayList<>(Collections.nCopies(rules.length, null));
+            for(Rule rule : rules){
+                indexMap.put(rule.name, rule.index);
+                if(rule.isMany){
+                    lists.set(rule.index, new ArrayList<>());
+                }
+            }
+        }
+
+        /**
+         * 단일 규칙 결과
+         * @param name String 규칙 이름
+         * @return String 찾지 못하면 "" (ScriptParser.parseString 과 같음)
+         */
+        public String getString(String name){
+            String value = values[getIndex(name)];
+            if(value == null){
+                return "";
+            }
+            return value;
+        }
+
+        /**
+         * 반복 규칙 결과
+         * @param name String 규칙 이름
+         * @return List 찾은 값 (순서대로)
+         */
+        public List<String> getList(String name){
+            List<String> list = lists.get(getIndex(name));
+            if(list == null){
+                String value = values[getIndex(name)];
+                if(value == null){
+                    return Collections.emptyList();
+                }
+                return Collections.singletonList(value);
+            }
+            return list;
+        }
+
+        /**
+         * 단일 규칙 값을 찾았는지 여부
+         * @param name String 규칙 이름
+         * @return boolean
+         */
+        public boolean isFind(String name){
+            int index = getIndex(name);
+            return values[index] != null || (lists.get(index) != null && !lists.get(index).isEmpty());
+        }
+
+        private int getIndex(String name){
+            Integer index = indexMap.get(name);
+            if(index == null){
+                throw new IllegalArgumentException("rule not found: " + name);
+            }
+            return index;
+        }
+    }
+
+    private static class Rule {
+        final String name;
+        final String start;
+        final String end;
+        final boolean isMany;
+        int index;
+
+        Rule(String name, String start, String end, boolean isMany){
+            this.name = name;
+            this.start = start;
+            this.end = end;
+            this.isMany = isMany;
+        }
+    }
+
+    /**
+     * 패턴을 사용하는 규칙과 역할 (시작, 끝)
+     */
+    private static class Role {
+        final Rule rule;
+        final boolean isStart;
+
+        Role(Rule rule, boolean isStart){
+            this.rule = rule;
+            this.isStart = isStart;
+        }
+    }
+
+    /**
+     * parse 한번의 규칙별 상태
+     */
+    private static class States {
+        final int [] valueBegins;
+        final int [] nextStarts;
+        final IntQueue [] pendings;
+
+        States(Rule [] rules){
+            valueBegins = new int[rules.length];
+            Arrays.fill(valueBegins, -1);
+            nextStarts = new int[rules.length];
+            pendings = new IntQueue[rules.length];
+            for(Rule rule : rules){
+                if(rule.isMany){
+                    pendings[rule.index] = new IntQueue();
+                }
+            }
+        }
+    }
+
+    private static class IntQueue {
+        int [] array = new int[8];
+        int head = 0;
+        int tail = 0;
+
+        void add(int value){
+            if(tail == array.length){
+                if(head > 0){
+                    System.arraycopy(array, head, array, 0, tail - head);
+                    tail -= head;
+                    head = 0;
+                }else{
+                    array = Arrays.copyOf(array, array.length * 2);
+                }
+            }
+            array[tail++] = value;
+        }
+
+        boolean isEmpty(){
+            return head == tail;
+        }
+
+        int peek(){
+            return array[head];
+        }
+
+        int poll(){
+            return array[head++];
+        }
+    }
+
+    /**
+     * 규칙으로 만든 오토마톤
+     */
+    private static class Compiled {
+        final Rule [] rules;
+        final Matcher matcher;
+        final Role [][] roles;
+        final boolean isMany;
+
+        Compiled(Rule [] rules){
+            this.rules = rules;
+
+            Map<String, Integer> patternIndexMap = new LinkedHashMap<>();
+            List<List<Role>> roleList = new ArrayList<>();
+            boolean isMany = false;
+            for(Rule rule : rules){
+                isMany = isMany || rule.isMany;
+                addRole(patternIndexMap, roleList, rule.start, new Role(rule, true));
+                addRole(patternIndexMap, roleList, rule.end, new Role(rule, false));
+            }
+            this.isMany = isMany;
+
+            roles = new Role[roleList.size()][];
+            for (int i = 0; i < roles.length ; i++) {
+                roles[i] = roleList.get(i).toArray(new Role[0]);
+            }
+            matcher = new Matcher(patternIndexMap.keySet().toArray(new String[0]));
+        }
+
+        private static void addRole(Map<String, Integer> patternIndexMap, List<List<Role>> roleList, String pattern, Role role){
+            if(pattern.isEmpty()){
+                //빈 문자열은 parse 에서 처리
+                return;
+            }
+
+            Integer index = patternIndexMap.get(pattern);
+            if(index == null){
+                index = roleList.size();
+                patternIndexMap.put(pattern, index);
+                roleList.add(new ArrayList<>());
+            }
+            roleList.get(index).add(role);
+        }
+    }
+
+    /**
+     * Aho-Corasick 다중 문자열 매칭
+     */
+    private static class Matcher {
+        final String [] patterns;
+
+        //상태별 전이: keys[transitionBegins[s] .. transitionBegins[s+1]) 정렬된 문자, targets 는 다음 상태
+        final int [] transitionBegins;
+        final char [] keys;
+        final int [] targets;
+        final int [] fails;
+        //상태에서 끝나는 패턴 (없으면 -1)
+        final int [] outputs;
+        //실패 경로에서 패턴이 끝나는 다음 상태 (없으면 -1)
+        final int [] outputLinks;
+
+        Matcher(String [] patterns){
+            this.patterns = patterns;
+
+            List<Map<Character, Integer>> trie = new ArrayList<>();
+            trie.add(new HashMap<>());
+            List<Integer> outputList = new ArrayList<>();
+            outputList.add(-1);
+
+            for (int i = 0; i < patterns.length ; i++) {
+                String pattern = patterns[i];
+                int state = 0;
+                for (int j = 0; j < pattern.length() ; j++) {
+                    Map<Character, Integer> children = trie.get(state);
+                    Integer next = children.get(pattern.charAt(j));
+                    if(next == null){
+                        next = trie.size();
+                        children.put(pattern.charAt(j), next);
+                        trie.add(new HashMap<>());
+                        outputList.add(-1);
+                    }
+                    state = next;
+                }
+                outputList.set(state, i);
+            }
+
+            int stateCount = trie.size();
+            transitionBegins = new int[stateCount + 1];
+            keys = new char[stateCount - 1];
+            targets = new int[stateCount - 1];
+
+            int index = 0;
+            for (int i = 0; i < stateCount ; i++) {
+                transitionBegins[i] = index;
+                Map<Character, Integer> children = trie.get(i);
+                char [] chars = new char[children.size()];
+                int charIndex = 0;
+                for(char c : children.keySet()){
+                    chars[charIndex++] = c;
+                }
+                Arrays.sort(chars);
+                for(char c : chars){
+                    keys[index] = c;
+                    targets[index] = children.get(c);
+                    index++;
+                }
+            }
+            transitionBegins[stateCount] = index;
+
+            outputs = new int[stateCount];
+            for (int i = 0; i < stateCount ; i++) {
+                outputs[i] = outputList.get(i);
+            }
+
+            fails = new int[stateCount];
+            outputLinks = new int[stateCount];
+            Arrays.fill(outputLinks, -1);
+
+            int [] queue = new int[stateCount];
+            int head = 0;
+            int tail = 0;
+            for (int i = transitionBegins[0]; i < transitionBegins[1] ; i++) {
+                queue[tail++] = targets[i];
+            }
+
+            while (head < tail){
+                int state = queue[head++];
+                for (int i = transitionBegins[state]; i < transitionBegins[state + 1] ; i++) {
+                    int child = targets[i];
+                    int failState = next(fails[state], keys[i]);
+                    fails[child] = failState;
+                    outputLinks[child] = outputs[failState] != -1 ? failState : outputLinks[failState];
+                    queue[tail++] = child;
+                }
+            }
+        }
+
+        /**
+         * 다음 상태 (전이가 없으면 실패 링크를 따라감)
+         */
+        int next(int state, char c){
+            for(;;){
+                int target = transition(state, c);
+                if(target != -1){
+                    return target;
+                }
+                if(state == 0){
+                    return 0;
+                }
+                state = fails[state];
+            }
+        }
+
+        private int transition(int state, char c){
+            int low = transitionBegins[state];
+            int high = transitionBegins[state + 1] - 1;
+            while (low <= high){
+                int mid = (low + high) >>> 1;
+                char key = keys[mid];
+                if(key < c){
+                    low = mid + 1;
+                }else if(key > c){
+                    high = mid - 1;
+                }else{
+                    return targets[mid];
+                }
+            }
+            return -1;
+        }
+
+        /**
+         * 상태에서 끝나는 첫 패턴 상태
+         */
+        int getOutput(int state){
+            return outputs[state] != -1 ? state : outputLinks[state];
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package com.seomse.crawling.example;
+
+import com.seomse.crawling.core.http.HttpMessage;
+import com.seomse.crawling.core.http.HttpUrl;
+import com.seomse.crawling.core.http.ScriptTemplate;
+/**
+ * 여러 규칙 한번에 파싱
+ * @author macle
+ */
+public class ScriptTemplateExample {
+    public static void main(String[] args) {
+        //템플릿은 한번 만들어서 여러 페이지에 재사용
+        ScriptTemplate template = new ScriptTemplate();
+        template.add("title", "<title>*</title>");
+        template.add("description", "<meta name=\"description\" content=\"", "\"");
+        template.addMany("links", "<a href=\"", "\"");
+
+        HttpMessage message = HttpUrl.getMessage("https://www.naver.com/", HttpUrl.getChromeGetSimple("UTF-8"));
+        ScriptTemplate.Result result = template.parse(message.getMessage());
+
+        System.out.println(result.getString("title"));
+        System.out.println(result.getString("description"));
+        System.out.println(result.getList("links"));
+    }
+}
@@ -23,7 +23,9 @@ import com.seomse.jdbc.objects.JdbcObjects;
 import com.seomse.sync.Synchronizer;
 import lombok.extern.slf4j.Slf4j;
 
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Properties;
 
 /**
@@ -84,6 +86,15 @@ public class EngineConfigData extends ConfigData implements Synchronizer {
         return obj.toString();
     }
 
+    @Override
+    public Map<String, String> getConfigMap() {
+        Map<String, String> map = new HashMap<>();
+        for(String key : properties.stringPropertyNames()){
+            map.put(key, properties.getProperty(key));
+        }
+        return map;
+    }
+
     private long updateTime = 0L;
 
     @Override